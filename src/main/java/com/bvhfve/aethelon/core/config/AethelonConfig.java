@@ -5,6 +5,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.Identifier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -311,7 +312,12 @@ public class AethelonConfig {
         public final int maxRenderDistance = 256;
         public final boolean enableCulling = true;
         public final int pathfindingCacheSize = 1000;
+        // Run island transforms (rotate, translate, diff) on worker threads
         public final boolean enableAsyncProcessing = true;
+        // Main-thread time island block writes may use per server tick (5 ms of the 50 ms tick)
+        public final long maxIslandWorkNanosPerTick = 5_000_000L;
+        // Estimated heap budget for parsed island templates (LRU, evicted by size; one larger template is kept alone)
+        public final long islandTemplateCacheBytes = 64L * 1024L * 1024L;
         
         public boolean validate() {
             if (maxEntitiesPerChunk < 1 || maxEntitiesPerChunk > 10) {
@@ -334,6 +340,14 @@ public class AethelonConfig {
                 LOGGER.warn("Invalid pathfindingCacheSize: {}, should be 100-10000", pathfindingCacheSize);
                 return false;
             }
+            if (maxIslandWorkNanosPerTick < 500_000L || maxIslandWorkNanosPerTick > 40_000_000L) {
+                LOGGER.warn("Invalid maxIslandWorkNanosPerTick: {}, should be 500000-40000000", maxIslandWorkNanosPerTick);
+                return false;
+            }
+            if (islandTemplateCacheBytes < 1024L * 1024L || islandTemplateCacheBytes > 1024L * 1024L * 1024L) {
+                LOGGER.warn("Invalid islandTemplateCacheBytes: {}, should be 1 MB-1 GB", islandTemplateCacheBytes);
+                return false;
+            }
             return true;
         }
         
@@ -352,6 +366,8 @@ public class AethelonConfig {
             summary.append("  Enable Culling: ").append(enableCulling).append("\n");
             summary.append("  Pathfinding Cache Size: ").append(pathfindingCacheSize).append("\n");
             summary.append("  Async Processing: ").append(enableAsyncProcessing).append("\n");
+            summary.append("  Island Work Budget: ").append(maxIslandWorkNanosPerTick / 1000L).append(" us/tick\n");
+            summary.append("  Island Template Cache: ").append(islandTemplateCacheBytes / (1024L * 1024L)).append(" MB\n");
             return summary.toString();
         }
     }
@@ -438,11 +454,99 @@ public class AethelonConfig {
     }
     
     public static class Phase4Config extends BasePhaseConfig {
+        // Island storage configuration
+        // Distance to the nearest player at which a turtle loads its island's block data
+        public final int islandHydrationRange = 128;
+        // Island template (data/<namespace>/aethelon/islands/<path>.nbt) a newly spawned turtle
+        // carries and places around itself; empty spawns turtles without an island
+        public final String spawnIslandTemplate = "aethelon:default";
+
         public Phase4Config() { super(false, "structure", "attachment", "management"); }
+
+        @Override
+        public boolean validate() {
+            if (!super.validate()) return false;
+            if (islandHydrationRange < 16 || islandHydrationRange > 1024) return false;
+            if (!spawnIslandTemplate.isEmpty() && Identifier.tryParse(spawnIslandTemplate) == null) return false;
+            return true;
+        }
     }
     
+    /**
+     * Phase 5: Dynamic Island Movement
+     */
     public static class Phase5Config extends BasePhaseConfig {
-        public Phase5Config() { super(false, "capture", "placement", "synchronization"); }
+        // Island capture configuration (footprint relative to the turtle)
+        public final int islandSizeX = 64;
+        public final int islandSizeY = 48;
+        public final int islandSizeZ = 64;
+        public final int islandOffsetY = 4;
+
+        // Placement configuration
+        // "section" writes chunk sections directly, "vanilla" uses World.setBlockState per block
+        public final String placementEngine = "section";
+
+        // Movement configuration
+        // "delta" writes only the changed boundary per step, "full" clears and repastes the island
+        public final String movementMode = "delta";
+
+        // Commit configuration
+        // "shell" suppresses neighbor/shape/comparator updates and runs one pass along the
+        // island's outer shell after the commit, "vanilla" notifies neighbors on every write
+        public final String commitUpdateMode = "shell";
+
+        // Arrival configuration
+        // true writes the new cells of a move step next to the standing island first (over
+        // budgeted ticks), then removes and replaces old island blocks in one tick;
+        // false writes each step as a single budgeted job
+        public final boolean stagedArrival = true;
+
+        // Water configuration
+        // true refills island cells vacated below sea level by a turtle in water with water
+        // sources in the same write that clears them; false leaves air for fluid spread to fill
+        public final boolean refillWater = true;
+
+        // Travel configuration
+        // "blocks" moves the island block by block with every step, "proxy" lifts it out of the
+        // world when the turtle starts moving and pastes it once when it stops
+        public final String travelMode = "blocks";
+
+        // Block entity configuration
+        // "direct" moves live block entities to their new position (vanilla types and
+        // RelocatableBlockEntity implementations), "nbt" saves and reloads every one of them
+        public final String blockEntityRelocation = "direct";
+
+        // Chunk prefetch configuration
+        // Chunks ahead of a moving turtle kept loaded (0 disables), and the ticket level
+        // they are held at (33 loads the chunk, 32 also ticks blocks, 31 also ticks entities)
+        public final int prefetchLookaheadChunks = 4;
+        public final int prefetchTicketLevel = 33;
+
+        // Crash safety
+        // Journal each move step to disk before writing it, and replay the steps the last world
+        // save did not include on startup
+        public final boolean moveJournal = true;
+
+        public Phase5Config() {
+            super(false, "capture", "placement", "synchronization");
+        }
+
+        @Override
+        public boolean validate() {
+            if (!super.validate()) return false;
+            if (islandSizeX < 1 || islandSizeX > 256) return false;
+            if (islandSizeY < 1 || islandSizeY > 256) return false;
+            if (islandSizeZ < 1 || islandSizeZ > 256) return false;
+            if (islandOffsetY < -64 || islandOffsetY > 64) return false;
+            if (!"section".equals(placementEngine) && !"vanilla".equals(placementEngine)) return false;
+            if (!"delta".equals(movementMode) && !"full".equals(movementMode)) return false;
+            if (!"shell".equals(commitUpdateMode) && !"vanilla".equals(commitUpdateMode)) return false;
+            if (!"blocks".equals(travelMode) && !"proxy".equals(travelMode)) return false;
+            if (!"direct".equals(blockEntityRelocation) && !"nbt".equals(blockEntityRelocation)) return false;
+            if (prefetchLookaheadChunks < 0 || prefetchLookaheadChunks > 16) return false;
+            if (prefetchTicketLevel < 31 || prefetchTicketLevel > 33) return false;
+            return true;
+        }
     }
     
     public static class Phase6Config extends BasePhaseConfig {
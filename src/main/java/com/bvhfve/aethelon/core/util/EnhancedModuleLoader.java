@@ -121,6 +121,16 @@ public class EnhancedModuleLoader {
         modules.put("phase2.pathfinding", "com.bvhfve.aethelon.phase2.pathfinding.PathfindingModule");
         modules.put("phase2", "com.bvhfve.aethelon.phase2.Phase2Module");
         
+        // Phase 4 modules (sub-modules are DI-capable and load in the default mode)
+        modules.put("phase4", "com.bvhfve.aethelon.phase4.Phase4Module");
+        modules.put("phase4.structure.di", "com.bvhfve.aethelon.phase4.structure.StructureModule");
+        
+        // Phase 5 modules (sub-modules are DI-capable and load in the default mode)
+        modules.put("phase5", "com.bvhfve.aethelon.phase5.Phase5Module");
+        modules.put("phase5.capture.di", "com.bvhfve.aethelon.phase5.capture.CaptureModule");
+        modules.put("phase5.placement.di", "com.bvhfve.aethelon.phase5.placement.PlacementModule");
+        modules.put("phase5.synchronization.di", "com.bvhfve.aethelon.phase5.synchronization.SyncModule");
+        
         return modules;
     }
     
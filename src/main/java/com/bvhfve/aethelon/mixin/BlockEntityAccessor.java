@@ -0,0 +1,37 @@
+package com.bvhfve.aethelon.mixin;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * BlockEntityAccessor - Lets island placement move a live block entity to a new position
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Mixin accessor for the final BlockEntity.pos field
+ * - Hooks into: None (accessor only)
+ * - Modifies: The position of block entities relocated by BlockEntityRelocator
+ *
+ * MODULE ROLE:
+ * - Purpose: Rebase a block entity onto its new position instead of serializing it and
+ *   loading the data into a fresh object
+ * - Dependencies: None
+ * - Provides: setAethelonPos
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Renaming the pos field breaks this mixin
+ *
+ * The setter is only called on block entities that have been removed from their chunk;
+ * the caller adds them back under the new position right after.
+ */
+@Mixin(BlockEntity.class)
+public interface BlockEntityAccessor {
+
+    @Mutable
+    @Accessor("pos")
+    void setAethelonPos(BlockPos pos);
+}
@@ -0,0 +1,47 @@
+package com.bvhfve.aethelon.mixin;
+
+import com.bvhfve.aethelon.phase5.synchronization.IslandCollision;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.shape.VoxelShape;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+
+import java.util.List;
+
+/**
+ * EntityMixin - Lets moving entities collide with islands traveling as proxies
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Mixin variable modification in Entity.adjustMovementForCollisions
+ * - Hooks into: Every Entity.move collision check, on server and client
+ * - Modifies: The entity collision shapes used for the move (and its step-up checks)
+ *
+ * MODULE ROLE:
+ * - Purpose: Add IslandCollision shapes to the entity collisions vanilla already gathers
+ * - Dependencies: IslandCollision
+ * - Provides: Collision with lifted islands
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Changes to the collision list local of adjustMovementForCollisions
+ *   break this mixin
+ *
+ * The method stores two List<VoxelShape> locals: the entity collision list from
+ * World.getEntityCollisions, then the step-up list that findCollisionsForMovement builds
+ * from it. The injection is pinned to the first (ordinal 0), so island shapes also reach
+ * the step-up checks. IslandCollision returns the list unchanged when no island is
+ * traveling on this side.
+ */
+@Mixin(Entity.class)
+public abstract class EntityMixin {
+
+    @ModifyVariable(method = "adjustMovementForCollisions(Lnet/minecraft/util/math/Vec3d;)Lnet/minecraft/util/math/Vec3d;",
+                    at = @At("STORE"), ordinal = 0)
+    private List<VoxelShape> aethelon$addIslandCollisions(List<VoxelShape> collisions, Vec3d movement) {
+        Entity self = (Entity) (Object) this;
+        return IslandCollision.addCollisions(self, self.getBoundingBox().stretch(movement), collisions);
+    }
+}
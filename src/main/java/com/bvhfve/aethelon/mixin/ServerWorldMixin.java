@@ -0,0 +1,54 @@
+package com.bvhfve.aethelon.mixin;
+
+import com.bvhfve.aethelon.phase5.capture.IslandDirtyTracker;
+import com.bvhfve.aethelon.phase5.synchronization.MoveJournal;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.ProgressListener;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * ServerWorldMixin - Reports server block changes and world saves
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Mixin injection into ServerWorld.onBlockChanged and ServerWorld.save
+ * - Hooks into: Every block change applied through World.setBlockState on the server,
+ *   and the end of every world save
+ * - Modifies: None (observes only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Tell IslandDirtyTracker which island sections players (or anything
+ *   else) changed since the island was last captured, and tell MoveJournal when the
+ *   chunks of journaled move steps may have reached disk
+ * - Dependencies: IslandDirtyTracker, MoveJournal
+ * - Provides: Block change and world save notifications
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Renames or signature changes of onBlockChanged or save break this mixin
+ *
+ * onBlockChanged only runs once a change has actually stuck, so no-op writes are not
+ * reported. The tracker returns immediately while no island is tracked. Saves skipped
+ * because saving is disabled (/save-off) are not reported.
+ */
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    @Inject(method = "onBlockChanged", at = @At("HEAD"))
+    private void aethelon$trackIslandChange(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        IslandDirtyTracker.onBlockChanged((ServerWorld) (Object) this, pos);
+    }
+
+    @Inject(method = "save(Lnet/minecraft/util/ProgressListener;ZZ)V", at = @At("TAIL"))
+    private void aethelon$afterSave(ProgressListener progressListener, boolean flush, boolean savingDisabled,
+                                    CallbackInfo ci) {
+        if (!savingDisabled) {
+            MoveJournal.onWorldSaved((ServerWorld) (Object) this);
+        }
+    }
+}
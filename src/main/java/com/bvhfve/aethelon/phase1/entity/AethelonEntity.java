@@ -1,12 +1,35 @@
 package com.bvhfve.aethelon.phase1.entity;
 
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase4.structure.IslandInstance;
+import com.bvhfve.aethelon.phase4.structure.IslandLoader;
+import com.bvhfve.aethelon.phase4.structure.IslandStorage;
+import com.bvhfve.aethelon.phase4.structure.StructureModule;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.synchronization.IslandProxy;
+import com.bvhfve.aethelon.phase5.synchronization.MovementSync;
+import com.bvhfve.aethelon.phase5.synchronization.SyncModule;
+import net.minecraft.entity.EntityData;
 import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnReason;
 import net.minecraft.entity.ai.goal.GoalSelector;
 import net.minecraft.entity.attribute.DefaultAttributeContainer;
 import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.entity.mob.WaterCreatureEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.LocalDifficulty;
+import net.minecraft.world.ServerWorldAccess;
 import net.minecraft.world.World;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * AethelonEntity - A colossal world turtle that carries islands on its back
  * 
@@ -46,6 +69,29 @@ public class AethelonEntity extends WaterCreatureEntity {
     private AethelonState currentState = AethelonState.IDLE;
     private int stateTimer = 0;
     
+    // Phase 4 - Island carried by this turtle (shared template plus this turtle's changes)
+    private IslandInstance islandInstance;
+    // Saved island not loaded yet: the header of a stored island waiting for hydration,
+    // or inline data that could not be resolved (structure module off); written back unchanged
+    private NbtCompound unresolvedIslandNbt;
+    // Phase 4 - Background load of the stored island, while one is running
+    private CompletableFuture<Void> islandHydration;
+    private boolean islandHydrationFailed;
+    // Phase 4 - Island assigned or changed since it was last handed to IslandStorage
+    private boolean islandUnstored;
+    
+    // Phase 5 - Last capture of the island, kept between moves (null until the first move)
+    private IslandSnapshot islandSnapshot;
+    // Phase 5 - World position of the island's minimum corner
+    private BlockPos islandOrigin;
+    // Phase 5 - Horizontal facing the island is currently placed in
+    private Direction islandFacing;
+    // Phase 5 - Size of the placed island; saved with its origin and facing so the island
+    // is recaptured where it stands after a reload
+    private Vec3i islandSize;
+    // Phase 5 - Island lifted out of the world while traveling in proxy mode
+    private IslandProxy islandProxy;
+    
     public AethelonEntity(EntityType<? extends WaterCreatureEntity> entityType, World world) {
         super(entityType, world);
     }
@@ -62,6 +108,29 @@ public class AethelonEntity extends WaterCreatureEntity {
                 .add(EntityAttributes.KNOCKBACK_RESISTANCE, 1.0); // Immune to knockback
     }
     
+    @Override
+    public EntityData initialize(ServerWorldAccess world, LocalDifficulty difficulty, SpawnReason spawnReason,
+                                 EntityData entityData) {
+        EntityData data = super.initialize(world, difficulty, spawnReason, entityData);
+        
+        // Phase 4 - A new turtle carries the configured island template; loaded turtles
+        // never get here and keep the island they were saved with
+        String templateId = AethelonConfig.INSTANCE.phases.phase4.spawnIslandTemplate;
+        if (StructureModule.isActive() && islandInstance == null && unresolvedIslandNbt == null
+                && !templateId.isEmpty()) {
+            IslandInstance instance = IslandLoader.createInstance(world.toServerWorld().getServer(),
+                Identifier.of(templateId));
+            if (instance != null) {
+                setIslandInstance(instance);
+                // Phase 5 - Put the island in the world around the turtle
+                if (SyncModule.isActive()) {
+                    MovementSync.placeSpawnedIsland(world.toServerWorld(), this, instance);
+                }
+            }
+        }
+        return data;
+    }
+    
     @Override
     protected void initGoals() {
         super.initGoals();
@@ -80,7 +149,84 @@ public class AethelonEntity extends WaterCreatureEntity {
         
         // TODO: Phase 2 - Implement state machine logic
         // TODO: Phase 4 - Update island position
-        // TODO: Phase 5 - Handle island movement
+        
+        // Phase 4 - Load the island's block data once a player comes near
+        if (!this.getWorld().isClient && islandInstance == null && unresolvedIslandNbt != null) {
+            updateIslandHydration();
+        }
+        if (!this.getWorld().isClient && islandUnstored) {
+            storeIsland();
+        }
+        
+        // Phase 5 - Capture the island when a move starts and keep it following the turtle
+        if (!this.getWorld().isClient && SyncModule.isActive()) {
+            MovementSync.tick(this);
+        }
+    }
+    
+    @Override
+    public void remove(RemovalReason reason) {
+        super.remove(reason);
+        
+        // Phase 5 - Release chunk tickets and island tracking held for this turtle
+        if (!this.getWorld().isClient && SyncModule.isActive()) {
+            MovementSync.onRemoved(this);
+        }
+        
+        // Phase 4 - A killed or discarded turtle's island is not coming back; an unloaded
+        // turtle's island stays stored but no longer needs to be in memory
+        if (StructureModule.isActive() && this.getWorld().getServer() != null) {
+            IslandStorage storage = IslandStorage.get(this.getWorld().getServer());
+            if (reason.shouldDestroy()) {
+                storage.remove(this.getUuid());
+            } else {
+                storage.release(this.getUuid());
+            }
+        }
+    }
+    
+    /**
+     * Load a stored island in the background once a player is near
+     * The turtle is ticking, so its chunk is a ticking chunk; the island's shard is read
+     * off the server thread and the island is only built once the shard is in memory.
+     */
+    private void updateIslandHydration() {
+        MinecraftServer server = this.getWorld().getServer();
+        if (islandHydrationFailed || !StructureModule.isActive() || server == null
+                || !unresolvedIslandNbt.getBoolean("Stored")) {
+            return;
+        }
+        
+        IslandStorage storage = IslandStorage.get(server);
+        if (islandHydration == null) {
+            double range = AethelonConfig.INSTANCE.phases.phase4.islandHydrationRange;
+            if (!this.getWorld().isPlayerInRange(this.getX(), this.getY(), this.getZ(), range)) {
+                return;
+            }
+            islandHydration = storage.prepare(this.getUuid());
+        }
+        if (!islandHydration.isDone()) {
+            return;
+        }
+        islandHydration = null;
+        if (!storage.isResident(this.getUuid())) {
+            // A save dropped the shard again before this tick; read it once more
+            return;
+        }
+        
+        IslandInstance instance = storage.load(server, this.getUuid());
+        if (instance == null) {
+            // Keep the header so the island is not lost if its template comes back
+            islandHydrationFailed = true;
+            AethelonCore.LOGGER.warn("Could not load the stored island of turtle {}", this.getUuid());
+            return;
+        }
+        long expected = unresolvedIslandNbt.getLong("Version");
+        if (storage.getVersion(this.getUuid()) < expected) {
+            AethelonCore.LOGGER.warn("Stored island of turtle {} is older than the turtle (version {} < {})",
+                this.getUuid(), storage.getVersion(this.getUuid()), expected);
+        }
+        setIslandInstance(instance);
     }
     
     // Getters and setters for state management
@@ -99,4 +245,183 @@ public class AethelonEntity extends WaterCreatureEntity {
     public int getStateTimer() {
         return stateTimer;
     }
+    
+    @Override
+    public void writeCustomDataToNbt(NbtCompound nbt) {
+        super.writeCustomDataToNbt(nbt);
+        MinecraftServer server = this.getWorld().getServer();
+        // Read only: the island reached IslandStorage when it was assigned or changed (see
+        // storeIsland), and storage was already saved by the time entities are
+        long version = islandInstance != null && StructureModule.isActive() && server != null
+            ? IslandStorage.get(server).getVersion(this.getUuid()) : 0L;
+        if (version > 0L) {
+            // Block data lives in IslandStorage; the entity only keeps a header
+            Vec3i size = islandInstance.getTemplate().getSnapshot().getSize();
+            NbtCompound islandNbt = new NbtCompound();
+            islandNbt.putBoolean("Stored", true);
+            islandNbt.putString("Template", islandInstance.getTemplate().getId().toString());
+            islandNbt.putIntArray("Size", new int[]{size.getX(), size.getY(), size.getZ()});
+            islandNbt.putLong("Version", version);
+            nbt.put("Island", islandNbt);
+        } else if (islandInstance != null) {
+            nbt.put("Island", islandInstance.writeNbt());
+        } else if (unresolvedIslandNbt != null) {
+            nbt.put("Island", unresolvedIslandNbt);
+        }
+        // Phase 5 - Where the island stands, which can lag a step behind the turtle or keep
+        // a facing the turtle has turned away from
+        if (islandOrigin != null && islandFacing != null && islandSize != null) {
+            NbtCompound placementNbt = new NbtCompound();
+            placementNbt.putIntArray("Origin", new int[]{islandOrigin.getX(), islandOrigin.getY(), islandOrigin.getZ()});
+            placementNbt.putIntArray("Size", new int[]{islandSize.getX(), islandSize.getY(), islandSize.getZ()});
+            placementNbt.putByte("Facing", (byte) islandFacing.getHorizontalQuarterTurns());
+            nbt.put("IslandPlacement", placementNbt);
+        }
+        // Kept until a landing is fully written, so a save mid-landing can redo it
+        if (islandProxy != null) {
+            nbt.put("IslandProxy", islandProxy.writeNbt());
+        }
+    }
+    
+    @Override
+    public void readCustomDataFromNbt(NbtCompound nbt) {
+        super.readCustomDataFromNbt(nbt);
+        if (nbt.contains("Island", NbtElement.COMPOUND_TYPE)) {
+            NbtCompound islandNbt = nbt.getCompound("Island");
+            MinecraftServer server = this.getWorld().getServer();
+            // A stored island is only a header here and hydrates later (see tick); older
+            // saves keep the island inline, which moves to IslandStorage on the first tick
+            islandInstance = null;
+            if (StructureModule.isActive() && server != null && !islandNbt.getBoolean("Stored")) {
+                islandInstance = IslandInstance.readNbt(server, islandNbt);
+            }
+            islandUnstored = islandInstance != null;
+            unresolvedIslandNbt = islandInstance == null ? islandNbt : null;
+            islandHydration = null;
+            islandHydrationFailed = false;
+        }
+        if (nbt.contains("IslandPlacement", NbtElement.COMPOUND_TYPE)) {
+            NbtCompound placementNbt = nbt.getCompound("IslandPlacement");
+            int[] origin = placementNbt.getIntArray("Origin");
+            int[] size = placementNbt.getIntArray("Size");
+            if (origin.length == 3 && size.length == 3) {
+                islandOrigin = new BlockPos(origin[0], origin[1], origin[2]);
+                islandSize = new Vec3i(size[0], size[1], size[2]);
+                islandFacing = Direction.fromHorizontalQuarterTurns(placementNbt.getByte("Facing"));
+                islandSnapshot = null;
+            }
+        }
+        if (nbt.contains("IslandProxy", NbtElement.COMPOUND_TYPE)) {
+            islandProxy = IslandProxy.readNbt(nbt.getCompound("IslandProxy"));
+            if (islandProxy == null) {
+                AethelonCore.LOGGER.warn("Could not read the traveling island of turtle {}", this.getUuid());
+            }
+        }
+    }
+    
+    /**
+     * Get the island this turtle carries
+     * 
+     * @return Island instance, or null if the turtle has no island assigned
+     */
+    public IslandInstance getIslandInstance() {
+        return islandInstance;
+    }
+    
+    public void setIslandInstance(IslandInstance islandInstance) {
+        this.islandInstance = islandInstance;
+        this.unresolvedIslandNbt = null;
+        this.islandUnstored = islandInstance != null;
+    }
+    
+    /**
+     * Note a change made to the island instance, so it is stored on the next tick
+     */
+    public void markIslandChanged() {
+        this.islandUnstored = islandInstance != null;
+    }
+    
+    /**
+     * Hand the island to IslandStorage
+     * Until the stored copy exists (its shard may still be loading), saves keep the
+     * island inline in the turtle's NBT.
+     */
+    private void storeIsland() {
+        MinecraftServer server = this.getWorld().getServer();
+        if (!StructureModule.isActive() || server == null) {
+            return;
+        }
+        islandUnstored = false;
+        if (islandInstance != null) {
+            IslandStorage.get(server).put(this.getUuid(), this.getBlockPos(), islandInstance);
+        }
+    }
+    
+    /**
+     * Get the island snapshot, kept up to date across moves
+     * 
+     * @return Captured island, or null if the island has never been moved
+     */
+    public IslandSnapshot getIslandSnapshot() {
+        return islandSnapshot;
+    }
+    
+    public void setIslandSnapshot(IslandSnapshot islandSnapshot) {
+        this.islandSnapshot = islandSnapshot;
+        if (islandSnapshot != null) {
+            this.islandSize = islandSnapshot.getSize();
+        }
+    }
+    
+    /**
+     * Get the size of the placed island, also known before it is captured after a reload
+     * 
+     * @return Island size, or null if the island has never been moved
+     */
+    public Vec3i getIslandSize() {
+        return islandSize;
+    }
+    
+    public void setIslandSize(Vec3i islandSize) {
+        this.islandSize = islandSize;
+    }
+    
+    /**
+     * Get the world position the captured island currently occupies
+     * 
+     * @return Minimum corner of the island, or null if the island has never been moved
+     */
+    public BlockPos getIslandOrigin() {
+        return islandOrigin;
+    }
+    
+    public void setIslandOrigin(BlockPos islandOrigin) {
+        this.islandOrigin = islandOrigin;
+    }
+    
+    /**
+     * Get the facing the placed island was last rotated to
+     * 
+     * @return Island facing, or null if the island has never been moved
+     */
+    public Direction getIslandFacing() {
+        return islandFacing;
+    }
+    
+    public void setIslandFacing(Direction islandFacing) {
+        this.islandFacing = islandFacing;
+    }
+    
+    /**
+     * Get the island this turtle carries outside the world while traveling
+     * 
+     * @return Lifted island, or null if the island is placed in the world
+     */
+    public IslandProxy getIslandProxy() {
+        return islandProxy;
+    }
+    
+    public void setIslandProxy(IslandProxy islandProxy) {
+        this.islandProxy = islandProxy;
+    }
 }
\ No newline at end of file
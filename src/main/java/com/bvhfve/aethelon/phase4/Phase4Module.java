@@ -0,0 +1,123 @@
+package com.bvhfve.aethelon.phase4;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.core.util.AethelonModule;
+
+import java.util.List;
+
+/**
+ * Phase4Module - Main coordinator for Phase 4: Island Structure System
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: None directly (coordination layer)
+ * - Hooks into: Module loading system
+ * - Modifies: None (coordinates sub-modules)
+ *
+ * MODULE ROLE:
+ * - Purpose: Coordinate Phase 4 sub-modules (structure, attachment, management)
+ * - Dependencies: phase1 (entity foundation)
+ * - Provides: Phase 4 lifecycle management, sub-module coordination
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Sub-module interface changes may require updates
+ *
+ * PHASE 4 OVERVIEW:
+ * This phase gives every Aethelon an island to carry:
+ * - Structure: load island .nbt files into shared, immutable templates
+ * - Attachment: position islands relative to the turtle (not started)
+ * - Management: track loaded islands and their metadata (not started)
+ *
+ * Phase 4 is disabled by default; it reads its settings from
+ * AethelonConfig.Phase4Config rather than going through the legacy ConfigManager.
+ */
+public class Phase4Module implements AethelonModule {
+
+    private boolean initialized = false;
+
+    @Override
+    public String getModuleName() {
+        return "phase4";
+    }
+
+    @Override
+    public String getPhase() {
+        return "phase4";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return AethelonConfig.INSTANCE != null && AethelonConfig.INSTANCE.phases.phase4.enabled;
+    }
+
+    @Override
+    public void initialize() throws Exception {
+        if (!isEnabled()) {
+            AethelonCore.LOGGER.info("Phase 4 is disabled, skipping initialization");
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Initializing Phase 4: Island Structure System");
+
+        try {
+            // Phase 4 initialization is handled by sub-modules:
+            // - phase4.structure: Island template loading and per-turtle islands
+
+            initialized = true;
+            AethelonCore.LOGGER.info("Phase 4 initialization complete");
+
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to initialize Phase 4", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (!initialized) {
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Shutting down Phase 4");
+
+        // Sub-modules handle their own shutdown
+
+        initialized = false;
+        AethelonCore.LOGGER.info("Phase 4 shutdown complete");
+    }
+
+    @Override
+    public List<String> getDependencies() {
+        // Islands are attached to the Phase 1 entity
+        return List.of("phase1");
+    }
+
+    @Override
+    public boolean isCompatibleWith(String minecraftVersion) {
+        return minecraftVersion.startsWith("1.21.4") ||
+               minecraftVersion.startsWith("1.21.5") ||
+               minecraftVersion.startsWith("1.22");
+    }
+
+    @Override
+    public String getRequiredFabricApiVersion() {
+        return "0.119.2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Island Structure System - Loads island templates and gives each turtle its island";
+    }
+
+    @Override
+    public boolean supportsHotReload() {
+        return false;
+    }
+
+    @Override
+    public int getLoadPriority() {
+        return 40;
+    }
+}
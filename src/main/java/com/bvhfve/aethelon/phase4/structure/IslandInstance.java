@@ -0,0 +1,457 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
+
+/**
+ * IslandInstance - One turtle's island: a shared template plus a sparse overlay
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: BlockState, NbtCompound (overlay persistence)
+ * - Hooks into: AethelonEntity NBT save/load, IslandStorage shards
+ * - Modifies: None (data only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Let every turtle own its island without copying the template's blocks
+ * - Dependencies: IslandTemplate, IslandSnapshot
+ * - Provides: Copy-on-write block access, capture reconciliation, snapshot materialization
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * COPY-ON-WRITE DESIGN:
+ * Reads fall through to the template unless the overlay has an entry for the cell.
+ * A write that puts back the template's own state removes the overlay entry instead
+ * of adding one, so the overlay only ever holds real differences. A fresh instance
+ * has an empty overlay and toSnapshot() returns the template's snapshot itself. Once
+ * the overlay is non-empty, toSnapshot() rebuilds only the sections that contain
+ * overlay entries and shares the rest with the template; the result is cached until
+ * the overlay changes.
+ * A capture reconciled into the instance is compared the same way, with two allowances
+ * for what the world adds by itself: water standing in the template's air cells (an
+ * island at sea) is not a change, and block entity data is compared and kept without its
+ * world position tags, which every capture carries and no template does. A refresh of
+ * a few changed sections is reconciled cell by cell over just those sections.
+ *
+ * THREAD SAFETY:
+ * Server thread only; snapshots returned by toSnapshot() are immutable.
+ */
+public final class IslandInstance {
+
+    private final IslandTemplate template;
+    private final Int2ObjectOpenHashMap<BlockState> overlay = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<NbtCompound> blockEntityOverlay = new Int2ObjectOpenHashMap<>();
+    private final IntOpenHashSet removedBlockEntities = new IntOpenHashSet();
+
+    // Materialized view of template + overlay; null until requested or after a change
+    private IslandSnapshot materialized;
+    // Bumped on every change, so storage can tell whether the island needs saving
+    private int revision = 0;
+
+    IslandInstance(IslandTemplate template) {
+        this.template = template;
+    }
+
+    public IslandTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the block state at island-local coordinates
+     */
+    public BlockState getBlockState(int x, int y, int z) {
+        BlockState state = overlay.get(IslandSnapshot.packLocal(x, y, z));
+        return state != null ? state : template.getSnapshot().getBlockState(x, y, z);
+    }
+
+    /**
+     * Change one block of this island only
+     */
+    public void setBlockState(int x, int y, int z, BlockState state) {
+        if (!template.getSnapshot().contains(x, y, z)) {
+            return;
+        }
+        int packed = IslandSnapshot.packLocal(x, y, z);
+        boolean changed;
+        if (template.getSnapshot().getBlockState(x, y, z) == state) {
+            changed = overlay.remove(packed) != null;
+        } else {
+            changed = overlay.put(packed, state) != state;
+        }
+        if (changed) {
+            materialized = null;
+            revision++;
+        }
+    }
+
+    /**
+     * Get block entity data at island-local coordinates
+     *
+     * @return Block entity NBT, or null if there is none
+     */
+    public NbtCompound getBlockEntityNbt(int x, int y, int z) {
+        int packed = IslandSnapshot.packLocal(x, y, z);
+        if (removedBlockEntities.contains(packed)) {
+            return null;
+        }
+        NbtCompound nbt = blockEntityOverlay.get(packed);
+        return nbt != null ? nbt : template.getSnapshot().getBlockEntityNbt(x, y, z);
+    }
+
+    /**
+     * Change block entity data of this island only
+     *
+     * @param nbt New data, or null to remove the block entity
+     */
+    public void setBlockEntityNbt(int x, int y, int z, NbtCompound nbt) {
+        int packed = IslandSnapshot.packLocal(x, y, z);
+        NbtCompound original = template.getSnapshot().getBlockEntities().get(packed);
+        blockEntityOverlay.remove(packed);
+        removedBlockEntities.remove(packed);
+        if (nbt == null) {
+            if (original != null) {
+                removedBlockEntities.add(packed);
+            }
+        } else if (!nbt.equals(original)) {
+            blockEntityOverlay.put(packed, nbt);
+        }
+        materialized = null;
+        revision++;
+    }
+
+    /**
+     * Rebuild the overlay from a capture of the island as it currently stands
+     * Every cell that matches the template (see isUnchanged) is dropped from the overlay
+     *
+     * @param captured Capture in island-local coordinates, same size as the template
+     */
+    public void reconcile(IslandSnapshot captured) {
+        IslandSnapshot base = template.getSnapshot();
+        if (!captured.getSize().equals(base.getSize())) {
+            AethelonCore.LOGGER.warn("Ignoring capture of size {} for island template {} of size {}",
+                captured.getSize().toShortString(), template.getId(), base.getSize().toShortString());
+            return;
+        }
+
+        overlay.clear();
+        base.forEachBlock((x, y, z, state) -> {
+            BlockState current = captured.getBlockState(x, y, z);
+            if (!isUnchanged(state, current)) {
+                overlay.put(IslandSnapshot.packLocal(x, y, z), current);
+            }
+        });
+        captured.forEachBlock((x, y, z, state) -> {
+            if (!base.isOccupied(x, y, z) && !isUnchanged(base.getBlockState(x, y, z), state)) {
+                overlay.put(IslandSnapshot.packLocal(x, y, z), state);
+            }
+        });
+
+        blockEntityOverlay.clear();
+        removedBlockEntities.clear();
+        for (Int2ObjectMap.Entry<NbtCompound> entry : captured.getBlockEntities().int2ObjectEntrySet()) {
+            NbtCompound nbt = withoutPosition(entry.getValue());
+            if (!nbt.equals(withoutPosition(base.getBlockEntities().get(entry.getIntKey())))) {
+                blockEntityOverlay.put(entry.getIntKey(), nbt);
+            }
+        }
+        for (int packed : base.getBlockEntities().keySet()) {
+            if (!captured.getBlockEntities().containsKey(packed)) {
+                removedBlockEntities.add(packed);
+            }
+        }
+        materialized = null;
+        revision++;
+    }
+
+    /**
+     * Update the overlay from part of a capture, leaving every cell outside the box alone
+     * Cells are compared with the same rules as reconcile(IslandSnapshot).
+     *
+     * @param box Island-local cells to compare
+     * @param captured Capture in island-local coordinates
+     */
+    public void reconcile(BlockBox box, CapturedCells captured) {
+        IslandSnapshot base = template.getSnapshot();
+        int maxX = Math.min(box.getMaxX(), base.getSize().getX() - 1);
+        int maxY = Math.min(box.getMaxY(), base.getSize().getY() - 1);
+        int maxZ = Math.min(box.getMaxZ(), base.getSize().getZ() - 1);
+        for (int y = Math.max(box.getMinY(), 0); y <= maxY; y++) {
+            for (int z = Math.max(box.getMinZ(), 0); z <= maxZ; z++) {
+                for (int x = Math.max(box.getMinX(), 0); x <= maxX; x++) {
+                    int packed = IslandSnapshot.packLocal(x, y, z);
+                    BlockState current = captured.getBlockState(x, y, z);
+                    if (isUnchanged(base.getBlockState(x, y, z), current)) {
+                        overlay.remove(packed);
+                    } else {
+                        overlay.put(packed, current);
+                    }
+
+                    NbtCompound original = base.getBlockEntities().get(packed);
+                    NbtCompound nbt = withoutPosition(captured.getBlockEntityNbt(x, y, z));
+                    blockEntityOverlay.remove(packed);
+                    removedBlockEntities.remove(packed);
+                    if (nbt == null) {
+                        if (original != null) {
+                            removedBlockEntities.add(packed);
+                        }
+                    } else if (!nbt.equals(withoutPosition(original))) {
+                        blockEntityOverlay.put(packed, nbt);
+                    }
+                }
+            }
+        }
+        materialized = null;
+        revision++;
+    }
+
+    /**
+     * Check whether a captured state counts as the template's own state
+     * Water in a template air cell is the sea the island stands in, not an edit.
+     */
+    private static boolean isUnchanged(BlockState original, BlockState current) {
+        return current == original || (original.isAir() && current.isOf(Blocks.WATER));
+    }
+
+    /**
+     * Block entity data without the world position a capture stores with it
+     *
+     * @return The same compound if it has no position tags, otherwise a stripped copy
+     */
+    private static NbtCompound withoutPosition(NbtCompound nbt) {
+        if (nbt == null || !(nbt.contains("x") || nbt.contains("y") || nbt.contains("z"))) {
+            return nbt;
+        }
+        NbtCompound copy = nbt.copy();
+        copy.remove("x");
+        copy.remove("y");
+        copy.remove("z");
+        return copy;
+    }
+
+    /**
+     * Get the full island as a snapshot
+     * Returns the template's own snapshot while the overlay is empty
+     */
+    public IslandSnapshot toSnapshot() {
+        if (isPristine()) {
+            return template.getSnapshot();
+        }
+        if (materialized == null) {
+            Int2ObjectOpenHashMap<NbtCompound> blockEntities =
+                new Int2ObjectOpenHashMap<>(template.getSnapshot().getBlockEntities());
+            for (int packed : removedBlockEntities) {
+                blockEntities.remove(packed);
+            }
+            blockEntities.putAll(blockEntityOverlay);
+            materialized = template.getSnapshot().withChanges(overlay, blockEntities);
+        }
+        return materialized;
+    }
+
+    /**
+     * Check whether this island is still identical to its template
+     */
+    public boolean isPristine() {
+        return overlay.isEmpty() && blockEntityOverlay.isEmpty() && removedBlockEntities.isEmpty();
+    }
+
+    /**
+     * Change counter; differs from an earlier value whenever the island changed since
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Number of cells that differ from the template
+     */
+    public int getOverlaySize() {
+        return overlay.size();
+    }
+
+    /**
+     * Rough heap cost of this instance on top of the shared template
+     */
+    public long estimateOverlayBytes() {
+        // Open hash map entry (key, value reference, load factor slack) plus NBT entries
+        return 64L + overlay.size() * 16L + blockEntityOverlay.size() * 528L + removedBlockEntities.size() * 8L;
+    }
+
+    /**
+     * Save the template id and the overlay
+     * Overlay states are stored through a palette, never as raw ids, so saves survive
+     * registry changes between versions
+     */
+    public NbtCompound writeNbt() {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putString("Template", template.getId().toString());
+
+        Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+        NbtList palette = new NbtList();
+        int[] positions = new int[overlay.size()];
+        int[] states = new int[overlay.size()];
+        int i = 0;
+        for (Int2ObjectMap.Entry<BlockState> entry : overlay.int2ObjectEntrySet()) {
+            BlockState state = entry.getValue();
+            int index = paletteLookup.getOrDefault(state, -1);
+            if (index < 0) {
+                index = palette.size();
+                palette.add(NbtHelper.fromBlockState(state));
+                paletteLookup.put(state, index);
+            }
+            positions[i] = entry.getIntKey();
+            states[i] = index;
+            i++;
+        }
+        nbt.put("Palette", palette);
+        nbt.putIntArray("Positions", positions);
+        nbt.putIntArray("States", states);
+
+        NbtList blockEntities = new NbtList();
+        for (Int2ObjectMap.Entry<NbtCompound> entry : blockEntityOverlay.int2ObjectEntrySet()) {
+            NbtCompound blockEntity = new NbtCompound();
+            blockEntity.putInt("Pos", entry.getIntKey());
+            blockEntity.put("Nbt", entry.getValue());
+            blockEntities.add(blockEntity);
+        }
+        nbt.put("BlockEntities", blockEntities);
+        nbt.putIntArray("RemovedBlockEntities", removedBlockEntities.toIntArray());
+        return nbt;
+    }
+
+    /**
+     * Restore an instance saved with writeNbt()
+     *
+     * @return The instance, or null if its template can no longer be loaded
+     */
+    public static IslandInstance readNbt(MinecraftServer server, NbtCompound nbt) {
+        Identifier id = Identifier.tryParse(nbt.getString("Template"));
+        IslandTemplate template = id != null ? IslandLoader.getTemplate(server, id) : null;
+        if (template == null) {
+            AethelonCore.LOGGER.warn("Dropping saved island: template {} is unavailable", nbt.getString("Template"));
+            return null;
+        }
+
+        IslandInstance instance = new IslandInstance(template);
+        NbtList paletteList = nbt.getList("Palette", NbtElement.COMPOUND_TYPE);
+        BlockState[] palette = new BlockState[paletteList.size()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = NbtHelper.toBlockState(Registries.BLOCK, paletteList.getCompound(i));
+        }
+        int[] positions = nbt.getIntArray("Positions");
+        int[] states = nbt.getIntArray("States");
+        for (int i = 0; i < Math.min(positions.length, states.length); i++) {
+            if (states[i] >= 0 && states[i] < palette.length) {
+                int packed = positions[i];
+                instance.setBlockState(IslandSnapshot.unpackX(packed), IslandSnapshot.unpackY(packed),
+                    IslandSnapshot.unpackZ(packed), palette[states[i]]);
+            }
+        }
+
+        NbtList blockEntities = nbt.getList("BlockEntities", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < blockEntities.size(); i++) {
+            NbtCompound blockEntity = blockEntities.getCompound(i);
+            instance.blockEntityOverlay.put(blockEntity.getInt("Pos"), blockEntity.getCompound("Nbt"));
+        }
+        for (int packed : nbt.getIntArray("RemovedBlockEntities")) {
+            instance.removedBlockEntities.add(packed);
+        }
+        return instance;
+    }
+
+    /**
+     * Copy the overlay into an immutable form that can be serialized on another thread
+     */
+    Data toData() {
+        int[] positions = new int[overlay.size()];
+        BlockState[] states = new BlockState[overlay.size()];
+        int i = 0;
+        for (Int2ObjectMap.Entry<BlockState> entry : overlay.int2ObjectEntrySet()) {
+            positions[i] = entry.getIntKey();
+            states[i] = entry.getValue();
+            i++;
+        }
+
+        int[] blockEntityPositions = new int[blockEntityOverlay.size()];
+        NbtCompound[] blockEntities = new NbtCompound[blockEntityOverlay.size()];
+        i = 0;
+        for (Int2ObjectMap.Entry<NbtCompound> entry : blockEntityOverlay.int2ObjectEntrySet()) {
+            blockEntityPositions[i] = entry.getIntKey();
+            blockEntities[i] = entry.getValue().copy();
+            i++;
+        }
+
+        return new Data(template.getId(), positions, states, blockEntityPositions, blockEntities,
+            removedBlockEntities.toIntArray());
+    }
+
+    /**
+     * Rebuild an instance from data produced by toData()
+     *
+     * @return The instance, or null if its template can no longer be loaded
+     */
+    static IslandInstance fromData(MinecraftServer server, Data data) {
+        IslandTemplate template = IslandLoader.getTemplate(server, data.template());
+        if (template == null) {
+            AethelonCore.LOGGER.warn("Cannot restore stored island: template {} is unavailable", data.template());
+            return null;
+        }
+
+        IslandInstance instance = new IslandInstance(template);
+        for (int i = 0; i < data.positions().length; i++) {
+            int packed = data.positions()[i];
+            instance.setBlockState(IslandSnapshot.unpackX(packed), IslandSnapshot.unpackY(packed),
+                IslandSnapshot.unpackZ(packed), data.states()[i]);
+        }
+        for (int i = 0; i < data.blockEntityPositions().length; i++) {
+            instance.blockEntityOverlay.put(data.blockEntityPositions()[i], data.blockEntities()[i].copy());
+        }
+        for (int packed : data.removedBlockEntities()) {
+            instance.removedBlockEntities.add(packed);
+        }
+        instance.revision = 0;
+        return instance;
+    }
+
+    /**
+     * Immutable copy of an instance's overlay, as stored by IslandStorage
+     * The arrays are never modified after construction.
+     */
+    record Data(Identifier template, int[] positions, BlockState[] states,
+                int[] blockEntityPositions, NbtCompound[] blockEntities, int[] removedBlockEntities) {
+    }
+
+    /**
+     * Read access to a capture in island-local coordinates, for reconcile(BlockBox, CapturedCells)
+     */
+    public interface CapturedCells {
+        BlockState getBlockState(int x, int y, int z);
+
+        /**
+         * @return Block entity NBT, or null if the block has no block entity
+         */
+        NbtCompound getBlockEntityNbt(int x, int y, int z);
+    }
+
+    @Override
+    public String toString() {
+        return "IslandInstance{template=" + template.getId() + ", overlay=" + overlay.size() +
+               ", pristine=" + isPristine() + "}";
+    }
+}
@@ -0,0 +1,336 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.mojang.datafixers.DataFixer;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.datafixer.DataFixTypes;
+import net.minecraft.datafixer.Schemas;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryEntryLookup;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3i;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IslandLoader - Loads island .nbt files into shared, interned templates
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ResourceManager (data packs), NbtIo, DataFixTypes.STRUCTURE, NbtHelper
+ * - Hooks into: IslandTemplateReloadListener (data pack load and /reload)
+ * - Modifies: None (templates are read-only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Turn vanilla structure files into IslandTemplates, once per file
+ * - Dependencies: IslandSnapshot (block storage), StructureValidator
+ * - Provides: Template lookup by id, IslandInstance creation, template cache, load counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Structure NBT format changes may require updates
+ *
+ * FILE LOCATION:
+ * Template "namespace:path" is read from data/namespace/aethelon/islands/path.nbt in
+ * the server's data packs. Files use the vanilla structure format (as written by a
+ * structure block) and are upgraded with the structure data fixer before parsing.
+ * Structure void cells are left empty; entities stored in the file are ignored.
+ * Templates that fail StructureValidator are rejected.
+ *
+ * INTERNING AND CACHING:
+ * Parsed templates live in an IslandTemplateCache keyed by id and file hash, bounded
+ * by PerformanceConfig.islandTemplateCacheBytes. While an id's current template is
+ * cached, every request for it, and every turtle spawned from it, gets the same
+ * immutable IslandTemplate without any file access. The cache keeps the current key of
+ * each id after evicting its template; the next request reads and hashes the file again
+ * and only parses it if the contents changed or no turtle still holds the template. A
+ * template the cache evicted is still found by its key while any turtle's
+ * IslandInstance references it, so turtles never end up with two copies of the same
+ * file contents.
+ *
+ * The current templates are built by IslandTemplateReloadListener whenever data packs
+ * load: its prepare stage reads, hashes, parses and validates every island file on the
+ * reload worker executor (reusing templates whose file did not change) into a staging
+ * map, without touching the live cache, and its apply stage makes the staged templates
+ * current and caches them within the budget. An id with no cached current template
+ * (looked up before the first reload finished, or evicted) is loaded from its file on
+ * demand. Ids that failed to
+ * load are remembered until the next reload, so a broken file is reported once instead
+ * of on every spawn.
+ *
+ * THREAD SAFETY:
+ * Lookups are thread-safe; templates are immutable. Instances are created on the
+ * server thread.
+ */
+public final class IslandLoader {
+
+    private static final String ISLAND_DIRECTORY = "aethelon/islands/";
+    private static final String ISLAND_EXTENSION = ".nbt";
+
+    // Sized from PerformanceConfig when the structure module initializes
+    private static final IslandTemplateCache CACHE = new IslandTemplateCache(0L);
+    // Replaced as a whole by the reload listener's apply stage
+    private static volatile Set<Identifier> failed = ConcurrentHashMap.newKeySet();
+
+    // Statistics
+    private static final AtomicLong templatesLoaded = new AtomicLong();
+    private static long instancesCreated = 0L;
+
+    private IslandLoader() {
+    }
+
+    /**
+     * Get the shared template for an id, loading it on first use
+     *
+     * @param server Server whose data packs provide the file
+     * @param id Template id
+     * @return The interned template, or null if the file is missing or invalid
+     */
+    public static IslandTemplate getTemplate(MinecraftServer server, Identifier id) {
+        IslandTemplate template = CACHE.getCurrent(id);
+        if (template != null || failed.contains(id)) {
+            return template;
+        }
+        return load(server, id);
+    }
+
+    /**
+     * Create a fresh island for a turtle spawned from a template
+     * No block data is copied; the instance starts with an empty overlay
+     *
+     * @return New instance, or null if the template could not be loaded
+     */
+    public static IslandInstance createInstance(MinecraftServer server, Identifier id) {
+        IslandTemplate template = getTemplate(server, id);
+        if (template == null) {
+            return null;
+        }
+        instancesCreated++;
+        return new IslandInstance(template);
+    }
+
+    /**
+     * Read and hash the file, then parse it unless the cache already has those contents
+     * The result becomes the id's current template. Also reached for an id whose
+     * template the cache evicted; its kept key then usually matches and a template
+     * still held by turtles is reused.
+     */
+    private static IslandTemplate load(MinecraftServer server, Identifier id) {
+        Identifier fileId = toFileId(id);
+        ResourceManager resources = server.getResourceManager();
+        Optional<Resource> resource = resources.getResource(fileId);
+        if (resource.isEmpty()) {
+            AethelonCore.LOGGER.warn("Island template {} not found (expected {})", id, fileId);
+            failed.add(id);
+            return null;
+        }
+
+        try {
+            byte[] bytes = readBytes(resource.get());
+            IslandTemplateCache.Key key = keyOf(id, bytes);
+            IslandTemplate template = CACHE.get(key);
+            if (template == null) {
+                template = decode(id, bytes);
+            }
+            CACHE.setCurrent(key, template);
+            return template;
+        } catch (IOException | RuntimeException e) {
+            AethelonCore.LOGGER.error("Failed to load island template {} from {}", id, fileId, e);
+            failed.add(id);
+            return null;
+        }
+    }
+
+    /**
+     * Prepare one island file during a reload; runs on a reload worker thread
+     * Reuses the cached template if the file contents did not change. The result is
+     * only staged: the live cache does not change until the reload applies.
+     *
+     * @param id Template id
+     * @param resource Island file
+     * @return The prepared template and its cache key
+     */
+    static IslandTemplateCache.Entry prepare(Identifier id, Resource resource) throws IOException {
+        byte[] bytes = readBytes(resource);
+        IslandTemplateCache.Key key = keyOf(id, bytes);
+        IslandTemplate template = CACHE.get(key);
+        return new IslandTemplateCache.Entry(key, template != null ? template : decode(id, bytes));
+    }
+
+    /**
+     * Swap in the templates staged by a reload; runs on the server thread
+     *
+     * @param templates Template of every island file that prepared successfully
+     * @param failedIds Island files that could not be prepared
+     */
+    static void applyReload(Map<Identifier, IslandTemplateCache.Entry> templates, Set<Identifier> failedIds) {
+        CACHE.replaceCurrent(templates);
+        failed = failedIds;
+    }
+
+    private static byte[] readBytes(Resource resource) throws IOException {
+        try (InputStream stream = resource.getInputStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private static IslandTemplateCache.Key keyOf(Identifier id, byte[] bytes) {
+        HashCode hash = Hashing.murmur3_128().hashBytes(bytes);
+        return new IslandTemplateCache.Key(id, hash);
+    }
+
+    /**
+     * Decompress, parse and validate one island file
+     *
+     * @throws IllegalArgumentException if the file is malformed or fails validation
+     */
+    private static IslandTemplate decode(Identifier id, byte[] bytes) throws IOException {
+        NbtCompound root = NbtIo.readCompressed(new ByteArrayInputStream(bytes), NbtSizeTracker.ofUnlimitedBytes());
+        IslandTemplate template = parse(id, root, Schemas.getFixer(), Registries.BLOCK);
+
+        List<String> errors = StructureValidator.validate(template);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Island template " + id + " is invalid: " + String.join("; ", errors));
+        }
+
+        templatesLoaded.incrementAndGet();
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Loaded {}", template);
+        }
+        return template;
+    }
+
+    /**
+     * Parse a vanilla structure compound into a template
+     *
+     * @param id Template id
+     * @param root Structure file contents
+     * @param dataFixer Data fixer used to upgrade files written by older versions
+     * @param blockLookup Block registry lookup for palette entries
+     */
+    static IslandTemplate parse(Identifier id, NbtCompound root, DataFixer dataFixer,
+                                RegistryEntryLookup<Block> blockLookup) {
+        int dataVersion = NbtHelper.getDataVersion(root, 500);
+        NbtCompound structure = DataFixTypes.STRUCTURE.update(dataFixer, root, dataVersion);
+
+        NbtList sizeList = structure.getList("size", NbtElement.INT_TYPE);
+        if (sizeList.size() != 3) {
+            throw new IllegalArgumentException("Island template " + id + " has no valid size");
+        }
+        Vec3i size = new Vec3i(sizeList.getInt(0), sizeList.getInt(1), sizeList.getInt(2));
+
+        // Multi-palette files (e.g. shipwrecks) use their first variant
+        NbtList paletteList = structure.contains("palettes", NbtElement.LIST_TYPE)
+            ? structure.getList("palettes", NbtElement.LIST_TYPE).getList(0)
+            : structure.getList("palette", NbtElement.COMPOUND_TYPE);
+        BlockState[] palette = new BlockState[paletteList.size()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = NbtHelper.toBlockState(blockLookup, paletteList.getCompound(i));
+        }
+
+        IslandSnapshot.Builder builder = IslandSnapshot.builder(size);
+        NbtList blocks = structure.getList("blocks", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < blocks.size(); i++) {
+            NbtCompound block = blocks.getCompound(i);
+            int stateIndex = block.getInt("state");
+            NbtList pos = block.getList("pos", NbtElement.INT_TYPE);
+            if (stateIndex < 0 || stateIndex >= palette.length || pos.size() != 3) {
+                continue;
+            }
+            int x = pos.getInt(0);
+            int y = pos.getInt(1);
+            int z = pos.getInt(2);
+            BlockState state = palette[stateIndex];
+            if (state.isOf(Blocks.STRUCTURE_VOID) || x < 0 || y < 0 || z < 0 ||
+                x >= size.getX() || y >= size.getY() || z >= size.getZ()) {
+                continue;
+            }
+
+            builder.setBlockState(x, y, z, state);
+            if (block.contains("nbt", NbtElement.COMPOUND_TYPE)) {
+                builder.setBlockEntityNbt(x, y, z, block.getCompound("nbt"));
+            }
+        }
+
+        return new IslandTemplate(id, builder.build());
+    }
+
+    /**
+     * Resource path of the file backing a template id
+     */
+    public static Identifier toFileId(Identifier id) {
+        return id.withPath(path -> ISLAND_DIRECTORY + path + ISLAND_EXTENSION);
+    }
+
+    /**
+     * Template id of an island file found in the island directory
+     */
+    static Identifier toTemplateId(Identifier fileId) {
+        String path = fileId.getPath();
+        return fileId.withPath(path.substring(ISLAND_DIRECTORY.length(), path.length() - ISLAND_EXTENSION.length()));
+    }
+
+    /**
+     * Resource directory scanned for island files
+     */
+    static String getIslandDirectory() {
+        return ISLAND_DIRECTORY.substring(0, ISLAND_DIRECTORY.length() - 1);
+    }
+
+    static boolean isIslandFile(Identifier fileId) {
+        return fileId.getPath().endsWith(ISLAND_EXTENSION);
+    }
+
+    /**
+     * Set the template cache budget (PerformanceConfig.islandTemplateCacheBytes)
+     */
+    public static void setCacheSize(long maxBytes) {
+        CACHE.setMaxBytes(maxBytes);
+    }
+
+    /**
+     * Drop every cached template (instances keep the templates they already reference)
+     */
+    public static void clear() {
+        failed = ConcurrentHashMap.newKeySet();
+        CACHE.clear();
+    }
+
+    /**
+     * Template cache, for hit/miss/eviction counters and memory use
+     */
+    public static IslandTemplateCache getCache() {
+        return CACHE;
+    }
+
+    public static long getTemplatesLoaded() {
+        return templatesLoaded.get();
+    }
+
+    public static long getInstancesCreated() {
+        return instancesCreated;
+    }
+}
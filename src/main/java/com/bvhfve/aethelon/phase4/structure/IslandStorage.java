@@ -0,0 +1,801 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.state.property.Property;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.PersistentState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * IslandStorage - Region-sharded persistence of every turtle's island
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: PersistentState (overworld data folder), world save directory
+ * - Hooks into: World saves (writeNbt runs whenever the server saves persistent state),
+ *   SERVER_STOPPED through StructureModule
+ * - Modifies: data/aethelon_islands.dat (index) and data/aethelon_islands/r.X.Z.isl (shards)
+ *
+ * MODULE ROLE:
+ * - Purpose: Keep island block data out of entity NBT and out of one monolithic save file
+ * - Dependencies: IslandInstance, IslandLoader (templates when islands are restored)
+ * - Provides: Island put/load/remove by turtle UUID, async shard loading, island
+ *   versions, shard write counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: PersistentState API changes may require updates
+ *
+ * STORAGE LAYOUT:
+ * Islands are grouped into shards by the 32x32 chunk region of the turtle's home
+ * position (where its island was first stored), the same grouping as vanilla region
+ * files, so a shard never moves when the turtle does. The PersistentState itself only
+ * holds the index (turtle UUID -> region), which stays a few bytes per island. Each
+ * shard is a GZIP'd binary file: per island the template id, a block state palette,
+ * the overlay as (position, palette index) pairs and the block entity overlay.
+ *
+ * SAVING:
+ * Turtles put their island here when it is assigned or changes, never while they are
+ * being saved: persistent state is saved before chunks and entities, so a change made
+ * from an entity save would miss that save. Only shards containing an island that
+ * changed (IslandInstance revision) or was added or removed since the last save are
+ * written. On save the server thread only copies the changed islands into immutable
+ * IslandInstance.Data; encoding, compression and the atomic file replace happen on the
+ * storage thread, in order per shard. Unchanged islands of a dirty shard reuse the data
+ * copied at their last save. Changes made after the final save (turtles removed while
+ * the worlds close) are flushed once the server has stopped.
+ *
+ * RESIDENCY:
+ * A shard is only read when one of its islands is needed. prepare() reads it on the
+ * storage thread, behind any queued writes, and installs it on the server thread, so
+ * turtles can hydrate their island without a disk read on the tick. A put or remove
+ * for a shard that is not in memory is queued behind that same read and applied, in
+ * order, when the shard is installed; the server thread never waits on the disk. When a turtle
+ * unloads, release() reduces its island to the immutable Data copy, and a shard with no
+ * live island left is dropped from memory once it has been written. Every stored island
+ * carries a version that changes with each stored change; turtles keep it in their NBT
+ * header to notice island data that is older than the turtle itself.
+ *
+ * A shard file that exists but cannot be read (corrupt, or written by an unsupported
+ * version) is never installed and never written over: the region is marked unreadable
+ * for the rest of the session, changes for it are refused with an error, and its turtles
+ * keep their islands inline in their own saves. The file stays as it is for repair.
+ *
+ * THREAD SAFETY:
+ * Server thread only, apart from the storage thread, which only sees immutable data.
+ */
+public class IslandStorage extends PersistentState {
+
+    private static final String ID = AethelonCore.MOD_ID + "_islands";
+    private static final String SHARD_DIRECTORY = AethelonCore.MOD_ID + "_islands";
+    private static final int SHARD_MAGIC = 0x41495331;
+    private static final int SHARD_VERSION = 1;
+
+    private static ExecutorService executor;
+
+    // Statistics
+    private static final AtomicLong shardsWritten = new AtomicLong();
+    private static final AtomicLong shardBytesWritten = new AtomicLong();
+    private static final AtomicLong shardsLoaded = new AtomicLong();
+
+    private final Path directory;
+    // Runs shard installs on the server thread
+    private final Executor serverExecutor;
+    // Island -> packed region position of its shard
+    private final Object2LongOpenHashMap<UUID> regions = new Object2LongOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<Shard> shards = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<PendingShard> loading = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet dirtyShards = new LongOpenHashSet();
+    // Regions whose shard file exists but could not be read; never written this session
+    private final LongOpenHashSet unreadableShards = new LongOpenHashSet();
+
+    private IslandStorage(Path directory, Executor serverExecutor) {
+        this.directory = directory;
+        this.serverExecutor = serverExecutor;
+    }
+
+    /**
+     * Get the island storage of a server (kept with the overworld's data)
+     */
+    public static IslandStorage get(MinecraftServer server) {
+        Path directory = server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve(SHARD_DIRECTORY);
+        return server.getOverworld().getPersistentStateManager().getOrCreate(new PersistentState.Type<>(
+            () -> new IslandStorage(directory, server),
+            (nbt, registries) -> fromNbt(directory, server, nbt),
+            null
+        ), ID);
+    }
+
+    /**
+     * Start the storage thread
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Aethelon-Island-Storage");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Finish queued shard writes and stop the storage thread
+     */
+    public static synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                AethelonCore.LOGGER.warn("Island storage did not finish writing within 30 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    /**
+     * Block until every shard write queued so far is on disk
+     * Called after the final save, so a stopping server does not exit mid-write
+     */
+    public static void awaitWrites() {
+        ExecutorService storageExecutor = getExecutor();
+        if (storageExecutor != null) {
+            CompletableFuture.runAsync(() -> { }, storageExecutor).join();
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Store or update a turtle's island; called when the island is assigned or changes
+     * Cheap when nothing changed: the shard is only marked dirty if the instance or its
+     * revision differs from what was stored last. If the island's shard is not in memory
+     * the update is applied once it has been read. An island whose shard is unreadable is
+     * not stored; getVersion() stays 0, so its turtle keeps saving it inline.
+     *
+     * @param island UUID of the turtle
+     * @param home Turtle position, only used to pick the shard of a new island
+     * @param instance The turtle's island
+     */
+    public void put(UUID island, BlockPos home, IslandInstance instance) {
+        long region = regions.containsKey(island) ? regions.getLong(island) : toRegion(home);
+        regions.put(island, region);
+        withShard(region, shard -> {
+            Entry entry = shard.islands.get(island);
+            if (entry == null) {
+                entry = new Entry();
+                shard.islands.put(island, entry);
+            } else if (entry.instance == instance && entry.revision == instance.getRevision()) {
+                return;
+            }
+            entry.instance = instance;
+            entry.revision = instance.getRevision();
+            entry.saved = null;
+            entry.version++;
+            markShardDirty(region);
+        });
+    }
+
+    /**
+     * Read the shard of an island on the storage thread, if it is not in memory yet
+     * load() does no disk access for this island once the future has completed, unless
+     * a save dropped the shard again in between; isResident() tells.
+     *
+     * @return Future completed on the server thread once the shard is resident
+     */
+    public CompletableFuture<Void> prepare(UUID island) {
+        if (!regions.containsKey(island)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long region = regions.getLong(island);
+        if (shards.containsKey(region)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (getExecutor() == null) {
+            readShardNow(region);
+            return CompletableFuture.completedFuture(null);
+        }
+        return loadShard(region).installed;
+    }
+
+    /**
+     * Check whether the shard of an island is in memory, so load() can answer right away
+     */
+    public boolean isResident(UUID island) {
+        if (!regions.containsKey(island)) {
+            return true;
+        }
+        long region = regions.getLong(island);
+        return shards.containsKey(region) || unreadableShards.contains(region);
+    }
+
+    /**
+     * Drop the live instance of an island whose turtle unloaded
+     * The island stays stored; its shard leaves memory once nothing in it is live or unsaved.
+     */
+    public void release(UUID island) {
+        if (!regions.containsKey(island)) {
+            return;
+        }
+        long region = regions.getLong(island);
+        Shard shard = shards.get(region);
+        if (shard == null) {
+            return;
+        }
+        Entry entry = shard.islands.get(island);
+        if (entry != null && entry.instance != null) {
+            if (entry.saved == null) {
+                entry.saved = entry.instance.toData();
+            }
+            entry.instance = null;
+        }
+        evictIfIdle(region, shard);
+    }
+
+    /**
+     * Version of a stored island, changed every time a change to it is stored
+     *
+     * @return The version, or 0 if the island or its shard is not in memory (also while a
+     *         put for it waits for its shard)
+     */
+    public long getVersion(UUID island) {
+        if (!regions.containsKey(island)) {
+            return 0L;
+        }
+        Shard shard = shards.get(regions.getLong(island));
+        Entry entry = shard != null ? shard.islands.get(island) : null;
+        return entry != null ? entry.version : 0L;
+    }
+
+    /**
+     * Load a turtle's island from its resident shard (see prepare)
+     *
+     * @return The island, or null if none is stored, its shard is not in memory or could
+     *         not be read, or its template is unavailable
+     */
+    public IslandInstance load(MinecraftServer server, UUID island) {
+        if (!regions.containsKey(island)) {
+            return null;
+        }
+        Shard shard = shards.get(regions.getLong(island));
+        Entry entry = shard != null ? shard.islands.get(island) : null;
+        if (entry == null) {
+            return null;
+        }
+        if (entry.instance == null && entry.saved != null) {
+            entry.instance = IslandInstance.fromData(server, entry.saved);
+            entry.revision = entry.instance != null ? entry.instance.getRevision() : 0;
+        }
+        return entry.instance;
+    }
+
+    /**
+     * Forget a turtle's island (the turtle is gone for good)
+     */
+    public void remove(UUID island) {
+        if (!regions.containsKey(island)) {
+            return;
+        }
+        long region = regions.getLong(island);
+        boolean accepted = withShard(region, shard -> {
+            if (shard.islands.remove(island) != null) {
+                markShardDirty(region);
+            }
+        });
+        if (accepted) {
+            // An unreadable shard keeps its index entry, so the island is not orphaned in it
+            regions.removeLong(island);
+        }
+    }
+
+    public boolean contains(UUID island) {
+        return regions.containsKey(island);
+    }
+
+    public int getIslandCount() {
+        return regions.size();
+    }
+
+    private void markShardDirty(long region) {
+        dirtyShards.add(region);
+        markDirty();
+    }
+
+    /**
+     * Apply a change to a shard now if it is in memory, or once its read has finished
+     * Queued changes keep their order.
+     *
+     * @return false if the change was refused because the shard is known to be unreadable
+     */
+    private boolean withShard(long region, Consumer<Shard> change) {
+        if (unreadableShards.contains(region)) {
+            AethelonCore.LOGGER.error("Island shard {} could not be read this session, refusing to change it",
+                getShardPath(region));
+            return false;
+        }
+        Shard shard = shards.get(region);
+        if (shard == null && getExecutor() == null) {
+            shard = readShardNow(region);
+            if (shard == null) {
+                return false;
+            }
+        }
+        if (shard != null) {
+            change.accept(shard);
+        } else {
+            loadShard(region).changes.add(change);
+        }
+        return true;
+    }
+
+    /**
+     * Start reading a shard on the storage thread, behind every queued write of it
+     */
+    private PendingShard loadShard(long region) {
+        PendingShard pending = loading.get(region);
+        if (pending == null) {
+            Path file = getShardPath(region);
+            pending = new PendingShard(CompletableFuture.supplyAsync(() -> readShardFile(file), getExecutor()));
+            loading.put(region, pending);
+            pending.read.thenRunAsync(() -> installShard(region), serverExecutor);
+        }
+        return pending;
+    }
+
+    /**
+     * Put a read shard into memory and apply the changes queued behind it
+     * Waits for the read if it is still running, which only happens at shutdown.
+     */
+    private void installShard(long region) {
+        PendingShard pending = loading.remove(region);
+        if (pending == null) {
+            // Already installed by installPendingShards
+            return;
+        }
+        Shard shard;
+        try {
+            shard = toShard(pending.read.join());
+        } catch (Exception e) {
+            markUnreadable(region, pending.changes.size(), e);
+            pending.installed.complete(null);
+            return;
+        }
+        shards.put(region, shard);
+        for (Consumer<Shard> change : pending.changes) {
+            change.accept(shard);
+        }
+        pending.installed.complete(null);
+    }
+
+    /**
+     * Read a shard on the server thread; only while the storage thread is not running
+     *
+     * @return The installed shard, or null if the file could not be read
+     */
+    private Shard readShardNow(long region) {
+        Shard shard;
+        try {
+            shard = toShard(readShardFile(getShardPath(region)));
+        } catch (Exception e) {
+            markUnreadable(region, 0, e);
+            return null;
+        }
+        shards.put(region, shard);
+        return shard;
+    }
+
+    /**
+     * Keep a shard that failed to read out of memory and away from every later write
+     */
+    private void markUnreadable(long region, int droppedChanges, Exception e) {
+        unreadableShards.add(region);
+        AethelonCore.LOGGER.error("Failed to read island shard {}; it is left untouched and {} queued changes are dropped. "
+                + "Islands of region {} stay in their turtles' saves until the file is repaired",
+            getShardPath(region), droppedChanges, new ChunkPos(region), e);
+    }
+
+    private static Shard toShard(Map<UUID, StoredIsland> contents) {
+        Shard shard = new Shard();
+        for (Map.Entry<UUID, StoredIsland> stored : contents.entrySet()) {
+            Entry entry = new Entry();
+            entry.saved = stored.getValue().data();
+            entry.version = stored.getValue().version();
+            shard.islands.put(stored.getKey(), entry);
+        }
+        return shard;
+    }
+
+    private void evictIfIdle(long region, Shard shard) {
+        if (dirtyShards.contains(region)) {
+            return;
+        }
+        for (Entry entry : shard.islands.values()) {
+            if (entry.instance != null) {
+                return;
+            }
+        }
+        shards.remove(region);
+    }
+
+    private static long toRegion(BlockPos pos) {
+        return ChunkPos.toLong(pos.getX() >> 9, pos.getZ() >> 9);
+    }
+
+    private Path getShardPath(long region) {
+        return directory.resolve("r." + ChunkPos.getPackedX(region) + "." + ChunkPos.getPackedZ(region) + ".isl");
+    }
+
+    /**
+     * Save the index and queue the dirty shards
+     * Runs on the server thread whenever persistent state is saved.
+     */
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        NbtList index = new NbtList();
+        for (Object2LongMap.Entry<UUID> entry : regions.object2LongEntrySet()) {
+            NbtCompound island = new NbtCompound();
+            island.putUuid("Id", entry.getKey());
+            island.putLong("Region", entry.getLongValue());
+            index.add(island);
+        }
+        nbt.put("Islands", index);
+
+        flushShards();
+        return nbt;
+    }
+
+    private static IslandStorage fromNbt(Path directory, Executor serverExecutor, NbtCompound nbt) {
+        IslandStorage storage = new IslandStorage(directory, serverExecutor);
+        NbtList index = nbt.getList("Islands", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < index.size(); i++) {
+            NbtCompound island = index.getCompound(i);
+            storage.regions.put(island.getUuid("Id"), island.getLong("Region"));
+        }
+        return storage;
+    }
+
+    /**
+     * Write what changed after the final save of a stopping server
+     * Shards still being read are installed first, so their queued changes are included.
+     */
+    public void flushOnStop() {
+        for (long region : loading.keySet().toLongArray()) {
+            installShard(region);
+        }
+        flushShards();
+    }
+
+    /**
+     * Copy each dirty shard's islands and hand them to the storage thread
+     */
+    private void flushShards() {
+        if (dirtyShards.isEmpty()) {
+            return;
+        }
+
+        ExecutorService storageExecutor = getExecutor();
+        long[] written = dirtyShards.toLongArray();
+        for (long region : written) {
+            Shard shard = shards.get(region);
+            if (shard == null) {
+                continue;
+            }
+
+            Map<UUID, StoredIsland> contents = new LinkedHashMap<>();
+            for (Map.Entry<UUID, Entry> island : shard.islands.entrySet()) {
+                Entry entry = island.getValue();
+                if (entry.saved == null && entry.instance != null) {
+                    entry.saved = entry.instance.toData();
+                }
+                if (entry.saved != null) {
+                    contents.put(island.getKey(), new StoredIsland(entry.version, entry.saved));
+                }
+            }
+
+            Path file = getShardPath(region);
+            Runnable write = () -> writeShard(file, contents);
+            if (storageExecutor != null) {
+                storageExecutor.execute(write);
+            } else {
+                write.run();
+            }
+        }
+        dirtyShards.clear();
+
+        // Shards whose turtles all unloaded can leave memory now that their data is queued
+        for (long region : written) {
+            Shard shard = shards.get(region);
+            if (shard != null) {
+                evictIfIdle(region, shard);
+            }
+        }
+    }
+
+    private static void writeShard(Path file, Map<UUID, StoredIsland> contents) {
+        try {
+            if (contents.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(SHARD_MAGIC);
+                out.writeInt(SHARD_VERSION);
+                out.writeInt(contents.size());
+                for (Map.Entry<UUID, StoredIsland> island : contents.entrySet()) {
+                    out.writeLong(island.getKey().getMostSignificantBits());
+                    out.writeLong(island.getKey().getLeastSignificantBits());
+                    out.writeLong(island.getValue().version());
+                    writeIsland(out, island.getValue().data());
+                }
+            }
+            long bytes = Files.size(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            shardsWritten.incrementAndGet();
+            shardBytesWritten.addAndGet(bytes);
+        } catch (IOException e) {
+            AethelonCore.LOGGER.error("Failed to write island shard {}", file, e);
+        }
+    }
+
+    private static void writeIsland(DataOutputStream out, IslandInstance.Data data) throws IOException {
+        out.writeUTF(data.template().toString());
+
+        // Palette of the overlay states, then one (position, palette index) pair per cell
+        Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+        List<BlockState> palette = new ArrayList<>();
+        int[] indices = new int[data.states().length];
+        for (int i = 0; i < indices.length; i++) {
+            BlockState state = data.states()[i];
+            int index = paletteLookup.getOrDefault(state, -1);
+            if (index < 0) {
+                index = palette.size();
+                palette.add(state);
+                paletteLookup.put(state, index);
+            }
+            indices[i] = index;
+        }
+        out.writeInt(palette.size());
+        for (BlockState state : palette) {
+            writeBlockState(out, state);
+        }
+        out.writeInt(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            out.writeInt(data.positions()[i]);
+            out.writeShort(indices[i]);
+        }
+
+        out.writeInt(data.blockEntityPositions().length);
+        for (int i = 0; i < data.blockEntityPositions().length; i++) {
+            out.writeInt(data.blockEntityPositions()[i]);
+            NbtIo.writeCompound(data.blockEntities()[i], out);
+        }
+
+        out.writeInt(data.removedBlockEntities().length);
+        for (int packed : data.removedBlockEntities()) {
+            out.writeInt(packed);
+        }
+    }
+
+    /**
+     * Read a shard file; a missing file reads as an empty shard
+     *
+     * @throws UncheckedIOException if the file exists but cannot be read
+     */
+    private static Map<UUID, StoredIsland> readShardFile(Path file) {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        try {
+            Map<UUID, StoredIsland> contents = readShard(file);
+            shardsLoaded.incrementAndGet();
+            return contents;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<UUID, StoredIsland> readShard(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+            new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != SHARD_MAGIC) {
+                throw new IOException("Not an island shard");
+            }
+            int format = in.readInt();
+            if (format != SHARD_VERSION) {
+                throw new IOException("Unsupported island shard version " + format);
+            }
+
+            int count = in.readInt();
+            Map<UUID, StoredIsland> contents = new HashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID island = new UUID(in.readLong(), in.readLong());
+                long version = in.readLong();
+                contents.put(island, new StoredIsland(version, readIsland(in)));
+            }
+            return contents;
+        }
+    }
+
+    private static IslandInstance.Data readIsland(DataInputStream in) throws IOException {
+        Identifier template = Identifier.of(in.readUTF());
+
+        BlockState[] palette = new BlockState[in.readInt()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = readBlockState(in);
+        }
+        int cells = in.readInt();
+        int[] positions = new int[cells];
+        BlockState[] states = new BlockState[cells];
+        for (int i = 0; i < cells; i++) {
+            positions[i] = in.readInt();
+            states[i] = palette[in.readUnsignedShort()];
+        }
+
+        int blockEntityCount = in.readInt();
+        int[] blockEntityPositions = new int[blockEntityCount];
+        NbtCompound[] blockEntities = new NbtCompound[blockEntityCount];
+        for (int i = 0; i < blockEntityCount; i++) {
+            blockEntityPositions[i] = in.readInt();
+            blockEntities[i] = NbtIo.readCompound(in, NbtSizeTracker.ofUnlimitedBytes());
+        }
+
+        int[] removed = new int[in.readInt()];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = in.readInt();
+        }
+        return new IslandInstance.Data(template, positions, states, blockEntityPositions, blockEntities, removed);
+    }
+
+    /**
+     * Write a state as its block id plus property names and values, never as a raw id
+     */
+    private static void writeBlockState(DataOutputStream out, BlockState state) throws IOException {
+        out.writeUTF(Registries.BLOCK.getId(state.getBlock()).toString());
+        out.writeByte(state.getProperties().size());
+        for (Property<?> property : state.getProperties()) {
+            out.writeUTF(property.getName());
+            out.writeUTF(valueName(state, property));
+        }
+    }
+
+    private static <T extends Comparable<T>> String valueName(BlockState state, Property<T> property) {
+        return property.name(state.get(property));
+    }
+
+    private static BlockState readBlockState(DataInputStream in) throws IOException {
+        Block block = Registries.BLOCK.get(Identifier.of(in.readUTF()));
+        BlockState state = block.getDefaultState();
+        int properties = in.readUnsignedByte();
+        for (int i = 0; i < properties; i++) {
+            String name = in.readUTF();
+            String value = in.readUTF();
+            Property<?> property = block.getStateManager().getProperty(name);
+            if (property != null) {
+                state = withValue(state, property, value);
+            }
+        }
+        return state;
+    }
+
+    private static <T extends Comparable<T>> BlockState withValue(BlockState state, Property<T> property, String value) {
+        return property.parse(value).map(parsed -> state.with(property, parsed)).orElse(state);
+    }
+
+    /**
+     * Shard files written since startup
+     */
+    public static long getShardsWritten() {
+        return shardsWritten.get();
+    }
+
+    public static long getShardBytesWritten() {
+        return shardBytesWritten.get();
+    }
+
+    public static long getShardsLoaded() {
+        return shardsLoaded.get();
+    }
+
+    /**
+     * Number of shards that could not be read this session and are left untouched
+     */
+    public int getUnreadableShards() {
+        return unreadableShards.size();
+    }
+
+    /**
+     * Number of shards currently held in memory
+     */
+    public int getResidentShards() {
+        return shards.size();
+    }
+
+    /**
+     * One island as read from or written to a shard file
+     */
+    private record StoredIsland(long version, IslandInstance.Data data) {
+    }
+
+    /**
+     * Islands of one region, loaded from or destined for one shard file
+     */
+    private static final class Shard {
+        private final Map<UUID, Entry> islands = new HashMap<>();
+    }
+
+    /**
+     * A shard being read, with the changes waiting for it
+     */
+    private static final class PendingShard {
+        private final CompletableFuture<Map<UUID, StoredIsland>> read;
+        private final CompletableFuture<Void> installed = new CompletableFuture<>();
+        private final List<Consumer<Shard>> changes = new ArrayList<>();
+
+        private PendingShard(CompletableFuture<Map<UUID, StoredIsland>> read) {
+            this.read = read;
+        }
+    }
+
+    /**
+     * One stored island: the live instance once loaded, and the data last written
+     */
+    private static final class Entry {
+        private IslandInstance instance;
+        private IslandInstance.Data saved;
+        private int revision;
+        private long version;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import net.minecraft.util.Identifier;
+
+/**
+ * IslandTemplate - Immutable island loaded from one .nbt file
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Identifier (template id)
+ * - Hooks into: None (pure data structure)
+ * - Modifies: None (read-only after load)
+ *
+ * MODULE ROLE:
+ * - Purpose: Hold the block data of one island file, shared by every turtle spawned from it
+ * - Dependencies: IslandSnapshot (palette-compressed block storage)
+ * - Provides: Template id and snapshot
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * Templates are interned by IslandLoader: while cached there is exactly one instance
+ * per id and file contents, and because the snapshot is immutable it can be read from
+ * any thread without copying.
+ */
+public final class IslandTemplate {
+
+    private final Identifier id;
+    private final IslandSnapshot snapshot;
+
+    IslandTemplate(Identifier id, IslandSnapshot snapshot) {
+        this.id = id;
+        this.snapshot = snapshot;
+    }
+
+    public Identifier getId() {
+        return id;
+    }
+
+    /**
+     * Block data of the template in island-local coordinates
+     */
+    public IslandSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rough heap footprint of the template, shared by every instance referencing it
+     */
+    public long estimateBytes() {
+        return snapshot.estimateBytes();
+    }
+
+    @Override
+    public String toString() {
+        return "IslandTemplate{id=" + id + ", " + snapshot + "}";
+    }
+}
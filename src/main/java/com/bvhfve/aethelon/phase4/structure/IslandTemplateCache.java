@@ -0,0 +1,286 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.google.common.hash.HashCode;
+import net.minecraft.util.Identifier;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * IslandTemplateCache - Byte-bounded LRU cache of parsed island templates
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Identifier (template id)
+ * - Hooks into: None (used by IslandLoader)
+ * - Modifies: None (data only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Avoid decompressing and reparsing island files on every spawn or reload
+ * - Dependencies: IslandTemplate (size estimation)
+ * - Provides: Current key per id, lookup by id and file hash, hit/miss/eviction counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * CACHE POLICY:
+ * Entries are keyed by template id and the hash of the file contents, so an edited
+ * file never returns a stale template while an unchanged file survives a data pack
+ * reload. Every cached template, current or not, counts against one budget of
+ * estimated heap size (PerformanceConfig.islandTemplateCacheBytes), not entry count,
+ * because island files range from a few KB to tens of MB. Least recently used
+ * templates are evicted first. A single template larger than the whole budget is
+ * admitted alone: everything else is evicted, so it is parsed once instead of on every
+ * lookup, and it goes as soon as anything else is added. Evicting a template only
+ * drops the cache's reference: turtles that already use it keep it alive.
+ *
+ * Apart from the templates, the cache keeps the current key of each id (the hash of
+ * its file in the loaded data packs). This index is a few bytes per id and outside the
+ * budget, so getCurrent() answers without file access while the template is cached;
+ * once it was evicted, the caller reads and hashes the file again and only reparses it
+ * if the hash changed or the template is gone from the intern map as well.
+ *
+ * INTERNING:
+ * Every template the cache has seen is also held weakly by key, outside the budget. A
+ * lookup that misses the LRU still returns an evicted template that
+ * some IslandInstance keeps alive, so a file whose contents come back (a reverted
+ * edit, a data pack toggled off and on) shares the template its turtles already use
+ * instead of parsing a second copy. Entries go away once the garbage collector has
+ * cleared the template.
+ *
+ * THREAD SAFETY:
+ * All methods are synchronized; templates themselves are immutable.
+ */
+public final class IslandTemplateCache {
+
+    private final LinkedHashMap<Key, IslandTemplate> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Key of the current file of each id; kept when its template is evicted
+    private Map<Identifier, Key> current = new HashMap<>();
+    // Every template still reachable anywhere, by key
+    private final Map<Key, InternedTemplate> interned = new HashMap<>();
+    private final ReferenceQueue<IslandTemplate> collected = new ReferenceQueue<>();
+    private long maxBytes;
+    private long currentBytes = 0L;
+
+    // Statistics
+    private long hits = 0L;
+    private long misses = 0L;
+    private long evictions = 0L;
+    private long internHits = 0L;
+
+    public IslandTemplateCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Look up the current template of an id, marking it most recently used
+     *
+     * @return The template, or null if the id has no current key or its template was
+     *         evicted and collected (see getCurrentKey)
+     */
+    public synchronized IslandTemplate getCurrent(Identifier id) {
+        Key key = current.get(id);
+        if (key == null) {
+            misses++;
+            return null;
+        }
+        return get(key);
+    }
+
+    /**
+     * Key of the current file of an id, kept after its template was evicted
+     *
+     * @return The key, or null if the id has no current file
+     */
+    public synchronized Key getCurrentKey(Identifier id) {
+        return current.get(id);
+    }
+
+    /**
+     * Look up a template by id and file hash, marking it most recently used
+     *
+     * @return The cached or still referenced template, or null on a miss
+     */
+    public synchronized IslandTemplate get(Key key) {
+        IslandTemplate template = entries.get(key);
+        if (template == null) {
+            expungeCollected();
+            InternedTemplate reference = interned.get(key);
+            template = reference != null ? reference.get() : null;
+            if (template != null) {
+                internHits++;
+            }
+        }
+        if (template != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return template;
+    }
+
+    /**
+     * Add a template as the most recently used one, evicting older entries until the
+     * cache fits its budget; a template larger than the budget stays as the only entry
+     */
+    public synchronized void put(Key key, IslandTemplate template) {
+        intern(key, template);
+        IslandTemplate previous = entries.put(key, template);
+        if (previous != null) {
+            currentBytes -= previous.estimateBytes();
+        }
+        currentBytes += template.estimateBytes();
+        trim();
+    }
+
+    /**
+     * Make a template the current one of its id and cache it
+     * The template it replaces stays in the LRU until it is evicted, so reverting a file
+     * does not reparse it.
+     */
+    public synchronized void setCurrent(Key key, IslandTemplate template) {
+        current.put(key.id(), key);
+        put(key, template);
+    }
+
+    /**
+     * Replace every current key at once, e.g. with the result of a data pack reload
+     * The templates are cached like any other; those that do not fit the budget are
+     * evicted right away and parsed again when their id is next used.
+     *
+     * @param templates Current template of every id; ids left out have none
+     */
+    public synchronized void replaceCurrent(Map<Identifier, Entry> templates) {
+        Map<Identifier, Key> next = new HashMap<>();
+        for (Entry entry : templates.values()) {
+            next.put(entry.key().id(), entry.key());
+            put(entry.key(), entry.template());
+        }
+        current = next;
+    }
+
+    /**
+     * Change the byte budget, evicting entries if the cache no longer fits
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        trim();
+    }
+
+    private void intern(Key key, IslandTemplate template) {
+        expungeCollected();
+        InternedTemplate reference = interned.get(key);
+        if (reference == null || reference.get() != template) {
+            interned.put(key, new InternedTemplate(key, template, collected));
+        }
+    }
+
+    /**
+     * Drop the weak entries of templates the garbage collector has cleared
+     */
+    private void expungeCollected() {
+        InternedTemplate reference;
+        while ((reference = (InternedTemplate) collected.poll()) != null) {
+            interned.remove(reference.key, reference);
+        }
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<Key, IslandTemplate>> iterator = entries.entrySet().iterator();
+        // The most recently used entry always stays, even if it alone exceeds the budget
+        while (currentBytes > maxBytes && entries.size() > 1) {
+            currentBytes -= iterator.next().getValue().estimateBytes();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        interned.clear();
+        current = new HashMap<>();
+        currentBytes = 0L;
+    }
+
+    /**
+     * Number of cached templates
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Estimated heap used by the cached templates
+     */
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Lookups served by an evicted template that turtles still kept alive
+     */
+    public synchronized long getInternHits() {
+        return internHits;
+    }
+
+    /**
+     * Number of templates the cache can still hand out, cached or only referenced
+     */
+    public synchronized int getInternedCount() {
+        expungeCollected();
+        return interned.size();
+    }
+
+    /**
+     * Fraction of lookups served from the cache
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0L ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Cache key: template id plus the hash of the file it was parsed from
+     */
+    public record Key(Identifier id, HashCode fileHash) {
+    }
+
+    /**
+     * A template together with the key it was parsed under
+     */
+    public record Entry(Key key, IslandTemplate template) {
+    }
+
+    /**
+     * Weak reference to an interned template that remembers its key for expunging
+     */
+    private static final class InternedTemplate extends WeakReference<IslandTemplate> {
+        private final Key key;
+
+        private InternedTemplate(Key key, IslandTemplate template, ReferenceQueue<IslandTemplate> queue) {
+            super(template, queue);
+            this.key = key;
+        }
+    }
+}
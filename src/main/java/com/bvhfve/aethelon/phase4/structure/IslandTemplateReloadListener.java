@@ -0,0 +1,97 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import net.fabricmc.fabric.api.resource.SimpleResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * IslandTemplateReloadListener - Prepares island templates off the main thread on data pack load
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Fabric SimpleResourceReloadListener, ResourceManager.findResources
+ * - Hooks into: Server data reload (startup and /reload)
+ * - Modifies: IslandLoader's current templates
+ *
+ * MODULE ROLE:
+ * - Purpose: Read, parse and validate every island file on the reload worker executor
+ * - Dependencies: IslandLoader, StructureValidator
+ * - Provides: Current island templates for the loaded data packs
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Resource reload API changes may require updates
+ *
+ * RELOAD STAGES:
+ * - Prepare (worker executor): every island file is read, hashed, decompressed,
+ *   parsed, validated and converted to the compact snapshot form as its own task, so
+ *   many islands prepare in parallel. Files whose contents are already cached are
+ *   only read and hashed. Results are staged in the Prepared map, not in the live
+ *   cache, so preparing cannot evict anything, including its own results.
+ * - Apply (server thread): only makes the staged templates current in IslandLoader;
+ *   its cache keeps as many of them as its byte budget allows.
+ * A file that fails to prepare is logged and left out; it does not fail the reload.
+ */
+public class IslandTemplateReloadListener implements SimpleResourceReloadListener<IslandTemplateReloadListener.Prepared> {
+
+    private static final Identifier ID = Identifier.of(AethelonCore.MOD_ID, "island_templates");
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
+
+    @Override
+    public CompletableFuture<Prepared> load(ResourceManager manager, Executor executor) {
+        return CompletableFuture.supplyAsync(
+            () -> manager.findResources(IslandLoader.getIslandDirectory(), IslandLoader::isIslandFile), executor
+        ).thenCompose(files -> {
+            Map<Identifier, IslandTemplateCache.Entry> templates = new ConcurrentHashMap<>();
+            Set<Identifier> failed = ConcurrentHashMap.newKeySet();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(files.size());
+
+            for (Map.Entry<Identifier, Resource> file : files.entrySet()) {
+                Identifier id = IslandLoader.toTemplateId(file.getKey());
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        templates.put(id, IslandLoader.prepare(id, file.getValue()));
+                    } catch (Exception e) {
+                        AethelonCore.LOGGER.error("Failed to prepare island template {} from {}", id, file.getKey(), e);
+                        failed.add(id);
+                    }
+                }, executor));
+            }
+
+            return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> new Prepared(templates, failed));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(Prepared prepared, ResourceManager manager, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            IslandLoader.applyReload(prepared.templates(), prepared.failed());
+            AethelonCore.LOGGER.info("Loaded {} island templates ({} failed)",
+                prepared.templates().size(), prepared.failed().size());
+        }, executor);
+    }
+
+    /**
+     * Result of the prepare stage
+     *
+     * @param templates Template of every island file that prepared successfully
+     * @param failed Island files that could not be prepared
+     */
+    public record Prepared(Map<Identifier, IslandTemplateCache.Entry> templates, Set<Identifier> failed) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.core.util.InjectableAethelonModule;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.minecraft.resource.ResourceType;
+
+import java.util.List;
+
+/**
+ * StructureModule - Coordinates island structure loading
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Server ResourceManager through IslandLoader
+ * - Hooks into: Server data reload listeners, AethelonEntity NBT (island instance save/load),
+ *   SERVER_STOPPED (pending island writes)
+ * - Modifies: Island storage files in the world save
+ *
+ * MODULE ROLE:
+ * - Purpose: Enable loading island .nbt files as shared templates
+ * - Dependencies: phase4 (main phase coordinator)
+ * - Provides: Structure availability flag for the entity and other modules
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Structure file format changes may require updates
+ *
+ * IMPLEMENTATION DETAILS:
+ * Every island file is parsed once into an immutable IslandTemplate that all turtles
+ * spawned from it share. A turtle's island is an IslandInstance: a reference to the
+ * template plus a sparse overlay of the blocks that differ from it, so spawning a
+ * turtle copies no block data at all. Parsed templates are kept in a byte-bounded
+ * LRU cache sized by PerformanceConfig.islandTemplateCacheBytes, and are prepared off
+ * the main thread by IslandTemplateReloadListener whenever data packs load. Islands
+ * are saved through IslandStorage in region shards next to the world's other data.
+ */
+public class StructureModule implements InjectableAethelonModule {
+
+    private static boolean active = false;
+    private static boolean listenerRegistered = false;
+    private static boolean eventsRegistered = false;
+
+    private boolean initialized = false;
+
+    @Override
+    public String getModuleName() {
+        return "phase4.structure";
+    }
+
+    @Override
+    public String getPhase() {
+        return "phase4";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return AethelonConfig.INSTANCE != null && AethelonConfig.INSTANCE.phases.phase4.isModuleEnabled("structure");
+    }
+
+    @Override
+    public void initialize() throws Exception {
+        if (!isEnabled()) {
+            AethelonCore.LOGGER.info("Phase 4 structure module is disabled, skipping initialization");
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Initializing Phase 4 structure module");
+
+        try {
+            IslandLoader.setCacheSize(AethelonConfig.INSTANCE.performance.islandTemplateCacheBytes);
+            registerReloadListener();
+            IslandStorage.start();
+            registerEvents();
+            active = true;
+            AethelonCore.LOGGER.info("Island template cache: {} KB",
+                AethelonConfig.INSTANCE.performance.islandTemplateCacheBytes / 1024L);
+
+            initialized = true;
+            AethelonCore.LOGGER.info("Phase 4 structure module initialization complete");
+
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to initialize Phase 4 structure module", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (!initialized) {
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Shutting down Phase 4 structure module");
+
+        active = false;
+        IslandStorage.stop();
+        IslandLoader.clear();
+
+        initialized = false;
+        AethelonCore.LOGGER.info("Phase 4 structure module shutdown complete");
+    }
+
+    /**
+     * Prepare island templates whenever server data packs load
+     * Reload listeners cannot be unregistered, so this only ever runs once
+     */
+    private static void registerReloadListener() {
+        if (listenerRegistered) {
+            return;
+        }
+        listenerRegistered = true;
+
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new IslandTemplateReloadListener());
+    }
+
+    /**
+     * Write island changes made after the final save and wait for every shard write
+     * before the server exits
+     */
+    private static void registerEvents() {
+        if (eventsRegistered) {
+            return;
+        }
+        eventsRegistered = true;
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            if (active) {
+                IslandStorage.get(server).flushOnStop();
+            }
+            IslandStorage.awaitWrites();
+        });
+    }
+
+    /**
+     * Check whether island structures are available
+     *
+     * @return true once the structure module has been initialized
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public List<String> getDependencies() {
+        return List.of("phase4");
+    }
+
+    @Override
+    public boolean isCompatibleWith(String minecraftVersion) {
+        return minecraftVersion.startsWith("1.21.4") ||
+               minecraftVersion.startsWith("1.21.5") ||
+               minecraftVersion.startsWith("1.22");
+    }
+
+    @Override
+    public String getRequiredFabricApiVersion() {
+        return "0.119.2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Island Structures - Shared island templates with per-turtle overlays";
+    }
+
+    @Override
+    public boolean supportsHotReload() {
+        return false;
+    }
+
+    @Override
+    public int getLoadPriority() {
+        // Sub-modules load after their phase coordinator
+        return 41;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bvhfve.aethelon.phase4.structure;
+
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import net.minecraft.block.OperatorBlock;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StructureValidator - Checks island templates before they are used
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: OperatorBlock (command, structure and jigsaw blocks)
+ * - Hooks into: IslandLoader and the island template reload listener
+ * - Modifies: None (read-only checks)
+ *
+ * MODULE ROLE:
+ * - Purpose: Reject island files that would break island movement or give players
+ *   operator-only blocks
+ * - Dependencies: AethelonConfig (Phase 5 island footprint)
+ * - Provides: Validation errors for a template
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * THREAD SAFETY:
+ * Stateless; safe to call from reload worker threads.
+ */
+public final class StructureValidator {
+
+    private StructureValidator() {
+    }
+
+    /**
+     * Validate a parsed template
+     *
+     * @param template Template to check
+     * @return Human-readable problems; empty if the template is usable
+     */
+    public static List<String> validate(IslandTemplate template) {
+        List<String> errors = new ArrayList<>();
+        IslandSnapshot snapshot = template.getSnapshot();
+        Vec3i size = snapshot.getSize();
+
+        if (snapshot.getBlockCount() == 0) {
+            errors.add("contains no blocks");
+        }
+
+        // Phase 5 moves a fixed footprint; anything outside it would be left behind
+        AethelonConfig.Phase5Config phase5 = AethelonConfig.INSTANCE.phases.phase5;
+        if (size.getX() > phase5.islandSizeX || size.getY() > phase5.islandSizeY || size.getZ() > phase5.islandSizeZ) {
+            errors.add("size " + size.toShortString() + " exceeds the island footprint " +
+                phase5.islandSizeX + ", " + phase5.islandSizeY + ", " + phase5.islandSizeZ);
+        }
+
+        int[] operatorBlocks = new int[1];
+        snapshot.forEachBlock((x, y, z, state) -> {
+            if (state.getBlock() instanceof OperatorBlock) {
+                if (operatorBlocks[0] == 0) {
+                    errors.add("contains operator-only block " + state.getBlock() + " at " + x + ", " + y + ", " + z);
+                }
+                operatorBlocks[0]++;
+            }
+        });
+        if (operatorBlocks[0] > 1) {
+            errors.add((operatorBlocks[0] - 1) + " more operator-only blocks");
+        }
+
+        return errors;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bvhfve.aethelon.phase5;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.core.util.AethelonModule;
+
+import java.util.List;
+
+/**
+ * Phase5Module - Main coordinator for Phase 5: Dynamic Island Movement
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: None directly (coordination layer)
+ * - Hooks into: Module loading system
+ * - Modifies: None (coordinates sub-modules)
+ *
+ * MODULE ROLE:
+ * - Purpose: Coordinate Phase 5 sub-modules (capture, placement, synchronization)
+ * - Dependencies: phase1 (entity foundation)
+ * - Provides: Phase 5 lifecycle management, sub-module coordination
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Sub-module interface changes may require updates
+ *
+ * PHASE 5 OVERVIEW:
+ * This phase moves the island carried by the Aethelon together with the turtle:
+ * - Capture: read the island into a compact palette-compressed snapshot
+ * - Placement: write the snapshot back at the turtle's new position
+ * - Synchronization: keep island and turtle aligned while it travels
+ *
+ * Phase 5 is disabled by default; it reads its settings from
+ * AethelonConfig.Phase5Config rather than going through the legacy ConfigManager.
+ */
+public class Phase5Module implements AethelonModule {
+
+    private boolean initialized = false;
+
+    @Override
+    public String getModuleName() {
+        return "phase5";
+    }
+
+    @Override
+    public String getPhase() {
+        return "phase5";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return AethelonConfig.INSTANCE != null && AethelonConfig.INSTANCE.phases.phase5.enabled;
+    }
+
+    @Override
+    public void initialize() throws Exception {
+        if (!isEnabled()) {
+            AethelonCore.LOGGER.info("Phase 5 is disabled, skipping initialization");
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Initializing Phase 5: Dynamic Island Movement");
+
+        try {
+            // Phase 5 initialization is handled by sub-modules:
+            // - phase5.capture: Island capture into IslandSnapshot
+            // - phase5.placement: Island placement at the destination
+            // - phase5.synchronization: Island/turtle movement synchronization
+
+            initialized = true;
+            AethelonCore.LOGGER.info("Phase 5 initialization complete");
+
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to initialize Phase 5", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (!initialized) {
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Shutting down Phase 5");
+
+        // Sub-modules handle their own shutdown
+
+        initialized = false;
+        AethelonCore.LOGGER.info("Phase 5 shutdown complete");
+    }
+
+    @Override
+    public List<String> getDependencies() {
+        // Phase 5 moves the Phase 1 entity's island
+        return List.of("phase1");
+    }
+
+    @Override
+    public boolean isCompatibleWith(String minecraftVersion) {
+        return minecraftVersion.startsWith("1.21.4") ||
+               minecraftVersion.startsWith("1.21.5") ||
+               minecraftVersion.startsWith("1.22");
+    }
+
+    @Override
+    public String getRequiredFabricApiVersion() {
+        return "0.119.2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Dynamic Island Movement - Captures and re-places the turtle's island as it moves";
+    }
+
+    @Override
+    public boolean supportsHotReload() {
+        return false;
+    }
+
+    @Override
+    public int getLoadPriority() {
+        return 50;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bvhfve.aethelon.phase5.capture;
+
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.World;
+
+/**
+ * BlockCapture - Individual block capture logic and island footprint calculation
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: World block access, BlockEntity NBT serialization
+ * - Hooks into: None (called by ChunkCapture and MovementSync)
+ * - Modifies: None (read-only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Capture single blocks and compute the island volume around a turtle
+ * - Dependencies: AethelonConfig (Phase 5 island dimensions)
+ * - Provides: Island bounding box, single-block and block entity capture
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+ (uses registry-aware BlockEntity NBT APIs)
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: BlockEntity serialization changes may require updates
+ */
+public class BlockCapture {
+
+    /**
+     * Compute the island volume carried by a turtle standing at the given anchor
+     * The island is centered on the anchor horizontally and starts islandOffsetY above it
+     *
+     * @param anchor Block position of the turtle
+     * @return Inclusive bounding box of the island
+     */
+    public static BlockBox getIslandBox(BlockPos anchor) {
+        AethelonConfig.Phase5Config config = AethelonConfig.INSTANCE.phases.phase5;
+        BlockPos min = getIslandOrigin(anchor, new Vec3i(config.islandSizeX, config.islandSizeY, config.islandSizeZ));
+        return new BlockBox(
+            min.getX(), min.getY(), min.getZ(),
+            min.getX() + config.islandSizeX - 1,
+            min.getY() + config.islandSizeY - 1,
+            min.getZ() + config.islandSizeZ - 1
+        );
+    }
+
+    /**
+     * Get the minimum corner of an island of the given size carried at an anchor
+     * The island is centered on the anchor horizontally, so rotated islands whose X and Z
+     * sizes are swapped stay centered as well
+     *
+     * @param anchor Turtle block position
+     * @param size Island size in its current orientation
+     * @return World position of the island's minimum corner
+     */
+    public static BlockPos getIslandOrigin(BlockPos anchor, Vec3i size) {
+        return new BlockPos(
+            anchor.getX() - size.getX() / 2,
+            anchor.getY() + AethelonConfig.INSTANCE.phases.phase5.islandOffsetY,
+            anchor.getZ() - size.getZ() / 2
+        );
+    }
+
+    /**
+     * Capture a single block into a snapshot builder
+     * This is the slow path; ChunkCapture reads whole sections instead
+     *
+     * @param world World to read from
+     * @param origin Minimum corner of the island
+     * @param pos World position of the block
+     * @param builder Snapshot builder receiving the block
+     */
+    public static void captureBlock(World world, BlockPos origin, BlockPos pos, IslandSnapshot.Builder builder) {
+        BlockState state = world.getBlockState(pos);
+        if (state.isAir()) {
+            return;
+        }
+
+        int x = pos.getX() - origin.getX();
+        int y = pos.getY() - origin.getY();
+        int z = pos.getZ() - origin.getZ();
+        builder.setBlockState(x, y, z, state);
+
+        if (state.hasBlockEntity()) {
+            BlockEntity blockEntity = world.getBlockEntity(pos);
+            if (blockEntity != null) {
+                builder.setBlockEntityNbt(x, y, z, captureBlockEntity(blockEntity, world.getRegistryManager()));
+            }
+        }
+    }
+
+    /**
+     * Serialize a block entity including its type id so it can be recreated anywhere
+     *
+     * @param blockEntity Block entity to serialize
+     * @param registries Registry lookup for item and component serialization
+     * @return NBT with identifying data (position is rewritten on placement)
+     */
+    public static NbtCompound captureBlockEntity(BlockEntity blockEntity, RegistryWrapper.WrapperLookup registries) {
+        return blockEntity.createNbtWithIdentifyingData(registries);
+    }
+}
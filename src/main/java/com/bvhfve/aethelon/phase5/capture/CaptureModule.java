@@ -0,0 +1,129 @@
+package com.bvhfve.aethelon.phase5.capture;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.core.util.InjectableAethelonModule;
+
+import java.util.List;
+
+/**
+ * CaptureModule - Coordinates island block capture
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkSection reads through ChunkCapture
+ * - Hooks into: AethelonEntity tick (island capture before movement)
+ * - Modifies: None (capture is read-only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Enable the capture path that turns an island into an IslandSnapshot
+ * - Dependencies: phase5 (main phase coordinator)
+ * - Provides: Capture availability flag for the entity and other Phase 5 modules
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * IMPLEMENTATION DETAILS:
+ * Captured islands are stored as palette-compressed IslandSnapshots (per-section
+ * palette, bit-packed indices, occupancy bitset) rather than per-block NBT, so a
+ * 64x64x48 island costs a few hundred KB instead of tens of MB of short-lived objects.
+ */
+public class CaptureModule implements InjectableAethelonModule {
+
+    private static boolean active = false;
+
+    private boolean initialized = false;
+
+    @Override
+    public String getModuleName() {
+        return "phase5.capture";
+    }
+
+    @Override
+    public String getPhase() {
+        return "phase5";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return AethelonConfig.INSTANCE != null && AethelonConfig.INSTANCE.phases.phase5.isModuleEnabled("capture");
+    }
+
+    @Override
+    public void initialize() throws Exception {
+        if (!isEnabled()) {
+            AethelonCore.LOGGER.info("Phase 5 capture module is disabled, skipping initialization");
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Initializing Phase 5 capture module");
+
+        try {
+            active = true;
+
+            initialized = true;
+            AethelonCore.LOGGER.info("Phase 5 capture module initialization complete");
+
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to initialize Phase 5 capture module", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (!initialized) {
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Shutting down Phase 5 capture module");
+
+        active = false;
+
+        initialized = false;
+        AethelonCore.LOGGER.info("Phase 5 capture module shutdown complete");
+    }
+
+    /**
+     * Check whether island capture is available
+     *
+     * @return true once the capture module has been initialized
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public List<String> getDependencies() {
+        return List.of("phase5");
+    }
+
+    @Override
+    public boolean isCompatibleWith(String minecraftVersion) {
+        return minecraftVersion.startsWith("1.21.4") ||
+               minecraftVersion.startsWith("1.21.5") ||
+               minecraftVersion.startsWith("1.22");
+    }
+
+    @Override
+    public String getRequiredFabricApiVersion() {
+        return "0.119.2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Island Capture - Captures island blocks into palette-compressed snapshots";
+    }
+
+    @Override
+    public boolean supportsHotReload() {
+        return false;
+    }
+
+    @Override
+    public int getLoadPriority() {
+        // Sub-modules load after their phase coordinator
+        return 51;
+    }
+}
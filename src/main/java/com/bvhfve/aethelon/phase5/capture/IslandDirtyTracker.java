@@ -0,0 +1,245 @@
+package com.bvhfve.aethelon.phase5.capture;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * IslandDirtyTracker - Records which island sections changed since the last capture
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ServerWorld block change callback (ServerWorldMixin)
+ * - Hooks into: Every block change that goes through World.setBlockState on the server
+ * - Modifies: None (bookkeeping only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Let capture re-read only the 16x16x16 island sections that were edited
+ * - Dependencies: None
+ * - Provides: Tracked regions with a dirty bit per island section, change counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Changes to ServerWorld.onBlockChanged require mixin updates
+ *
+ * HOW IT WORKS:
+ * Each captured island registers its world box as a Region. Regions are indexed by
+ * the chunks they overlap, so a block change anywhere in the world costs one map
+ * lookup, and nothing at all while no island is tracked. A change inside a region
+ * sets the bit of the island section it falls in; the bits use the same section grid
+ * and index order as IslandSnapshot (aligned to the island origin, not to chunks).
+ * Island writes made by BlockPlacer are suppressed so a move does not mark its own
+ * destination dirty. Direct chunk section writes never reach the callback at all.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class IslandDirtyTracker {
+
+    private static final Map<ServerWorld, Long2ObjectOpenHashMap<List<Region>>> INDEX = new WeakHashMap<>();
+
+    private static int trackedRegions = 0;
+    private static int suppressDepth = 0;
+
+    // Statistics (server thread only)
+    private static long sectionsMarked = 0L;
+    private static long sectionsRefreshed = 0L;
+    private static long sectionsReused = 0L;
+
+    private IslandDirtyTracker() {
+    }
+
+    /**
+     * Start tracking changes inside an island box
+     *
+     * @param world World the island is in
+     * @param box Island box; its minimum corner is the section grid origin
+     * @return Region handle, clean
+     */
+    public static Region track(ServerWorld world, BlockBox box) {
+        Region region = new Region(world);
+        region.setBox(box);
+        index(region);
+        trackedRegions++;
+        return region;
+    }
+
+    /**
+     * Stop tracking a region
+     */
+    public static void untrack(Region region) {
+        if (region.box == null) {
+            return;
+        }
+        unindex(region);
+        region.box = null;
+        trackedRegions--;
+    }
+
+    /**
+     * Called for every server-side block change
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos) {
+        if (trackedRegions == 0 || suppressDepth > 0) {
+            return;
+        }
+        Long2ObjectOpenHashMap<List<Region>> chunks = INDEX.get(world);
+        if (chunks == null) {
+            return;
+        }
+        List<Region> regions = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (regions == null) {
+            return;
+        }
+        for (Region region : regions) {
+            region.mark(pos);
+        }
+    }
+
+    /**
+     * Ignore block changes until the matching endSuppress() call
+     * Used around island writes, which are already reflected in the island's snapshot
+     */
+    public static void beginSuppress() {
+        suppressDepth++;
+    }
+
+    public static void endSuppress() {
+        suppressDepth--;
+    }
+
+    /**
+     * Record the outcome of a dirty-section refresh
+     */
+    static void recordRefresh(int refreshed, int reused) {
+        sectionsRefreshed += refreshed;
+        sectionsReused += reused;
+    }
+
+    private static void index(Region region) {
+        Long2ObjectOpenHashMap<List<Region>> chunks = INDEX.computeIfAbsent(region.world, world -> new Long2ObjectOpenHashMap<>());
+        BlockBox box = region.box;
+        for (int chunkX = box.getMinX() >> 4; chunkX <= box.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = box.getMinZ() >> 4; chunkZ <= box.getMaxZ() >> 4; chunkZ++) {
+                chunks.computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ), key -> new ArrayList<>(1)).add(region);
+            }
+        }
+    }
+
+    private static void unindex(Region region) {
+        Long2ObjectOpenHashMap<List<Region>> chunks = INDEX.get(region.world);
+        if (chunks == null) {
+            return;
+        }
+        BlockBox box = region.box;
+        for (int chunkX = box.getMinX() >> 4; chunkX <= box.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = box.getMinZ() >> 4; chunkZ <= box.getMaxZ() >> 4; chunkZ++) {
+                long key = ChunkPos.toLong(chunkX, chunkZ);
+                List<Region> regions = chunks.get(key);
+                if (regions != null && regions.remove(region) && regions.isEmpty()) {
+                    chunks.remove(key);
+                }
+            }
+        }
+    }
+
+    public static int getTrackedRegions() {
+        return trackedRegions;
+    }
+
+    /**
+     * Island sections marked dirty by block changes
+     */
+    public static long getSectionsMarked() {
+        return sectionsMarked;
+    }
+
+    /**
+     * Island sections re-read from the world by a refresh
+     */
+    public static long getSectionsRefreshed() {
+        return sectionsRefreshed;
+    }
+
+    /**
+     * Island sections a refresh kept from the cached snapshot instead of re-reading
+     */
+    public static long getSectionsReused() {
+        return sectionsReused;
+    }
+
+    /**
+     * One tracked island box and its dirty sections
+     */
+    public static final class Region {
+        private final ServerWorld world;
+        private final BitSet dirty = new BitSet();
+        private BlockBox box;
+        private int sectionsX;
+        private int sectionsZ;
+
+        private Region(ServerWorld world) {
+            this.world = world;
+        }
+
+        private void setBox(BlockBox box) {
+            this.box = box;
+            this.sectionsX = (box.getBlockCountX() + 15) >> 4;
+            this.sectionsZ = (box.getBlockCountZ() + 15) >> 4;
+            dirty.clear();
+        }
+
+        /**
+         * Follow the island to a new box; the region starts clean there
+         */
+        public void moveTo(BlockBox box) {
+            if (this.box == null) {
+                return;
+            }
+            unindex(this);
+            setBox(box);
+            index(this);
+        }
+
+        private void mark(BlockPos pos) {
+            if (!box.contains(pos)) {
+                return;
+            }
+            int sx = (pos.getX() - box.getMinX()) >> 4;
+            int sy = (pos.getY() - box.getMinY()) >> 4;
+            int sz = (pos.getZ() - box.getMinZ()) >> 4;
+            int index = (sy * sectionsZ + sz) * sectionsX + sx;
+            if (!dirty.get(index)) {
+                dirty.set(index);
+                sectionsMarked++;
+            }
+        }
+
+        public boolean isDirty() {
+            return !dirty.isEmpty();
+        }
+
+        /**
+         * Dirty island sections, by IslandSnapshot section index (not copied)
+         */
+        public BitSet getDirtySections() {
+            return dirty;
+        }
+
+        public void clear() {
+            dirty.clear();
+        }
+
+        public BlockBox getBox() {
+            return box;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.bvhfve.aethelon.phase5.capture;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.Vec3i;
+
+/**
+ * IslandSnapshot - Immutable, palette-compressed capture of an island volume
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: BlockState, NbtCompound (block entity data only)
+ * - Hooks into: None (pure data structure)
+ * - Modifies: None (read-only after build)
+ *
+ * MODULE ROLE:
+ * - Purpose: Hold a captured island in island-local coordinates
+ * - Dependencies: SectionSnapshot
+ * - Provides: Block lookup, occupied-block iteration, memory estimation
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * STORAGE DESIGN:
+ * The island is split into a grid of 16x16x16 sections aligned to the island origin,
+ * not to world chunks, so a snapshot does not depend on where the island stands.
+ * Each section keeps its own BlockState palette, bit-packed indices and an occupancy
+ * bitset; all-air sections are not stored at all. Block entities are rare, so their
+ * NBT is kept in a sparse map keyed by packed local position. Because the snapshot is
+ * immutable it can be shared between move stages without copying.
+ */
+public final class IslandSnapshot {
+
+    private final Vec3i size;
+    private final int sectionsX;
+    private final int sectionsY;
+    private final int sectionsZ;
+    private final SectionSnapshot[] sections;
+    private final Int2ObjectMap<NbtCompound> blockEntities;
+    private final int blockCount;
+
+    private IslandSnapshot(Vec3i size, SectionSnapshot[] sections, Int2ObjectMap<NbtCompound> blockEntities) {
+        this.size = size;
+        this.sectionsX = sectionCount(size.getX());
+        this.sectionsY = sectionCount(size.getY());
+        this.sectionsZ = sectionCount(size.getZ());
+        this.sections = sections;
+        this.blockEntities = Int2ObjectMaps.unmodifiable(blockEntities);
+
+        int count = 0;
+        for (SectionSnapshot section : sections) {
+            if (section != null) {
+                count += section.getNonAirCount();
+            }
+        }
+        this.blockCount = count;
+    }
+
+    private static int sectionCount(int length) {
+        return (length + SectionSnapshot.SIZE - 1) >> 4;
+    }
+
+    public Vec3i getSize() {
+        return size;
+    }
+
+    public int getSectionsX() {
+        return sectionsX;
+    }
+
+    public int getSectionsY() {
+        return sectionsY;
+    }
+
+    public int getSectionsZ() {
+        return sectionsZ;
+    }
+
+    /**
+     * Get a section by section-grid coordinates
+     *
+     * @return The section, or null if it contains only air
+     */
+    public SectionSnapshot getSection(int sx, int sy, int sz) {
+        if (sx < 0 || sy < 0 || sz < 0 || sx >= sectionsX || sy >= sectionsY || sz >= sectionsZ) {
+            return null;
+        }
+        return sections[sectionIndex(sx, sy, sz)];
+    }
+
+    private int sectionIndex(int sx, int sy, int sz) {
+        return (sy * sectionsZ + sz) * sectionsX + sx;
+    }
+
+    /**
+     * Get the block state at island-local coordinates
+     *
+     * @return Stored state, or air outside the island or in empty cells
+     */
+    public BlockState getBlockState(int x, int y, int z) {
+        SectionSnapshot section = getSection(x >> 4, y >> 4, z >> 4);
+        if (section == null || !contains(x, y, z)) {
+            return Blocks.AIR.getDefaultState();
+        }
+        return section.get(x & 15, y & 15, z & 15);
+    }
+
+    public boolean isOccupied(int x, int y, int z) {
+        SectionSnapshot section = getSection(x >> 4, y >> 4, z >> 4);
+        return section != null && contains(x, y, z) && section.isOccupied(x & 15, y & 15, z & 15);
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= 0 && y >= 0 && z >= 0 && x < size.getX() && y < size.getY() && z < size.getZ();
+    }
+
+    /**
+     * Iterate over every non-air block in island-local coordinates
+     * Empty sections and air cells are skipped without being visited
+     */
+    public void forEachBlock(SectionSnapshot.CellConsumer consumer) {
+        for (int sy = 0; sy < sectionsY; sy++) {
+            for (int sz = 0; sz < sectionsZ; sz++) {
+                for (int sx = 0; sx < sectionsX; sx++) {
+                    SectionSnapshot section = sections[sectionIndex(sx, sy, sz)];
+                    if (section == null) {
+                        continue;
+                    }
+                    int baseX = sx << 4;
+                    int baseY = sy << 4;
+                    int baseZ = sz << 4;
+                    section.forEachOccupied((x, y, z, state) ->
+                        consumer.accept(baseX + x, baseY + y, baseZ + z, state));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get captured block entity data for an island-local position
+     *
+     * @return Block entity NBT, or null if the block has no block entity
+     */
+    public NbtCompound getBlockEntityNbt(int x, int y, int z) {
+        return blockEntities.get(packLocal(x, y, z));
+    }
+
+    /**
+     * All captured block entity data keyed by packed local position
+     *
+     * @see #unpackX(int)
+     */
+    public Int2ObjectMap<NbtCompound> getBlockEntities() {
+        return blockEntities;
+    }
+
+    /**
+     * Pack island-local coordinates into a single int (10 bits per axis)
+     */
+    public static int packLocal(int x, int y, int z) {
+        return (y << 20) | (z << 10) | x;
+    }
+
+    public static int unpackX(int packed) {
+        return packed & 1023;
+    }
+
+    public static int unpackY(int packed) {
+        return packed >>> 20;
+    }
+
+    public static int unpackZ(int packed) {
+        return (packed >>> 10) & 1023;
+    }
+
+    /**
+     * Create a copy with some cells replaced
+     * Only sections containing a change are rebuilt; every other section is shared
+     * with this snapshot, so a handful of changes costs a handful of sections
+     *
+     * @param changes New states keyed by packed local position; air clears the cell
+     * @param blockEntities Block entity data for the copy, keyed by packed local position
+     * @return New snapshot of the same size
+     */
+    public IslandSnapshot withChanges(Int2ObjectMap<BlockState> changes, Int2ObjectMap<NbtCompound> blockEntities) {
+        SectionSnapshot[] copy = sections.clone();
+        Int2ObjectMap<SectionSnapshot.Builder> touched = new Int2ObjectOpenHashMap<>();
+
+        for (Int2ObjectMap.Entry<BlockState> change : changes.int2ObjectEntrySet()) {
+            int packed = change.getIntKey();
+            int x = unpackX(packed);
+            int y = unpackY(packed);
+            int z = unpackZ(packed);
+            if (!contains(x, y, z)) {
+                continue;
+            }
+            int index = sectionIndex(x >> 4, y >> 4, z >> 4);
+            SectionSnapshot.Builder builder = touched.get(index);
+            if (builder == null) {
+                builder = sections[index] != null ? SectionSnapshot.builder(sections[index]) : SectionSnapshot.builder();
+                touched.put(index, builder);
+            }
+            builder.set(x & 15, y & 15, z & 15, change.getValue());
+        }
+
+        for (Int2ObjectMap.Entry<SectionSnapshot.Builder> entry : touched.int2ObjectEntrySet()) {
+            SectionSnapshot.Builder builder = entry.getValue();
+            copy[entry.getIntKey()] = builder.isEmpty() ? null : builder.build();
+        }
+        return new IslandSnapshot(size, copy, new Int2ObjectOpenHashMap<>(blockEntities));
+    }
+
+    /**
+     * Create a copy with whole sections replaced, sharing every other section
+     *
+     * @param replaced New sections keyed by section index; null values mark empty sections
+     * @param blockEntities Block entity data for the copy, keyed by packed local position
+     */
+    IslandSnapshot withSections(Int2ObjectMap<SectionSnapshot> replaced, Int2ObjectMap<NbtCompound> blockEntities) {
+        SectionSnapshot[] copy = sections.clone();
+        for (Int2ObjectMap.Entry<SectionSnapshot> entry : replaced.int2ObjectEntrySet()) {
+            SectionSnapshot section = entry.getValue();
+            copy[entry.getIntKey()] = section != null && !section.isEmpty() ? section : null;
+        }
+        return new IslandSnapshot(size, copy, new Int2ObjectOpenHashMap<>(blockEntities));
+    }
+
+    /**
+     * Number of non-air blocks in the snapshot
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Rough heap footprint of this snapshot, used for memory accounting
+     *
+     * @return Estimated size in bytes
+     */
+    public long estimateBytes() {
+        long bytes = 64L + sections.length * 8L;
+        for (SectionSnapshot section : sections) {
+            if (section != null) {
+                bytes += section.estimateBytes();
+            }
+        }
+        // NBT size is not cheaply measurable; assume a modest per-entry cost
+        bytes += blockEntities.size() * 512L;
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "IslandSnapshot{size=" + size.toShortString() + ", blocks=" + blockCount +
+               ", blockEntities=" + blockEntities.size() + ", bytes~" + estimateBytes() + "}";
+    }
+
+    /**
+     * Create a builder for an island of the given size
+     */
+    public static Builder builder(Vec3i size) {
+        return new Builder(size);
+    }
+
+    /**
+     * Mutable builder used while capturing; section builders are only created on demand
+     */
+    public static final class Builder {
+        private final Vec3i size;
+        private final int sectionsX;
+        private final int sectionsY;
+        private final int sectionsZ;
+        private final SectionSnapshot.Builder[] sectionBuilders;
+        private final Int2ObjectMap<NbtCompound> blockEntities = new Int2ObjectOpenHashMap<>();
+
+        private Builder(Vec3i size) {
+            if (size.getX() > 1024 || size.getY() > 1024 || size.getZ() > 1024) {
+                throw new IllegalArgumentException("Island size exceeds 1024 blocks on an axis: " + size);
+            }
+            this.size = size;
+            this.sectionsX = sectionCount(size.getX());
+            this.sectionsY = sectionCount(size.getY());
+            this.sectionsZ = sectionCount(size.getZ());
+            this.sectionBuilders = new SectionSnapshot.Builder[sectionsX * sectionsY * sectionsZ];
+        }
+
+        /**
+         * Record a block at island-local coordinates
+         * Air is ignored unless it overwrites a previously recorded block
+         */
+        public Builder setBlockState(int x, int y, int z, BlockState state) {
+            int index = (((y >> 4) * sectionsZ) + (z >> 4)) * sectionsX + (x >> 4);
+            SectionSnapshot.Builder section = sectionBuilders[index];
+            if (section == null) {
+                if (state.isAir()) {
+                    return this;
+                }
+                section = SectionSnapshot.builder();
+                sectionBuilders[index] = section;
+            }
+            section.set(x & 15, y & 15, z & 15, state);
+            return this;
+        }
+
+        /**
+         * Record block entity data at island-local coordinates
+         */
+        public Builder setBlockEntityNbt(int x, int y, int z, NbtCompound nbt) {
+            blockEntities.put(packLocal(x, y, z), nbt);
+            return this;
+        }
+
+        /**
+         * Block entity data recorded so far (not copied)
+         */
+        Int2ObjectMap<NbtCompound> getBlockEntities() {
+            return blockEntities;
+        }
+
+        public IslandSnapshot build() {
+            SectionSnapshot[] sections = new SectionSnapshot[sectionBuilders.length];
+            for (int i = 0; i < sectionBuilders.length; i++) {
+                SectionSnapshot.Builder section = sectionBuilders[i];
+                if (section != null && !section.isEmpty()) {
+                    sections[i] = section.build();
+                }
+            }
+            return new IslandSnapshot(size, sections, new Int2ObjectOpenHashMap<>(blockEntities));
+        }
+    }
+}
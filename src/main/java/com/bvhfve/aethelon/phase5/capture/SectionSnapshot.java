@@ -0,0 +1,302 @@
+package com.bvhfve.aethelon.phase5.capture;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SectionSnapshot - Immutable, palette-compressed copy of one 16x16x16 island section
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: BlockState (palette entries), same yzx index order as vanilla ChunkSection
+ * - Hooks into: None (pure data structure)
+ * - Modifies: None (read-only after build)
+ *
+ * MODULE ROLE:
+ * - Purpose: Store one island section with a local BlockState palette and bit-packed indices
+ * - Dependencies: None
+ * - Provides: Compact section storage for IslandSnapshot
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected (only relies on BlockState identity)
+ *
+ * STORAGE LAYOUT:
+ * - Palette index 0 is always air, so unset entries need no storage
+ * - Indices are packed into longs with no entry spanning two longs (vanilla-style)
+ * - An occupancy bitset (64 longs) marks non-air cells so iteration skips air entirely
+ */
+public final class SectionSnapshot {
+
+    public static final int SIZE = 16;
+    public static final int VOLUME = SIZE * SIZE * SIZE;
+
+    private static final int OCCUPANCY_WORDS = VOLUME / Long.SIZE;
+
+    private final BlockState[] palette;
+    private final int bitsPerEntry;
+    private final int entriesPerLong;
+    private final long mask;
+    private final long[] data;
+    private final long[] occupancy;
+    private final int nonAirCount;
+
+    private SectionSnapshot(BlockState[] palette, int bitsPerEntry, long[] data, long[] occupancy, int nonAirCount) {
+        this.palette = palette;
+        this.bitsPerEntry = bitsPerEntry;
+        this.entriesPerLong = Long.SIZE / bitsPerEntry;
+        this.mask = (1L << bitsPerEntry) - 1L;
+        this.data = data;
+        this.occupancy = occupancy;
+        this.nonAirCount = nonAirCount;
+    }
+
+    /**
+     * Get the cell index for section-local coordinates
+     * Uses the same y, z, x ordering as vanilla ChunkSection
+     */
+    public static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * Get the block state at section-local coordinates
+     *
+     * @return Stored state, or air for unoccupied cells
+     */
+    public BlockState get(int x, int y, int z) {
+        return get(index(x, y, z));
+    }
+
+    /**
+     * Get the block state at a cell index
+     */
+    public BlockState get(int index) {
+        if (!isOccupied(index)) {
+            return Blocks.AIR.getDefaultState();
+        }
+        return palette[getPaletteIndex(index)];
+    }
+
+    /**
+     * Get the raw palette index stored for a cell
+     */
+    public int getPaletteIndex(int index) {
+        int word = index / entriesPerLong;
+        int shift = (index - word * entriesPerLong) * bitsPerEntry;
+        return (int) ((data[word] >>> shift) & mask);
+    }
+
+    public boolean isOccupied(int x, int y, int z) {
+        return isOccupied(index(x, y, z));
+    }
+
+    public boolean isOccupied(int index) {
+        return (occupancy[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    /**
+     * Iterate over every non-air cell, skipping empty words of the occupancy bitset
+     *
+     * @param consumer Receives section-local coordinates and the stored state
+     */
+    public void forEachOccupied(CellConsumer consumer) {
+        for (int word = 0; word < OCCUPANCY_WORDS; word++) {
+            long bits = occupancy[word];
+            while (bits != 0L) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1L;
+                consumer.accept(index & 15, index >>> 8, (index >>> 4) & 15, palette[getPaletteIndex(index)]);
+            }
+        }
+    }
+
+    /**
+     * Iterate over every non-air cell, reporting states from a substitute palette
+     * Lets callers transform each palette entry once (e.g. rotate it) instead of once per cell
+     *
+     * @param consumer Receives section-local coordinates and the substituted state
+     * @param substitutePalette Replacement for each palette index; at least getPaletteSize() long
+     */
+    public void forEachOccupied(CellConsumer consumer, BlockState[] substitutePalette) {
+        for (int word = 0; word < OCCUPANCY_WORDS; word++) {
+            long bits = occupancy[word];
+            while (bits != 0L) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1L;
+                consumer.accept(index & 15, index >>> 8, (index >>> 4) & 15, substitutePalette[getPaletteIndex(index)]);
+            }
+        }
+    }
+
+    /**
+     * Check whether another section holds the same state in every cell
+     * Palettes may differ in order; states are compared by identity.
+     */
+    public boolean hasSameBlocks(SectionSnapshot other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null || other.nonAirCount != nonAirCount || !Arrays.equals(other.occupancy, occupancy)) {
+            return false;
+        }
+        for (int word = 0; word < OCCUPANCY_WORDS; word++) {
+            long bits = occupancy[word];
+            while (bits != 0L) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1L;
+                if (palette[getPaletteIndex(index)] != other.palette[other.getPaletteIndex(index)]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int getNonAirCount() {
+        return nonAirCount;
+    }
+
+    public boolean isEmpty() {
+        return nonAirCount == 0;
+    }
+
+    public int getPaletteSize() {
+        return palette.length;
+    }
+
+    public BlockState getPaletteEntry(int paletteIndex) {
+        return palette[paletteIndex];
+    }
+
+    public int getBitsPerEntry() {
+        return bitsPerEntry;
+    }
+
+    /**
+     * Direct access to the packed index array (not copied, must not be modified)
+     * Used by the placement and network layers to avoid re-encoding
+     */
+    long[] getPackedData() {
+        return data;
+    }
+
+    /**
+     * Direct access to the occupancy bitset (not copied, must not be modified)
+     */
+    long[] getOccupancyWords() {
+        return occupancy;
+    }
+
+    /**
+     * Rough heap footprint of this section, used for memory accounting
+     *
+     * @return Estimated size in bytes
+     */
+    public long estimateBytes() {
+        return 48L + palette.length * 8L + data.length * 8L + occupancy.length * 8L;
+    }
+
+    /**
+     * Create a builder for a new section snapshot
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a builder pre-filled with the cells of an existing section
+     */
+    public static Builder builder(SectionSnapshot source) {
+        Builder builder = new Builder();
+        source.forEachOccupied(builder::set);
+        return builder;
+    }
+
+    /**
+     * Receives one occupied cell during iteration
+     */
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(int x, int y, int z, BlockState state);
+    }
+
+    /**
+     * Mutable builder used during capture; discarded once the snapshot is built
+     */
+    public static final class Builder {
+        private final Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+        private final List<BlockState> paletteEntries = new ArrayList<>();
+        private final short[] indices = new short[VOLUME];
+        private final long[] occupancy = new long[OCCUPANCY_WORDS];
+        private int nonAirCount = 0;
+
+        private Builder() {
+            paletteLookup.defaultReturnValue(-1);
+            paletteEntries.add(Blocks.AIR.getDefaultState());
+        }
+
+        /**
+         * Set a cell; air states clear the cell
+         */
+        public Builder set(int x, int y, int z, BlockState state) {
+            int index = index(x, y, z);
+            boolean wasOccupied = (occupancy[index >>> 6] & (1L << index)) != 0L;
+
+            if (state.isAir()) {
+                if (wasOccupied) {
+                    occupancy[index >>> 6] &= ~(1L << index);
+                    indices[index] = 0;
+                    nonAirCount--;
+                }
+                return this;
+            }
+
+            int paletteIndex = paletteLookup.getInt(state);
+            if (paletteIndex == -1) {
+                paletteIndex = paletteEntries.size();
+                paletteEntries.add(state);
+                paletteLookup.put(state, paletteIndex);
+            }
+
+            indices[index] = (short) paletteIndex;
+            if (!wasOccupied) {
+                occupancy[index >>> 6] |= 1L << index;
+                nonAirCount++;
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return nonAirCount == 0;
+        }
+
+        /**
+         * Pack the collected cells into an immutable snapshot
+         */
+        public SectionSnapshot build() {
+            BlockState[] palette = paletteEntries.toArray(new BlockState[0]);
+            int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(palette.length - 1));
+            int perLong = Long.SIZE / bits;
+            long[] data = new long[(VOLUME + perLong - 1) / perLong];
+
+            if (palette.length > 1) {
+                for (int index = 0; index < VOLUME; index++) {
+                    int value = indices[index];
+                    if (value != 0) {
+                        int word = index / perLong;
+                        int shift = (index - word * perLong) * bits;
+                        data[word] |= ((long) value) << shift;
+                    }
+                }
+            }
+
+            return new SectionSnapshot(palette, bits, data, occupancy.clone(), nonAirCount);
+        }
+    }
+}
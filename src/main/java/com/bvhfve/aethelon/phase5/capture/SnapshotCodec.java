@@ -0,0 +1,247 @@
+package com.bvhfve.aethelon.phase5.capture;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.math.Vec3i;
+
+/**
+ * SnapshotCodec - Serialized forms of an IslandSnapshot
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: NbtHelper block state serialization, raw block state ids, PacketByteBuf
+ * - Hooks into: None (pure functions)
+ * - Modifies: None
+ *
+ * MODULE ROLE:
+ * - Purpose: Save a snapshot with its owner, or send one to clients
+ * - Dependencies: IslandSnapshot, SectionSnapshot
+ * - Provides: NBT form (with block entities) and network form (blocks only)
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Raw state ids are only stable within one game session; the
+ *   network form must never be saved
+ *
+ * FORMAT:
+ * Both forms store the snapshot section by section, as the snapshot already holds it:
+ * the section's palette, then the palette index of all 4096 cells bit-packed into longs
+ * with the smallest width that fits the palette (empty cells are index 0, which is
+ * always air). The NBT form names palette entries through NbtHelper so it survives
+ * registry changes; the network form uses raw state ids.
+ */
+public final class SnapshotCodec {
+
+    private static final int MAX_AXIS = 1024;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Save a snapshot including its block entity data
+     */
+    public static NbtCompound writeNbt(IslandSnapshot snapshot) {
+        NbtList sections = new NbtList();
+        forEachSection(snapshot, (sx, sy, sz, section) -> {
+            NbtList palette = new NbtList();
+            for (int i = 0; i < section.getPaletteSize(); i++) {
+                palette.add(NbtHelper.fromBlockState(section.getPaletteEntry(i)));
+            }
+            NbtCompound sectionNbt = new NbtCompound();
+            sectionNbt.putIntArray("Pos", new int[]{sx, sy, sz});
+            sectionNbt.put("Palette", palette);
+            sectionNbt.putLongArray("Data", packIndices(section));
+            sections.add(sectionNbt);
+        });
+
+        NbtList blockEntities = new NbtList();
+        for (Int2ObjectMap.Entry<NbtCompound> entry : snapshot.getBlockEntities().int2ObjectEntrySet()) {
+            NbtCompound blockEntity = new NbtCompound();
+            blockEntity.putInt("Pos", entry.getIntKey());
+            blockEntity.put("Nbt", entry.getValue());
+            blockEntities.add(blockEntity);
+        }
+
+        Vec3i size = snapshot.getSize();
+        NbtCompound nbt = new NbtCompound();
+        nbt.putIntArray("Size", new int[]{size.getX(), size.getY(), size.getZ()});
+        nbt.put("Sections", sections);
+        nbt.put("BlockEntities", blockEntities);
+        return nbt;
+    }
+
+    /**
+     * Load a snapshot saved by writeNbt
+     *
+     * @return Snapshot, or null if the data is malformed
+     */
+    public static IslandSnapshot readNbt(NbtCompound nbt) {
+        int[] size = nbt.getIntArray("Size");
+        if (size.length != 3 || !isValidSize(size[0], size[1], size[2])) {
+            return null;
+        }
+        Vec3i islandSize = new Vec3i(size[0], size[1], size[2]);
+        IslandSnapshot.Builder builder = IslandSnapshot.builder(islandSize);
+
+        NbtList sections = nbt.getList("Sections", NbtElement.COMPOUND_TYPE);
+        for (int s = 0; s < sections.size(); s++) {
+            NbtCompound sectionNbt = sections.getCompound(s);
+            int[] pos = sectionNbt.getIntArray("Pos");
+            NbtList paletteList = sectionNbt.getList("Palette", NbtElement.COMPOUND_TYPE);
+            if (pos.length != 3 || paletteList.isEmpty()) {
+                continue;
+            }
+            BlockState[] palette = new BlockState[paletteList.size()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = NbtHelper.toBlockState(Registries.BLOCK, paletteList.getCompound(i));
+            }
+            unpackInto(builder, islandSize, pos[0], pos[1], pos[2], palette, sectionNbt.getLongArray("Data"));
+        }
+
+        NbtList blockEntities = nbt.getList("BlockEntities", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < blockEntities.size(); i++) {
+            NbtCompound blockEntity = blockEntities.getCompound(i);
+            int packed = blockEntity.getInt("Pos");
+            builder.setBlockEntityNbt(IslandSnapshot.unpackX(packed), IslandSnapshot.unpackY(packed),
+                IslandSnapshot.unpackZ(packed), blockEntity.getCompound("Nbt"));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Write the blocks of a snapshot to a packet (block entity data is not sent)
+     */
+    public static void write(PacketByteBuf buf, IslandSnapshot snapshot) {
+        Vec3i size = snapshot.getSize();
+        buf.writeVarInt(size.getX());
+        buf.writeVarInt(size.getY());
+        buf.writeVarInt(size.getZ());
+
+        int[] count = new int[1];
+        forEachSection(snapshot, (sx, sy, sz, section) -> count[0]++);
+        buf.writeVarInt(count[0]);
+        forEachSection(snapshot, (sx, sy, sz, section) -> {
+            buf.writeVarInt(sx);
+            buf.writeVarInt(sy);
+            buf.writeVarInt(sz);
+            buf.writeVarInt(section.getPaletteSize());
+            for (int i = 0; i < section.getPaletteSize(); i++) {
+                buf.writeVarInt(Block.getRawIdFromState(section.getPaletteEntry(i)));
+            }
+            buf.writeLongArray(packIndices(section));
+        });
+    }
+
+    /**
+     * Read the blocks of a snapshot written by write
+     */
+    public static IslandSnapshot read(PacketByteBuf buf) {
+        int sizeX = buf.readVarInt();
+        int sizeY = buf.readVarInt();
+        int sizeZ = buf.readVarInt();
+        if (!isValidSize(sizeX, sizeY, sizeZ)) {
+            throw new IllegalArgumentException("Invalid island size: " + sizeX + "x" + sizeY + "x" + sizeZ);
+        }
+        Vec3i size = new Vec3i(sizeX, sizeY, sizeZ);
+        IslandSnapshot.Builder builder = IslandSnapshot.builder(size);
+        int maxSections = ((sizeX + 15) >> 4) * ((sizeY + 15) >> 4) * ((sizeZ + 15) >> 4);
+
+        int count = buf.readVarInt();
+        if (count < 0 || count > maxSections) {
+            throw new IllegalArgumentException("Invalid island section count: " + count);
+        }
+        for (int s = 0; s < count; s++) {
+            int sx = buf.readVarInt();
+            int sy = buf.readVarInt();
+            int sz = buf.readVarInt();
+            int paletteSize = buf.readVarInt();
+            if (paletteSize < 1 || paletteSize > SectionSnapshot.VOLUME) {
+                throw new IllegalArgumentException("Invalid island section palette size: " + paletteSize);
+            }
+            BlockState[] palette = new BlockState[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                BlockState state = Block.getStateFromRawId(buf.readVarInt());
+                palette[i] = state != null ? state : Blocks.AIR.getDefaultState();
+            }
+            unpackInto(builder, size, sx, sy, sz, palette, buf.readLongArray());
+        }
+        return builder.build();
+    }
+
+    private static boolean isValidSize(int x, int y, int z) {
+        return x > 0 && y > 0 && z > 0 && x <= MAX_AXIS && y <= MAX_AXIS && z <= MAX_AXIS;
+    }
+
+    private static void forEachSection(IslandSnapshot snapshot, SectionVisitor visitor) {
+        for (int sy = 0; sy < snapshot.getSectionsY(); sy++) {
+            for (int sz = 0; sz < snapshot.getSectionsZ(); sz++) {
+                for (int sx = 0; sx < snapshot.getSectionsX(); sx++) {
+                    SectionSnapshot section = snapshot.getSection(sx, sy, sz);
+                    if (section != null) {
+                        visitor.visit(sx, sy, sz, section);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long[] packIndices(SectionSnapshot section) {
+        int bits = bitsFor(section.getPaletteSize());
+        if (bits == 0) {
+            return new long[0];
+        }
+        int perLong = 64 / bits;
+        long[] packed = new long[(SectionSnapshot.VOLUME + perLong - 1) / perLong];
+        for (int i = 0; i < SectionSnapshot.VOLUME; i++) {
+            if (section.isOccupied(i)) {
+                packed[i / perLong] |= (long) section.getPaletteIndex(i) << ((i % perLong) * bits);
+            }
+        }
+        return packed;
+    }
+
+    private static void unpackInto(IslandSnapshot.Builder builder, Vec3i size, int sx, int sy, int sz,
+                                   BlockState[] palette, long[] packed) {
+        int bits = bitsFor(palette.length);
+        int perLong = bits == 0 ? 0 : 64 / bits;
+        long mask = (1L << bits) - 1L;
+        int baseX = sx << 4;
+        int baseY = sy << 4;
+        int baseZ = sz << 4;
+
+        for (int i = 0; i < SectionSnapshot.VOLUME; i++) {
+            int index = 0;
+            if (bits != 0) {
+                int word = i / perLong;
+                index = word < packed.length ? (int) ((packed[word] >>> ((i % perLong) * bits)) & mask) : 0;
+            }
+            BlockState state = palette[index < palette.length ? index : 0];
+            if (state.isAir()) {
+                continue;
+            }
+            int x = baseX + (i & 15);
+            int y = baseY + (i >> 8);
+            int z = baseZ + ((i >> 4) & 15);
+            if (x < size.getX() && y < size.getY() && z < size.getZ()) {
+                builder.setBlockState(x, y, z, state);
+            }
+        }
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+    }
+
+    @FunctionalInterface
+    private interface SectionVisitor {
+        void visit(int sx, int sy, int sz, SectionSnapshot section);
+    }
+}
@@ -0,0 +1,374 @@
+package com.bvhfve.aethelon.phase5.client;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.capture.SectionSnapshot;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandProxyPayload;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectArrayMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BuiltBuffer;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.RenderLayers;
+import net.minecraft.client.render.block.BlockRenderManager;
+import net.minecraft.client.render.chunk.BlockBufferAllocatorStorage;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import org.joml.Matrix4f;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * IslandMesh - Baked vertex buffers of one traveling island
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: BlockRenderManager block and fluid rendering, BlockBufferAllocatorStorage,
+ *   VertexBuffer (static GPU buffers), chunk render layer shaders
+ * - Hooks into: Util main worker executor (baking), IslandProxyRenderer (uploads and draws)
+ * - Modifies: GPU buffers owned by this mesh
+ *
+ * MODULE ROLE:
+ * - Purpose: Draw an island every frame without re-emitting its block quads
+ * - Dependencies: IslandRenderView, IslandProxyPayload
+ * - Provides: Per-section baked island geometry
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Vertex buffer, shader uniform or render layer changes may require updates
+ *
+ * BAKE DESIGN:
+ * The island is baked like vanilla chunk sections: each 16x16x16 island section becomes
+ * one static vertex buffer per block render layer, with vertices relative to the section
+ * and the section's island position passed through the ModelOffset uniform. Geometry is
+ * in the facing the island was lifted in, so moving or turning the turtle only changes
+ * the model-view matrix. Light is sampled when a section is baked.
+ *
+ * Bakes run on the main worker executor with their own BlockBufferAllocatorStorage, one
+ * bake at a time per island; finished buffers are uploaded on the render thread, replacing
+ * only the sections that were rebaked. When the server sends a new version of the island,
+ * only sections whose blocks changed are rebaked, plus their neighbors since face culling
+ * looks across section borders. Translucent quads are not sorted.
+ *
+ * THREAD SAFETY:
+ * Render thread only, except for the bake itself, which only reads the immutable snapshot
+ * through its own IslandRenderView.
+ */
+@Environment(EnvType.CLIENT)
+final class IslandMesh {
+
+    private IslandProxyPayload proxy;
+    private final int sectionsX;
+    private final int sectionsY;
+    private final int sectionsZ;
+    // Uploaded buffers by island section index; null for sections with nothing to draw
+    private final SectionMesh[] sections;
+    // Sections that need a (re)bake once the running bake is done
+    private final IntSet dirty = new IntOpenHashSet();
+    private CompletableFuture<Baked> pending;
+    private int[] pendingSections;
+
+    IslandMesh(IslandProxyPayload proxy) {
+        IslandSnapshot snapshot = proxy.snapshot();
+        this.proxy = proxy;
+        this.sectionsX = snapshot.getSectionsX();
+        this.sectionsY = snapshot.getSectionsY();
+        this.sectionsZ = snapshot.getSectionsZ();
+        this.sections = new SectionMesh[sectionsX * sectionsY * sectionsZ];
+        for (int i = 0; i < sections.length; i++) {
+            if (getSection(snapshot, i) != null) {
+                dirty.add(i);
+            }
+        }
+    }
+
+    IslandProxyPayload getProxy() {
+        return proxy;
+    }
+
+    /**
+     * Check whether a new version of the island can reuse this mesh's sections
+     */
+    boolean canUpdate(IslandProxyPayload next) {
+        return next.snapshot().getSize().equals(proxy.snapshot().getSize());
+    }
+
+    /**
+     * Switch to a new version of the island, marking the sections that changed
+     */
+    void update(IslandProxyPayload next) {
+        IslandSnapshot previous = proxy.snapshot();
+        IslandSnapshot snapshot = next.snapshot();
+        for (int i = 0; i < sections.length; i++) {
+            SectionSnapshot section = getSection(snapshot, i);
+            boolean changed = section == null
+                ? getSection(previous, i) != null
+                : !section.hasSameBlocks(getSection(previous, i));
+            if (changed) {
+                markDirty(i);
+            }
+        }
+        proxy = next;
+
+        // A running bake read the previous version; rebake its sections from this one
+        if (pending != null) {
+            for (int index : pendingSections) {
+                dirty.add(index);
+            }
+            discard(pending);
+            pending = null;
+        }
+    }
+
+    /**
+     * Upload a finished bake and start the next one if sections are dirty
+     *
+     * @param turtle Turtle carrying the island, for the light and colors of the bake
+     */
+    void prepare(ClientWorld world, AethelonEntity turtle) {
+        if (pending != null && pending.isDone()) {
+            CompletableFuture<Baked> done = pending;
+            pending = null;
+            try {
+                upload(done.join());
+            } catch (CompletionException e) {
+                AethelonCore.LOGGER.error("Failed to bake traveling island of entity {}", proxy.entityId(), e.getCause());
+            }
+        }
+
+        if (pending == null && !dirty.isEmpty()) {
+            int[] indices = dirty.toIntArray();
+            dirty.clear();
+            IslandSnapshot snapshot = proxy.snapshot();
+            IslandRenderView view = new IslandRenderView(world, snapshot, turtle, proxy.facing());
+            pendingSections = indices;
+            pending = CompletableFuture.supplyAsync(() -> bake(view, snapshot, indices), Util.getMainWorkerExecutor());
+        }
+    }
+
+    boolean hasLayer(RenderLayer layer) {
+        for (SectionMesh section : sections) {
+            if (section != null && section.buffers.containsKey(layer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Draw every section of one layer; the layer must already be set up
+     *
+     * @param modelView Camera view times the island's placement
+     */
+    void draw(RenderLayer layer, Matrix4f modelView, Matrix4f projection, ShaderProgram shader) {
+        for (int i = 0; i < sections.length; i++) {
+            SectionMesh section = sections[i];
+            VertexBuffer buffer = section != null ? section.buffers.get(layer) : null;
+            if (buffer == null) {
+                continue;
+            }
+            if (shader.modelOffset != null) {
+                shader.modelOffset.set((float) (sectionX(i) << 4), (float) (sectionY(i) << 4), (float) (sectionZ(i) << 4));
+            }
+            buffer.bind();
+            buffer.draw(modelView, projection, shader);
+        }
+    }
+
+    /**
+     * Free all GPU buffers and drop any running bake
+     */
+    void close() {
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] != null) {
+                sections[i].close();
+                sections[i] = null;
+            }
+        }
+        if (pending != null) {
+            discard(pending);
+            pending = null;
+        }
+        dirty.clear();
+    }
+
+    private void upload(Baked baked) {
+        try {
+            for (Int2ObjectMap.Entry<Map<RenderLayer, BuiltBuffer>> entry : baked.sections.int2ObjectEntrySet()) {
+                int index = entry.getIntKey();
+                if (sections[index] != null) {
+                    sections[index].close();
+                }
+                sections[index] = entry.getValue().isEmpty() ? null : SectionMesh.upload(entry.getValue());
+            }
+        } finally {
+            VertexBuffer.unbind();
+            baked.close();
+        }
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Uploaded {} baked sections of traveling island of entity {}",
+                baked.sections.size(), proxy.entityId());
+        }
+    }
+
+    /**
+     * Mark a section and its face neighbors for rebaking
+     */
+    private void markDirty(int index) {
+        int sx = sectionX(index);
+        int sy = sectionY(index);
+        int sz = sectionZ(index);
+        dirty.add(index);
+        if (sx > 0) dirty.add(index(sx - 1, sy, sz));
+        if (sx + 1 < sectionsX) dirty.add(index(sx + 1, sy, sz));
+        if (sy > 0) dirty.add(index(sx, sy - 1, sz));
+        if (sy + 1 < sectionsY) dirty.add(index(sx, sy + 1, sz));
+        if (sz > 0) dirty.add(index(sx, sy, sz - 1));
+        if (sz + 1 < sectionsZ) dirty.add(index(sx, sy, sz + 1));
+    }
+
+    private int index(int sx, int sy, int sz) {
+        return (sy * sectionsZ + sz) * sectionsX + sx;
+    }
+
+    private int sectionX(int index) {
+        return index % sectionsX;
+    }
+
+    private int sectionY(int index) {
+        return index / (sectionsX * sectionsZ);
+    }
+
+    private int sectionZ(int index) {
+        return (index / sectionsX) % sectionsZ;
+    }
+
+    private SectionSnapshot getSection(IslandSnapshot snapshot, int index) {
+        return snapshot.getSection(sectionX(index), sectionY(index), sectionZ(index));
+    }
+
+    /**
+     * Build the vertex data of some sections off the render thread
+     * Mirrors vanilla's section builder: block models and fluids per block, quads relative
+     * to the section, one buffer per render layer.
+     */
+    private Baked bake(IslandRenderView view, IslandSnapshot snapshot, int[] indices) {
+        BlockRenderManager blockRenderer = MinecraftClient.getInstance().getBlockRenderManager();
+        Baked baked = new Baked(new BlockBufferAllocatorStorage());
+        Random random = Random.create();
+        MatrixStack matrices = new MatrixStack();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        try {
+            for (int index : indices) {
+                Map<RenderLayer, BufferBuilder> builders = new Reference2ObjectArrayMap<>();
+                SectionSnapshot section = getSection(snapshot, index);
+                if (section != null) {
+                    int baseX = sectionX(index) << 4;
+                    int baseY = sectionY(index) << 4;
+                    int baseZ = sectionZ(index) << 4;
+                    section.forEachOccupied((x, y, z, state) -> {
+                        pos.set(baseX + x, baseY + y, baseZ + z);
+                        FluidState fluid = state.getFluidState();
+                        if (!fluid.isEmpty()) {
+                            blockRenderer.renderFluid(pos, view,
+                                baked.builder(builders, RenderLayers.getFluidLayer(fluid)), state, fluid);
+                        }
+                        if (state.getRenderType() == BlockRenderType.MODEL) {
+                            matrices.push();
+                            matrices.translate(x, y, z);
+                            blockRenderer.renderBlock(state, pos, view, matrices,
+                                baked.builder(builders, RenderLayers.getBlockLayer(state)), true, random);
+                            matrices.pop();
+                        }
+                    });
+                }
+
+                Map<RenderLayer, BuiltBuffer> buffers = new Reference2ObjectArrayMap<>();
+                for (Map.Entry<RenderLayer, BufferBuilder> entry : builders.entrySet()) {
+                    BuiltBuffer built = entry.getValue().endNullable();
+                    if (built != null) {
+                        buffers.put(entry.getKey(), built);
+                    }
+                }
+                baked.sections.put(index, buffers);
+            }
+        } catch (RuntimeException e) {
+            baked.close();
+            throw e;
+        }
+        return baked;
+    }
+
+    /**
+     * Free a bake nobody will upload, once it finishes
+     */
+    private static void discard(CompletableFuture<Baked> bake) {
+        bake.thenAccept(Baked::close);
+    }
+
+    /**
+     * Vertex data of baked sections, waiting for upload
+     */
+    private static final class Baked {
+        private final BlockBufferAllocatorStorage allocators;
+        private final Int2ObjectMap<Map<RenderLayer, BuiltBuffer>> sections = new Int2ObjectOpenHashMap<>();
+
+        Baked(BlockBufferAllocatorStorage allocators) {
+            this.allocators = allocators;
+        }
+
+        BufferBuilder builder(Map<RenderLayer, BufferBuilder> builders, RenderLayer layer) {
+            return builders.computeIfAbsent(layer, key ->
+                new BufferBuilder(allocators.get(key), key.getDrawMode(), key.getVertexFormat()));
+        }
+
+        void close() {
+            for (Map<RenderLayer, BuiltBuffer> buffers : sections.values()) {
+                buffers.values().forEach(BuiltBuffer::close);
+            }
+            allocators.close();
+        }
+    }
+
+    /**
+     * GPU buffers of one island section
+     */
+    private static final class SectionMesh {
+        private final Map<RenderLayer, VertexBuffer> buffers = new Reference2ObjectArrayMap<>();
+
+        static SectionMesh upload(Map<RenderLayer, BuiltBuffer> built) {
+            SectionMesh mesh = new SectionMesh();
+            for (Map.Entry<RenderLayer, BuiltBuffer> entry : built.entrySet()) {
+                VertexBuffer buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+                buffer.bind();
+                buffer.upload(entry.getValue());
+                mesh.buffers.put(entry.getKey(), buffer);
+            }
+            return mesh;
+        }
+
+        void close() {
+            buffers.values().forEach(VertexBuffer::close);
+            buffers.clear();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.bvhfve.aethelon.phase5.client;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.synchronization.IslandCollision;
+import com.bvhfve.aethelon.phase5.synchronization.IslandProxy;
+import com.bvhfve.aethelon.phase5.synchronization.MovementSync;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandProxyPayload;
+import com.mojang.blaze3d.systems.RenderSystem;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.Frustum;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.Vec3i;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IslandProxyRenderer - Draws islands that travel as proxies on their turtle
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: IslandMesh vertex buffers, chunk render layers
+ * - Hooks into: Fabric WorldRenderEvents.AFTER_ENTITIES, IslandProxyPayload receiver,
+ *   ClientPlayConnectionEvents.DISCONNECT
+ * - Modifies: None (rendering only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Keep a lifted island visible on its turtle while its blocks are not in
+ *   the world
+ * - Dependencies: IslandMesh, IslandProxyPayload
+ * - Provides: Client store and renderer of traveling islands, client copies of the
+ *   proxies for IslandCollision
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Render layer, shader or world render event changes may require updates
+ *
+ * CLIENT-SIDE ONLY:
+ * Registered by IslandSyncClient.
+ *
+ * RENDER DESIGN:
+ * Each island is baked once into an IslandMesh; a frame only computes one model-view
+ * matrix per visible island and draws its buffers layer by layer. The island is placed
+ * on the turtle's interpolated position, so it follows the turtle smoothly between
+ * ticks, and turned in quarter turns to the turtle's facing, the same way
+ * IslandCollision and the landing place it. Block entity renderers are skipped while
+ * an island travels.
+ */
+@Environment(EnvType.CLIENT)
+public final class IslandProxyRenderer {
+
+    // Traveling islands by turtle network id (render thread only)
+    private static final Int2ObjectMap<IslandMesh> MESHES = new Int2ObjectOpenHashMap<>();
+
+    private static boolean registered = false;
+
+    private IslandProxyRenderer() {
+    }
+
+    /**
+     * Register the render hook and clear proxies when leaving a server
+     */
+    static void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+
+        WorldRenderEvents.AFTER_ENTITIES.register(context -> {
+            if (MESHES.isEmpty()) {
+                return;
+            }
+            try {
+                render(context);
+            } catch (Exception e) {
+                AethelonCore.LOGGER.error("Error rendering traveling islands", e);
+                clear();
+            }
+        });
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(() -> {
+            clear();
+            IslandCollision.clear(true);
+        }));
+    }
+
+    /**
+     * Store a traveling island, or drop it once it has landed
+     * The client turtle gets its own proxy so local movement collides with the island.
+     */
+    static void accept(ClientWorld world, IslandProxyPayload payload) {
+        IslandMesh mesh = MESHES.get(payload.entityId());
+        if (payload.isCleared()) {
+            if (mesh != null) {
+                mesh.close();
+                MESHES.remove(payload.entityId());
+            }
+        } else if (mesh != null && mesh.canUpdate(payload)) {
+            mesh.update(payload);
+        } else {
+            if (mesh != null) {
+                mesh.close();
+            }
+            MESHES.put(payload.entityId(), new IslandMesh(payload));
+        }
+
+        Entity entity = world != null ? world.getEntityById(payload.entityId()) : null;
+        if (entity instanceof AethelonEntity turtle) {
+            if (payload.isCleared()) {
+                turtle.setIslandProxy(null);
+                IslandCollision.untrack(turtle);
+            } else {
+                turtle.setIslandProxy(new IslandProxy(payload.snapshot(), payload.facing()));
+                IslandCollision.track(turtle, payload.offsetY());
+            }
+        }
+    }
+
+    private static void clear() {
+        MESHES.values().forEach(IslandMesh::close);
+        MESHES.clear();
+    }
+
+    private static void render(WorldRenderContext context) {
+        ClientWorld world = context.world();
+        if (world == null) {
+            return;
+        }
+
+        Vec3d camera = context.camera().getPos();
+        float tickDelta = context.tickCounter().getTickDelta(false);
+        Frustum frustum = context.frustum();
+        List<IslandMesh> visible = new ArrayList<>();
+        List<Matrix4f> modelViews = new ArrayList<>();
+
+        for (IslandMesh mesh : MESHES.values()) {
+            IslandProxyPayload proxy = mesh.getProxy();
+            Entity entity = world.getEntityById(proxy.entityId());
+            if (!(entity instanceof AethelonEntity turtle)) {
+                continue;
+            }
+            mesh.prepare(world, turtle);
+
+            Vec3i size = proxy.snapshot().getSize();
+            Vec3d pos = turtle.getLerpedPos(tickDelta);
+            double radius = Math.max(size.getX(), size.getZ()) * 0.75;
+            double bottom = pos.y + proxy.offsetY();
+            if (frustum != null && !frustum.isVisible(new Box(pos.x - radius, bottom, pos.z - radius,
+                    pos.x + radius, bottom + size.getY(), pos.z + radius))) {
+                continue;
+            }
+
+            // Clockwise seen from above, like BlockRotation
+            float turn = switch (MovementSync.getRotation(proxy.facing(), turtle.getHorizontalFacing())) {
+                case CLOCKWISE_90 -> 90.0F;
+                case CLOCKWISE_180 -> 180.0F;
+                case COUNTERCLOCKWISE_90 -> 270.0F;
+                default -> 0.0F;
+            };
+            visible.add(mesh);
+            modelViews.add(new Matrix4f(context.positionMatrix())
+                .translate((float) (pos.x - camera.x), (float) (bottom - camera.y), (float) (pos.z - camera.z))
+                .rotateY((float) Math.toRadians(-turn))
+                .translate(-size.getX() / 2.0F, 0.0F, -size.getZ() / 2.0F));
+        }
+
+        if (visible.isEmpty()) {
+            return;
+        }
+
+        Matrix4f projection = context.projectionMatrix();
+        for (RenderLayer layer : RenderLayer.getBlockLayers()) {
+            ShaderProgram shader = null;
+            for (int i = 0; i < visible.size(); i++) {
+                IslandMesh mesh = visible.get(i);
+                if (!mesh.hasLayer(layer)) {
+                    continue;
+                }
+                if (shader == null) {
+                    layer.startDrawing();
+                    shader = RenderSystem.getShader();
+                    if (shader == null) {
+                        layer.endDrawing();
+                        break;
+                    }
+                }
+                mesh.draw(layer, modelViews.get(i), projection, shader);
+            }
+            if (shader != null) {
+                // Vanilla sets the offset per chunk section; leave it as a neutral value
+                if (shader.modelOffset != null) {
+                    shader.modelOffset.set(0.0F, 0.0F, 0.0F);
+                }
+                VertexBuffer.unbind();
+                layer.endDrawing();
+            }
+        }
+    }
+}
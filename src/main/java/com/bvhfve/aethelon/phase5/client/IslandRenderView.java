@@ -0,0 +1,122 @@
+package com.bvhfve.aethelon.phase5.client;
+
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.capture.BlockCapture;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.synchronization.IslandTransform;
+import com.bvhfve.aethelon.phase5.synchronization.MovementSync;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.BlockRenderView;
+import net.minecraft.world.LightType;
+import net.minecraft.world.biome.ColorResolver;
+import net.minecraft.world.chunk.light.LightingProvider;
+
+/**
+ * IslandRenderView - Block view over a traveling island in island-local coordinates
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ClientWorld light and biome colors
+ * - Hooks into: None (passed to the block and fluid renderers while baking)
+ * - Modifies: None
+ *
+ * MODULE ROLE:
+ * - Purpose: Let vanilla block rendering see an island that is not in the world
+ * - Dependencies: IslandSnapshot, IslandTransform, BlockCapture (landing position)
+ * - Provides: BlockRenderView for IslandMesh bakes
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: BlockRenderView interface changes may require updates
+ *
+ * Shapes come from the island; light and colors come from the world at the cell each
+ * block would be placed on by a landing at the turtle's position when the view was made.
+ *
+ * THREAD SAFETY:
+ * Like vanilla's chunk render regions, a view is used by one bake task at a time and only
+ * reads world light and colors, which the chunk builder also reads off the render thread.
+ */
+@Environment(EnvType.CLIENT)
+final class IslandRenderView implements BlockRenderView {
+
+    private final ClientWorld world;
+    private final IslandSnapshot snapshot;
+    private final BlockRotation rotation;
+    private final BlockPos landedOrigin;
+    private final BlockPos.Mutable worldPos = new BlockPos.Mutable();
+
+    IslandRenderView(ClientWorld world, IslandSnapshot snapshot, AethelonEntity turtle, Direction liftedFacing) {
+        this.world = world;
+        this.snapshot = snapshot;
+        this.rotation = MovementSync.getRotation(liftedFacing, turtle.getHorizontalFacing());
+        this.landedOrigin = BlockCapture.getIslandOrigin(turtle.getBlockPos(),
+            IslandTransform.rotateSize(snapshot.getSize(), rotation));
+    }
+
+    private BlockPos toWorld(BlockPos local) {
+        Vec3i size = snapshot.getSize();
+        return worldPos.set(
+            landedOrigin.getX() + IslandTransform.rotateX(local.getX(), local.getZ(), size, rotation),
+            landedOrigin.getY() + local.getY(),
+            landedOrigin.getZ() + IslandTransform.rotateZ(local.getX(), local.getZ(), size, rotation));
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return snapshot.getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getLightLevel(LightType type, BlockPos pos) {
+        return world.getLightLevel(type, toWorld(pos));
+    }
+
+    @Override
+    public int getBaseLightLevel(BlockPos pos, int ambientDarkness) {
+        return world.getBaseLightLevel(toWorld(pos), ambientDarkness);
+    }
+
+    @Override
+    public float getBrightness(Direction direction, boolean shaded) {
+        return world.getBrightness(direction, shaded);
+    }
+
+    @Override
+    public LightingProvider getLightingProvider() {
+        return world.getLightingProvider();
+    }
+
+    @Override
+    public int getColor(BlockPos pos, ColorResolver colorResolver) {
+        return world.getColor(toWorld(pos), colorResolver);
+    }
+
+    @Override
+    public int getHeight() {
+        return world.getHeight();
+    }
+
+    @Override
+    public int getBottomY() {
+        return world.getBottomY();
+    }
+}
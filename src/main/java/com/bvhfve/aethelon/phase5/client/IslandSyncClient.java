@@ -0,0 +1,195 @@
+package com.bvhfve.aethelon.phase5.client;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandCarryPayload;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandChunkDeltaPayload;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandProxyPayload;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * IslandSyncClient - Applies island chunk deltas on the client in bulk
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Fabric ClientPlayNetworking, ChunkSection writes, WorldRenderer section rebuilds
+ * - Hooks into: IslandChunkDeltaPayload, IslandCarryPayload and IslandProxyPayload receivers
+ * - Modifies: Client chunk sections, heightmaps and section render state, positions of
+ *   entities carried by an island, traveling islands drawn by IslandProxyRenderer
+ *
+ * MODULE ROLE:
+ * - Purpose: Apply a whole chunk of island changes without per-block client updates
+ * - Dependencies: IslandSyncNetworking (payload registration)
+ * - Provides: Client receivers for island_chunk_delta, island_carry and island_proxy
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Client chunk or renderer changes may require updates
+ *
+ * CLIENT-SIDE ONLY:
+ * Registered by SyncModule only when running on the client.
+ *
+ * APPLY DESIGN:
+ * The vanilla chunk delta handler calls ClientWorld.handleBlockUpdate per block, which
+ * schedules a render rebuild, light check and neighbor shape work for every change.
+ * Here each section is written directly, heightmaps are refreshed once per chunk and
+ * each touched section (plus any neighbor sharing a changed face) is rebuilt once.
+ * Light arrives separately through the vanilla light update packets the server sends
+ * after relighting.
+ *
+ * Carried entities are moved together with their previous and interpolation positions,
+ * so they appear at the new spot in the same frame as the island instead of sliding
+ * there over the next ticks. The local player is moved by the vanilla relative
+ * teleport instead.
+ */
+@Environment(EnvType.CLIENT)
+public class IslandSyncClient {
+
+    private static final Set<Heightmap.Type> CLIENT_HEIGHTMAPS = EnumSet.of(
+        Heightmap.Type.WORLD_SURFACE,
+        Heightmap.Type.MOTION_BLOCKING
+    );
+
+    private static boolean registered = false;
+
+    /**
+     * Register the client payload receivers
+     */
+    public static void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+
+        ClientPlayNetworking.registerGlobalReceiver(IslandChunkDeltaPayload.ID, (payload, context) -> {
+            try {
+                apply(context.client().world, payload);
+            } catch (Exception e) {
+                AethelonCore.LOGGER.error("Error applying island chunk delta for chunk [{}, {}]",
+                    payload.chunkX(), payload.chunkZ(), e);
+            }
+        });
+        ClientPlayNetworking.registerGlobalReceiver(IslandCarryPayload.ID, (payload, context) -> {
+            try {
+                applyCarry(context.client().world, context.player(), payload);
+            } catch (Exception e) {
+                AethelonCore.LOGGER.error("Error applying island carry for {} entities", payload.entities().size(), e);
+            }
+        });
+        ClientPlayNetworking.registerGlobalReceiver(IslandProxyPayload.ID,
+            (payload, context) -> IslandProxyRenderer.accept(context.client().world, payload));
+        IslandProxyRenderer.register();
+    }
+
+    /**
+     * Move carried entities to their new position without interpolating from the old one
+     */
+    static void applyCarry(ClientWorld world, Entity localPlayer, IslandCarryPayload payload) {
+        if (world == null) {
+            return;
+        }
+
+        for (IslandCarryPayload.Carried carried : payload.entities()) {
+            Entity entity = world.getEntityById(carried.entityId());
+            if (entity == null || entity == localPlayer) {
+                continue;
+            }
+
+            // Shift the previous-tick positions too, so this frame renders without a slide
+            double dx = carried.x() - entity.getX();
+            double dy = carried.y() - entity.getY();
+            double dz = carried.z() - entity.getZ();
+            entity.prevX += dx;
+            entity.prevY += dy;
+            entity.prevZ += dz;
+            entity.lastRenderX += dx;
+            entity.lastRenderY += dy;
+            entity.lastRenderZ += dz;
+
+            float yaw = entity.getYaw() + payload.yawDelta();
+            entity.prevYaw += payload.yawDelta();
+            entity.setPosition(carried.x(), carried.y(), carried.z());
+            entity.getTrackedPosition().setPos(entity.getPos());
+            // Replaces any pending interpolation target from before the move
+            entity.updateTrackedPositionAndAngles(carried.x(), carried.y(), carried.z(), yaw, entity.getPitch(), 0);
+            entity.setYaw(yaw);
+        }
+    }
+
+    /**
+     * Rebuild a section once, plus each neighbor whose shared face had a change
+     */
+    private static void scheduleRenders(ClientWorld world, int x, int y, int z, int borders) {
+        world.scheduleBlockRenders(x, y, z);
+        if ((borders & 1) != 0) world.scheduleBlockRenders(x - 1, y, z);
+        if ((borders & 2) != 0) world.scheduleBlockRenders(x + 1, y, z);
+        if ((borders & 4) != 0) world.scheduleBlockRenders(x, y - 1, z);
+        if ((borders & 8) != 0) world.scheduleBlockRenders(x, y + 1, z);
+        if ((borders & 16) != 0) world.scheduleBlockRenders(x, y, z - 1);
+        if ((borders & 32) != 0) world.scheduleBlockRenders(x, y, z + 1);
+    }
+
+    /**
+     * Write all changes of one chunk delta into the client world
+     */
+    static void apply(ClientWorld world, IslandChunkDeltaPayload payload) {
+        if (world == null || !world.getChunkManager().isChunkLoaded(payload.chunkX(), payload.chunkZ())) {
+            return;
+        }
+
+        WorldChunk chunk = world.getChunk(payload.chunkX(), payload.chunkZ());
+        boolean changed = false;
+
+        for (IslandChunkDeltaPayload.SectionDelta delta : payload.sections()) {
+            int sectionY = delta.sectionY();
+            if (sectionY < world.getBottomSectionCoord() || sectionY >= world.getTopSectionCoord()) {
+                continue;
+            }
+
+            ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionY));
+            boolean wasEmpty = section.isEmpty();
+            short[] positions = delta.positions();
+            BlockState[] states = delta.states();
+
+            // Bit per face of the section touched by a change (-x, +x, -y, +y, -z, +z)
+            int borders = 0;
+            for (int i = 0; i < positions.length; i++) {
+                short localPos = positions[i];
+                int x = ChunkSectionPos.unpackLocalX(localPos);
+                int y = ChunkSectionPos.unpackLocalY(localPos);
+                int z = ChunkSectionPos.unpackLocalZ(localPos);
+                section.setBlockState(x, y, z, states[i], false);
+                borders |= (x == 0 ? 1 : 0) | (x == 15 ? 2 : 0) | (y == 0 ? 4 : 0) |
+                           (y == 15 ? 8 : 0) | (z == 0 ? 16 : 0) | (z == 15 ? 32 : 0);
+            }
+
+            ChunkSectionPos sectionPos = ChunkSectionPos.from(payload.chunkX(), sectionY, payload.chunkZ());
+            if (wasEmpty != section.isEmpty()) {
+                world.getChunkManager().getLightingProvider().setSectionStatus(sectionPos, section.isEmpty());
+            }
+            scheduleRenders(world, payload.chunkX(), sectionY, payload.chunkZ(), borders);
+            changed |= positions.length > 0;
+        }
+
+        if (changed) {
+            Heightmap.populateHeightmaps(chunk, CLIENT_HEIGHTMAPS);
+        }
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Applied island chunk delta [{}, {}]: {} changes in {} sections",
+                payload.chunkX(), payload.chunkZ(), payload.getChangeCount(), payload.sections().size());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.bvhfve.aethelon.phase5.placement;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.mixin.BlockEntityAccessor;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * BlockEntityRelocator - Moves live block entities along with their blocks
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: WorldChunk block entity maps, BlockEntityAccessor, BlockEntityType registry
+ * - Hooks into: BlockPlacer slow-path writes
+ * - Modifies: Block entity positions and the chunks that hold them
+ *
+ * MODULE ROLE:
+ * - Purpose: Replace the save/destroy/recreate/load round trip for island block entities
+ *   with a move of the existing object
+ * - Dependencies: PlacementBatch (block entity sources), AethelonConfig (blockEntityRelocation)
+ * - Provides: Per-batch relocation state, relocation counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Changes to WorldChunk block entity bookkeeping may require updates
+ *
+ * HOW IT WORKS:
+ * Every block entity write in a batch records the world position its data came from.
+ * Those source positions are still holding the live block entity when the batch starts.
+ * Whichever happens first for a source wins:
+ * - The source cell is about to be overwritten: its block entity is taken out of the
+ *   chunk (no drops, no Clearable) and parked until its destination is written.
+ * - Its destination is written: the block entity is taken from the parking map or
+ *   straight from the source chunk.
+ * Either way it then gets its new position and block state and is added to the new
+ * chunk, which also moves its ticker and game event listener. Inventories, item stacks
+ * and every other field survive as the same objects, so nothing is serialized.
+ *
+ * Only vanilla types and RelocatableBlockEntity implementations are moved. Anything else,
+ * or a block entity whose type no longer fits the block being written, is left to the
+ * NBT carried by the batch. A parked block entity whose destination never asked for it
+ * is discarded when the batch finishes; its destination was written from NBT.
+ *
+ * THREAD SAFETY:
+ * Server thread only. One instance per PlacementQueue job, shared by its units.
+ */
+public final class BlockEntityRelocator {
+
+    // Statistics (server thread only)
+    private static long totalRelocated = 0L;
+    private static long totalFallbacks = 0L;
+
+    private final LongSet sources;
+    private final Long2ObjectMap<BlockEntity> parked = new Long2ObjectOpenHashMap<>();
+
+    private BlockEntityRelocator(LongSet sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Create the relocation state for a batch
+     *
+     * @return Relocator, or null if relocation is disabled or the batch moves no block entities
+     */
+    public static BlockEntityRelocator create(PlacementBatch batch) {
+        if (!isEnabled()) {
+            return null;
+        }
+        LongSet sources = batch.getBlockEntitySources();
+        return sources.isEmpty() ? null : new BlockEntityRelocator(sources);
+    }
+
+    public static boolean isEnabled() {
+        return "direct".equals(AethelonConfig.INSTANCE.phases.phase5.blockEntityRelocation);
+    }
+
+    /**
+     * Check whether a block entity may be moved as an object
+     *
+     * @return true for vanilla types and RelocatableBlockEntity implementations
+     */
+    public static boolean canRelocate(BlockEntity blockEntity) {
+        if (blockEntity instanceof RelocatableBlockEntity) {
+            return true;
+        }
+        Identifier type = Registries.BLOCK_ENTITY_TYPE.getId(blockEntity.getType());
+        return type != null && Identifier.DEFAULT_NAMESPACE.equals(type.getNamespace());
+    }
+
+    /**
+     * Park the block entity at a position that is about to be overwritten, if it still
+     * has to reach its destination
+     */
+    void beforeWrite(ServerWorld world, BlockPos pos) {
+        long key = pos.asLong();
+        if (!sources.remove(key)) {
+            return;
+        }
+        BlockEntity blockEntity = detach(world, pos);
+        if (blockEntity != null) {
+            parked.put(key, blockEntity);
+        }
+    }
+
+    /**
+     * Move the block entity from a source position onto a freshly written block
+     *
+     * @param world Server world
+     * @param pos Destination, already holding its new block state
+     * @param state State written at the destination
+     * @param source Packed source position recorded in the batch
+     * @return true if the block entity was moved; false if the caller must load NBT instead
+     */
+    boolean relocate(ServerWorld world, BlockPos pos, BlockState state, long source) {
+        BlockEntity blockEntity = parked.remove(source);
+        if (blockEntity == null && sources.remove(source)) {
+            blockEntity = detach(world, BlockPos.fromLong(source));
+        }
+        if (blockEntity == null || !blockEntity.getType().supports(state)) {
+            totalFallbacks++;
+            return false;
+        }
+
+        BlockPos from = blockEntity.getPos();
+        BlockPos to = pos.toImmutable();
+        ((BlockEntityAccessor) blockEntity).setAethelonPos(to);
+        blockEntity.setCachedState(state);
+        world.addBlockEntity(blockEntity);
+        if (blockEntity instanceof RelocatableBlockEntity relocatable) {
+            relocatable.onRelocated(from, to);
+        }
+        blockEntity.markDirty();
+        totalRelocated++;
+        return true;
+    }
+
+    /**
+     * Take a relocatable block entity out of its chunk without dropping its contents
+     *
+     * @return The removed block entity, or null if there is none or it must stay on the NBT path
+     */
+    private static BlockEntity detach(ServerWorld world, BlockPos pos) {
+        if (!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()))) {
+            return null;
+        }
+        BlockEntity blockEntity = world.getWorldChunk(pos).getBlockEntity(pos, WorldChunk.CreationType.CHECK);
+        if (blockEntity == null || !canRelocate(blockEntity)) {
+            return null;
+        }
+        world.removeBlockEntity(pos);
+        return blockEntity;
+    }
+
+    /**
+     * Drop whatever is still parked once every write of the batch has run
+     */
+    void finish() {
+        if (!parked.isEmpty() && AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Discarded {} parked block entities whose destination used NBT", parked.size());
+        }
+        parked.clear();
+        sources.clear();
+    }
+
+    /**
+     * Block entities moved as objects
+     */
+    public static long getTotalRelocated() {
+        return totalRelocated;
+    }
+
+    /**
+     * Block entity writes that had to load NBT instead
+     */
+    public static long getTotalFallbacks() {
+        return totalFallbacks;
+    }
+}
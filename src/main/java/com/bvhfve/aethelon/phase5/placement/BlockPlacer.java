@@ -0,0 +1,369 @@
+package com.bvhfve.aethelon.phase5.placement;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.capture.IslandDirtyTracker;
+import com.bvhfve.aethelon.phase5.synchronization.IslandLightingService;
+import com.bvhfve.aethelon.phase5.synchronization.IslandShellUpdater;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandChunkDeltaPayload;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandSyncNetworking;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.Clearable;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerLightingProvider;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.poi.PointOfInterestTypes;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * BlockPlacer - Writes island blocks into the world
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkSection/PalettedContainer writes, Heightmap, IslandLightingService,
+ *         ChunkDeltaUpdateS2CPacket
+ * - Hooks into: None (called from the server thread by Phase 5 movement)
+ * - Modifies: World blocks, heightmaps, light and client chunk state
+ *
+ * MODULE ROLE:
+ * - Purpose: Apply PlacementBatches using the engine selected in Phase5Config
+ * - Dependencies: AethelonConfig (placementEngine)
+ * - Provides: Section-level bulk writes with a per-block vanilla fallback
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+ (uses current ChunkSection and lighting APIs)
+ * - Fabric API: 0.119.2+ (client resync through IslandSyncNetworking)
+ * - Breaking changes: Chunk section or light engine changes may require updates
+ *
+ * ENGINES:
+ * - "section": Writes straight into each ChunkSection's PalettedContainer, then does
+ *   one heightmap pass and one client resync per touched chunk (an IslandChunkDeltaPayload,
+ *   or vanilla section delta packets for clients without the island channel). Light-relevant writes
+ *   are collected in an IslandLightingService.LightBatch and checked once the move is written.
+ *   No neighbor updates, shape updates or per-block packets are produced.
+ * - "vanilla": Calls World.setBlockState for every block. Slow, but identical to what
+ *   a player placing the blocks would trigger; useful for debugging.
+ *
+ * Blocks that carry block entities, or that are points of interest (beds, portals,
+ * workstations), always go through World.setBlockState so that block entity and POI
+ * bookkeeping stays correct. Those writes use getCommitFlags(), which suppresses
+ * neighbor, shape and comparator updates in the "shell" commit mode. Block entities that
+ * move with the island are handed over as live objects by BlockEntityRelocator where
+ * possible; the batch's NBT is only loaded for the rest.
+ *
+ * THREAD SAFETY:
+ * Must run on the server thread.
+ */
+public class BlockPlacer {
+
+    private static final Set<Heightmap.Type> LIVE_HEIGHTMAPS = EnumSet.of(
+        Heightmap.Type.WORLD_SURFACE,
+        Heightmap.Type.OCEAN_FLOOR,
+        Heightmap.Type.MOTION_BLOCKING,
+        Heightmap.Type.MOTION_BLOCKING_NO_LEAVES
+    );
+
+    /**
+     * Apply a batch using the engine configured in Phase5Config
+     *
+     * @param world Server world to write into
+     * @param batch Block writes grouped by section
+     * @return Counters describing the work done
+     */
+    public static PlacementResult place(ServerWorld world, PlacementBatch batch) {
+        IslandShellUpdater.Shell shell = IslandShellUpdater.isEnabled() ? IslandShellUpdater.computeShell(batch) : null;
+        IslandLightingService.LightBatch light = new IslandLightingService.LightBatch();
+        PlacementResult result = place(world, batch, light);
+        IslandLightingService.relight(world, light);
+        if (shell != null) {
+            IslandShellUpdater.update(world, shell);
+        }
+        return result;
+    }
+
+    /**
+     * Apply a batch, collecting light work instead of relighting
+     * The caller relights through IslandLightingService once all related batches are written
+     *
+     * @param world Server world to write into
+     * @param batch Block writes grouped by section
+     * @param light Receives positions whose light may have changed
+     * @return Counters describing the work done
+     */
+    public static PlacementResult place(ServerWorld world, PlacementBatch batch, IslandLightingService.LightBatch light) {
+        BlockEntityRelocator relocator = BlockEntityRelocator.create(batch);
+        try {
+            return place(world, batch, light, relocator);
+        } finally {
+            if (relocator != null) {
+                relocator.finish();
+            }
+        }
+    }
+
+    /**
+     * Apply part of a larger batch, collecting light work instead of relighting
+     *
+     * @param world Server world to write into
+     * @param batch Block writes grouped by section
+     * @param light Receives positions whose light may have changed
+     * @param relocator Block entity relocation state shared by every part of the batch, or null
+     * @return Counters describing the work done
+     */
+    public static PlacementResult place(ServerWorld world, PlacementBatch batch, IslandLightingService.LightBatch light,
+                                        BlockEntityRelocator relocator) {
+        // The island's snapshot already reflects these writes; do not mark its sections dirty
+        IslandDirtyTracker.beginSuppress();
+        try {
+            if ("vanilla".equals(AethelonConfig.INSTANCE.phases.phase5.placementEngine)) {
+                return placeVanilla(world, batch, relocator);
+            }
+            return placeSections(world, batch, light, relocator);
+        } finally {
+            IslandDirtyTracker.endSuppress();
+        }
+    }
+
+    /**
+     * Slow path: one World.setBlockState call per block
+     */
+    public static PlacementResult placeVanilla(ServerWorld world, PlacementBatch batch, BlockEntityRelocator relocator) {
+        long startTime = System.nanoTime();
+        PlacementResult result = new PlacementResult();
+
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            for (int i = 0; i < section.size(); i++) {
+                BlockPos pos = section.getWorldPos(i);
+                if (world.isOutOfHeightLimit(pos)) {
+                    continue;
+                }
+                short localPos = section.getLocalPos(i);
+                placeSingle(world, pos, section.getState(i), section.getBlockEntityNbt(localPos),
+                    section.getBlockEntitySource(localPos), relocator);
+                result.slowPathBlocks++;
+            }
+        }
+
+        result.nanos = System.nanoTime() - startTime;
+        return result;
+    }
+
+    /**
+     * Fast path: write chunk sections directly and finish each chunk in one pass
+     */
+    public static PlacementResult placeSections(ServerWorld world, PlacementBatch batch, IslandLightingService.LightBatch light,
+                                                BlockEntityRelocator relocator) {
+        long startTime = System.nanoTime();
+        PlacementResult result = new PlacementResult();
+        ServerLightingProvider lighting = world.getChunkManager().getLightingProvider();
+
+        // Group sections by chunk so each chunk is fetched and finished once
+        Long2ObjectMap<List<PlacementBatch.SectionBatch>> byChunk = new Long2ObjectOpenHashMap<>();
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            ChunkSectionPos sectionPos = ChunkSectionPos.from(section.getSectionPos());
+            long chunkKey = ChunkPos.toLong(sectionPos.getSectionX(), sectionPos.getSectionZ());
+            byChunk.computeIfAbsent(chunkKey, k -> new ArrayList<>()).add(section);
+        }
+
+        List<DeferredWrite> deferred = new ArrayList<>();
+
+        for (Long2ObjectMap.Entry<List<PlacementBatch.SectionBatch>> entry : byChunk.long2ObjectEntrySet()) {
+            ChunkPos chunkPos = new ChunkPos(entry.getLongKey());
+            WorldChunk chunk = world.getChunk(chunkPos.x, chunkPos.z);
+            List<ChangedSection> changedSections = new ArrayList<>();
+
+            for (PlacementBatch.SectionBatch sectionBatch : entry.getValue()) {
+                ChunkSectionPos sectionPos = ChunkSectionPos.from(sectionBatch.getSectionPos());
+                int sectionY = sectionPos.getSectionY();
+                if (sectionY < world.getBottomSectionCoord() || sectionY >= world.getTopSectionCoord()) {
+                    continue;
+                }
+
+                ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionY));
+                boolean wasEmpty = section.isEmpty();
+                ShortSet changed = new ShortOpenHashSet();
+
+                for (int i = 0; i < sectionBatch.size(); i++) {
+                    short localPos = sectionBatch.getLocalPos(i);
+                    int x = ChunkSectionPos.unpackLocalX(localPos);
+                    int y = ChunkSectionPos.unpackLocalY(localPos);
+                    int z = ChunkSectionPos.unpackLocalZ(localPos);
+                    BlockState state = sectionBatch.getState(i);
+                    NbtCompound nbt = sectionBatch.getBlockEntityNbt(localPos);
+                    BlockState oldState = section.getBlockState(x, y, z);
+
+                    if (oldState == state && nbt == null) {
+                        continue;
+                    }
+
+                    if (nbt != null || requiresSlowPath(oldState, state)) {
+                        deferred.add(new DeferredWrite(sectionPos.unpackBlockPos(localPos), state, nbt,
+                            sectionBatch.getBlockEntitySource(localPos)));
+                        continue;
+                    }
+
+                    section.setBlockState(x, y, z, state, false);
+                    changed.add(localPos);
+                    result.blocksWritten++;
+
+                    if (IslandLightingService.affectsLight(oldState, state)) {
+                        light.queue(sectionPos.unpackBlockPos(localPos));
+                    }
+                }
+
+                if (changed.isEmpty()) {
+                    continue;
+                }
+
+                result.sectionsWritten++;
+                if (wasEmpty != section.isEmpty()) {
+                    lighting.setSectionStatus(sectionPos, section.isEmpty());
+                }
+                changedSections.add(new ChangedSection(sectionPos, changed, section));
+            }
+
+            if (changedSections.isEmpty()) {
+                continue;
+            }
+
+            // One heightmap pass, save flag and client resync per chunk; light is left to the caller
+            Heightmap.populateHeightmaps(chunk, LIVE_HEIGHTMAPS);
+            chunk.markNeedsSaving();
+            result.chunksTouched++;
+
+            sendChanges(world, chunkPos, changedSections);
+        }
+
+        // Block entities and special blocks go through the vanilla path last
+        for (DeferredWrite write : deferred) {
+            placeSingle(world, write.pos, write.state, write.nbt, write.source, relocator);
+            result.slowPathBlocks++;
+        }
+
+        result.nanos = System.nanoTime() - startTime;
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Placed batch of {} blocks: {}", batch.size(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Resync one chunk: a single island payload for players that can receive it,
+     * vanilla per-section delta packets for everyone else
+     */
+    private static void sendChanges(ServerWorld world, ChunkPos chunkPos, List<ChangedSection> changedSections) {
+        List<ServerPlayerEntity> vanillaPlayers = IslandSyncNetworking.sendChunkDeltaToTracking(world, chunkPos, () -> {
+            List<IslandChunkDeltaPayload.SectionDelta> deltas = new ArrayList<>(changedSections.size());
+            for (ChangedSection changed : changedSections) {
+                deltas.add(IslandChunkDeltaPayload.SectionDelta.of(
+                    changed.pos.getSectionY(), changed.positions, changed.section));
+            }
+            return new IslandChunkDeltaPayload(chunkPos.x, chunkPos.z, deltas);
+        });
+        if (vanillaPlayers.isEmpty()) {
+            return;
+        }
+
+        List<ChunkDeltaUpdateS2CPacket> vanillaPackets = new ArrayList<>(changedSections.size());
+        for (ChangedSection changed : changedSections) {
+            vanillaPackets.add(new ChunkDeltaUpdateS2CPacket(changed.pos, changed.positions, changed.section));
+        }
+        for (ServerPlayerEntity player : vanillaPlayers) {
+            for (ChunkDeltaUpdateS2CPacket packet : vanillaPackets) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+    }
+
+    /**
+     * Check whether a write must go through World.setBlockState
+     *
+     * @param oldState State currently in the world
+     * @param newState State being written
+     * @return true for block entities and point-of-interest blocks
+     */
+    public static boolean requiresSlowPath(BlockState oldState, BlockState newState) {
+        return oldState.hasBlockEntity() || newState.hasBlockEntity() ||
+               PointOfInterestTypes.getTypeForState(oldState).isPresent() ||
+               PointOfInterestTypes.getTypeForState(newState).isPresent();
+    }
+
+    /**
+     * Update flags for writes that go through World.setBlockState
+     * In "shell" commit mode neighbor, shape and comparator updates are suppressed and
+     * IslandShellUpdater runs once the whole batch is in place
+     */
+    public static int getCommitFlags() {
+        if (IslandShellUpdater.isEnabled()) {
+            return Block.NOTIFY_LISTENERS | Block.FORCE_STATE | Block.SKIP_DROPS | Block.MOVED;
+        }
+        return Block.NOTIFY_ALL;
+    }
+
+    /**
+     * Write one block through the vanilla path and restore its block entity
+     */
+    private static void placeSingle(ServerWorld world, BlockPos pos, BlockState state, NbtCompound nbt,
+                                    long source, BlockEntityRelocator relocator) {
+        // An island block entity still waiting to reach its destination is taken out first
+        if (relocator != null) {
+            relocator.beforeWrite(world, pos);
+        }
+        // Anything else travels with the island as NBT; clear the old inventory so
+        // replacing the block does not also scatter it (same as structure placement)
+        Clearable.clear(world.getWorldChunk(pos).getBlockEntity(pos, WorldChunk.CreationType.CHECK));
+        world.setBlockState(pos, state, getCommitFlags());
+
+        if (nbt != null) {
+            if (relocator != null && source != PlacementBatch.NO_SOURCE && relocator.relocate(world, pos, state, source)) {
+                return;
+            }
+            BlockEntity blockEntity = world.getBlockEntity(pos);
+            if (blockEntity != null) {
+                blockEntity.read(nbt, world.getRegistryManager());
+                blockEntity.markDirty();
+            }
+        }
+    }
+
+    private record DeferredWrite(BlockPos pos, BlockState state, NbtCompound nbt, long source) {
+    }
+
+    private record ChangedSection(ChunkSectionPos pos, ShortSet positions, ChunkSection section) {
+    }
+
+    /**
+     * Counters for one placement
+     */
+    public static class PlacementResult {
+        public int blocksWritten = 0;
+        public int slowPathBlocks = 0;
+        public int sectionsWritten = 0;
+        public int chunksTouched = 0;
+        public long nanos = 0L;
+
+        @Override
+        public String toString() {
+            return "PlacementResult{blocks=" + blocksWritten + ", slowPath=" + slowPathBlocks +
+                   ", sections=" + sectionsWritten + ", chunks=" + chunksTouched +
+                   ", time=" + (nanos / 1000L) + "us}";
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.bvhfve.aethelon.phase5.placement;
+
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PlacementBatch - Block writes grouped by world chunk section
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkSectionPos packing (section keys and section-local shorts)
+ * - Hooks into: None (pure data structure)
+ * - Modifies: None (consumed by BlockPlacer)
+ *
+ * MODULE ROLE:
+ * - Purpose: Describe a set of block writes in the shape BlockPlacer consumes them
+ * - Dependencies: IslandSnapshot (for paste/clear batches)
+ * - Provides: Section-grouped write lists with optional block entity data
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * DESIGN NOTES:
+ * Writes are grouped by world section as soon as they are added, so the placer can
+ * fetch each chunk and section exactly once. Entries are stored in parallel primitive
+ * arrays (section-local short position + state) instead of one object per block.
+ * Block entity writes may also record the world position the block entity is moving
+ * from, which lets BlockEntityRelocator move the live object instead of loading the NBT.
+ */
+public final class PlacementBatch {
+
+    // Packed position meaning "no block entity source"; far outside any world border
+    public static final long NO_SOURCE = Long.MIN_VALUE;
+
+    private final Long2ObjectLinkedOpenHashMap<SectionBatch> sections = new Long2ObjectLinkedOpenHashMap<>();
+    private int size = 0;
+
+    /**
+     * Add a block write
+     *
+     * @param x World X
+     * @param y World Y
+     * @param z World Z
+     * @param state State to write
+     * @param blockEntityNbt Block entity data to load after the write, or null
+     */
+    public void add(int x, int y, int z, BlockState state, NbtCompound blockEntityNbt) {
+        add(x, y, z, state, blockEntityNbt, NO_SOURCE);
+    }
+
+    /**
+     * Add a block write whose block entity moves from another position
+     *
+     * @param x World X
+     * @param y World Y
+     * @param z World Z
+     * @param state State to write
+     * @param blockEntityNbt Block entity data to load after the write, or null
+     * @param blockEntitySource Packed world position the live block entity currently sits at,
+     *                          or NO_SOURCE
+     */
+    public void add(int x, int y, int z, BlockState state, NbtCompound blockEntityNbt, long blockEntitySource) {
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        SectionBatch section = sections.get(key);
+        if (section == null) {
+            section = new SectionBatch(key);
+            sections.put(key, section);
+        }
+        section.add(packLocal(x, y, z), state, blockEntityNbt, blockEntitySource);
+        size++;
+    }
+
+    /**
+     * Pack world coordinates into a section-local short
+     * Same layout as ChunkSectionPos.packLocal without allocating a BlockPos
+     */
+    public static short packLocal(int x, int y, int z) {
+        return (short) (((x & 15) << 8) | ((z & 15) << 4) | (y & 15));
+    }
+
+    public void add(BlockPos pos, BlockState state) {
+        add(pos.getX(), pos.getY(), pos.getZ(), state, null);
+    }
+
+    /**
+     * Build a batch that writes every block of a snapshot at the given origin
+     *
+     * @param snapshot Island to paste
+     * @param origin World position of the island's minimum corner
+     * @return Batch with one entry per non-air island block
+     */
+    public static PlacementBatch paste(IslandSnapshot snapshot, BlockPos origin) {
+        PlacementBatch batch = new PlacementBatch();
+        snapshot.forEachBlock((x, y, z, state) -> batch.add(
+            origin.getX() + x, origin.getY() + y, origin.getZ() + z,
+            state, snapshot.getBlockEntityNbt(x, y, z)
+        ));
+        return batch;
+    }
+
+    /**
+     * Build a batch that writes a snapshot, filling its empty cells below a height
+     * Used to land an island in water without leaving water in its air pockets.
+     *
+     * @param snapshot Island to paste
+     * @param origin World position of the island's minimum corner
+     * @param fill State written into the island's empty cells below fillBelowY (usually air)
+     * @param fillBelowY World Y below which empty cells are filled (Integer.MIN_VALUE for none)
+     * @return Batch with one entry per non-air island block and per filled cell
+     */
+    public static PlacementBatch paste(IslandSnapshot snapshot, BlockPos origin, BlockState fill, int fillBelowY) {
+        PlacementBatch batch = paste(snapshot, origin);
+        Vec3i size = snapshot.getSize();
+        int maxY = (int) Math.min(size.getY(), (long) fillBelowY - origin.getY());
+        for (int y = 0; y < maxY; y++) {
+            for (int z = 0; z < size.getZ(); z++) {
+                for (int x = 0; x < size.getX(); x++) {
+                    if (!snapshot.isOccupied(x, y, z)) {
+                        batch.add(origin.getX() + x, origin.getY() + y, origin.getZ() + z, fill, null);
+                    }
+                }
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Build a batch that replaces every block of a snapshot at the given origin
+     *
+     * @param snapshot Island whose footprint should be cleared
+     * @param origin World position of the island's minimum corner
+     * @param fill State written in place of each island block (usually air)
+     * @return Batch with one entry per non-air island block
+     */
+    public static PlacementBatch clear(IslandSnapshot snapshot, BlockPos origin, BlockState fill) {
+        return clear(snapshot, origin, fill, fill, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Build a batch that replaces every block of a snapshot, with a different fill below a height
+     * Used to refill the ocean under a removed island in the same write that removes it.
+     *
+     * @param snapshot Island whose footprint should be cleared
+     * @param origin World position of the island's minimum corner
+     * @param fill State written at or above fillBelowY
+     * @param below State written below fillBelowY (usually a water source)
+     * @param fillBelowY World Y separating the two fills
+     * @return Batch with one entry per non-air island block
+     */
+    public static PlacementBatch clear(IslandSnapshot snapshot, BlockPos origin, BlockState fill,
+                                       BlockState below, int fillBelowY) {
+        PlacementBatch batch = new PlacementBatch();
+        snapshot.forEachBlock((x, y, z, state) -> {
+            int worldY = origin.getY() + y;
+            batch.add(origin.getX() + x, worldY, origin.getZ() + z, worldY < fillBelowY ? below : fill, null);
+        });
+        return batch;
+    }
+
+    /**
+     * Split this batch into one batch per world chunk
+     * Section data is shared, not copied, so the result is cheap to build
+     *
+     * @return Batches in first-touched chunk order
+     */
+    public List<PlacementBatch> splitByChunk() {
+        Long2ObjectLinkedOpenHashMap<PlacementBatch> byChunk = new Long2ObjectLinkedOpenHashMap<>();
+        for (SectionBatch section : sections.values()) {
+            long chunkKey = ChunkPos.toLong(ChunkSectionPos.unpackX(section.sectionPos), ChunkSectionPos.unpackZ(section.sectionPos));
+            PlacementBatch chunkBatch = byChunk.get(chunkKey);
+            if (chunkBatch == null) {
+                chunkBatch = new PlacementBatch();
+                byChunk.put(chunkKey, chunkBatch);
+            }
+            chunkBatch.sections.put(section.sectionPos, section);
+            chunkBatch.size += section.size;
+        }
+        return new ArrayList<>(byChunk.values());
+    }
+
+    /**
+     * Chunk of the first section in this batch
+     *
+     * @return Chunk position, or null if the batch is empty
+     */
+    public ChunkPos getFirstChunkPos() {
+        if (sections.isEmpty()) {
+            return null;
+        }
+        long sectionPos = sections.firstLongKey();
+        return new ChunkPos(ChunkSectionPos.unpackX(sectionPos), ChunkSectionPos.unpackZ(sectionPos));
+    }
+
+    /**
+     * Collect every block entity source position in this batch
+     *
+     * @return New mutable set of packed world positions
+     */
+    public LongSet getBlockEntitySources() {
+        LongSet result = new LongOpenHashSet();
+        for (SectionBatch section : sections.values()) {
+            if (section.blockEntitySources != null) {
+                result.addAll(section.blockEntitySources.values());
+            }
+        }
+        return result;
+    }
+
+    public Collection<SectionBatch> getSections() {
+        return sections.values();
+    }
+
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Writes for one world section, stored as parallel arrays
+     */
+    public static final class SectionBatch {
+        private final long sectionPos;
+        private short[] positions = new short[64];
+        private BlockState[] states = new BlockState[64];
+        private Short2ObjectMap<NbtCompound> blockEntityNbt;
+        private Short2LongMap blockEntitySources;
+        private int size = 0;
+
+        SectionBatch(long sectionPos) {
+            this.sectionPos = sectionPos;
+        }
+
+        void add(short localPos, BlockState state, NbtCompound nbt, long source) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                states = Arrays.copyOf(states, size * 2);
+            }
+            positions[size] = localPos;
+            states[size] = state;
+            size++;
+
+            if (nbt != null) {
+                if (blockEntityNbt == null) {
+                    blockEntityNbt = new Short2ObjectOpenHashMap<>();
+                }
+                blockEntityNbt.put(localPos, nbt);
+            }
+            if (source != NO_SOURCE) {
+                if (blockEntitySources == null) {
+                    blockEntitySources = new Short2LongOpenHashMap();
+                    blockEntitySources.defaultReturnValue(NO_SOURCE);
+                }
+                blockEntitySources.put(localPos, source);
+            }
+        }
+
+        /**
+         * Packed ChunkSectionPos of this section
+         */
+        public long getSectionPos() {
+            return sectionPos;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Section-local packed position of entry i (see ChunkSectionPos.packLocal)
+         */
+        public short getLocalPos(int i) {
+            return positions[i];
+        }
+
+        public BlockState getState(int i) {
+            return states[i];
+        }
+
+        /**
+         * Block entity data for a section-local position
+         *
+         * @return NBT to load after the write, or null
+         */
+        public NbtCompound getBlockEntityNbt(short localPos) {
+            return blockEntityNbt == null ? null : blockEntityNbt.get(localPos);
+        }
+
+        /**
+         * World position the block entity for a section-local position moves from
+         *
+         * @return Packed BlockPos, or NO_SOURCE if the block entity is only carried as NBT
+         */
+        public long getBlockEntitySource(short localPos) {
+            return blockEntitySources == null ? NO_SOURCE : blockEntitySources.get(localPos);
+        }
+
+        /**
+         * Convert entry i to a world position
+         */
+        public BlockPos getWorldPos(int i) {
+            return ChunkSectionPos.from(sectionPos).unpackBlockPos(positions[i]);
+        }
+    }
+}
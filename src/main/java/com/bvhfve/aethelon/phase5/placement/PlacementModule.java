@@ -0,0 +1,156 @@
+package com.bvhfve.aethelon.phase5.placement;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.core.util.InjectableAethelonModule;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+import java.util.List;
+
+/**
+ * PlacementModule - Coordinates island block placement
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkSection writes through BlockPlacer
+ * - Hooks into: Phase 5 island movement, END_SERVER_TICK and SERVER_STOPPING events
+ * - Modifies: World blocks, heightmaps, lighting and client chunk state
+ *
+ * MODULE ROLE:
+ * - Purpose: Enable the placement path that writes IslandSnapshots back into the world
+ * - Dependencies: phase5 (main phase coordinator)
+ * - Provides: Placement availability flag for other Phase 5 modules
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * IMPLEMENTATION DETAILS:
+ * The placement engine is selected by Phase5Config.placementEngine. The default
+ * "section" engine writes PalettedContainers directly and finishes each chunk with
+ * a single heightmap, light and resync pass; "vanilla" falls back to
+ * World.setBlockState for every block. Writes submitted through PlacementQueue are
+ * drained at the end of each server tick within PerformanceConfig.maxIslandWorkNanosPerTick.
+ */
+public class PlacementModule implements InjectableAethelonModule {
+
+    private static boolean active = false;
+    private static boolean eventsRegistered = false;
+
+    private boolean initialized = false;
+
+    @Override
+    public String getModuleName() {
+        return "phase5.placement";
+    }
+
+    @Override
+    public String getPhase() {
+        return "phase5";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return AethelonConfig.INSTANCE != null && AethelonConfig.INSTANCE.phases.phase5.isModuleEnabled("placement");
+    }
+
+    @Override
+    public void initialize() throws Exception {
+        if (!isEnabled()) {
+            AethelonCore.LOGGER.info("Phase 5 placement module is disabled, skipping initialization");
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Initializing Phase 5 placement module");
+
+        try {
+            active = true;
+            registerEvents();
+            AethelonCore.LOGGER.info("Island placement engine: {}, budget {} us/tick",
+                AethelonConfig.INSTANCE.phases.phase5.placementEngine,
+                AethelonConfig.INSTANCE.performance.maxIslandWorkNanosPerTick / 1000L);
+
+            initialized = true;
+            AethelonCore.LOGGER.info("Phase 5 placement module initialization complete");
+
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to initialize Phase 5 placement module", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (!initialized) {
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Shutting down Phase 5 placement module");
+
+        active = false;
+
+        initialized = false;
+        AethelonCore.LOGGER.info("Phase 5 placement module shutdown complete");
+    }
+
+    /**
+     * Drain the placement queue every tick and flush it on shutdown
+     * Fabric events cannot be unregistered, so the handlers check the active flag
+     */
+    private static void registerEvents() {
+        if (eventsRegistered) {
+            return;
+        }
+        eventsRegistered = true;
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (active) {
+                PlacementQueue.tick();
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> PlacementQueue.flush());
+    }
+
+    /**
+     * Check whether island placement is available
+     *
+     * @return true once the placement module has been initialized
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public List<String> getDependencies() {
+        return List.of("phase5");
+    }
+
+    @Override
+    public boolean isCompatibleWith(String minecraftVersion) {
+        return minecraftVersion.startsWith("1.21.4") ||
+               minecraftVersion.startsWith("1.21.5") ||
+               minecraftVersion.startsWith("1.22");
+    }
+
+    @Override
+    public String getRequiredFabricApiVersion() {
+        return "0.119.2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Island Placement - Writes island snapshots back into the world section by section";
+    }
+
+    @Override
+    public boolean supportsHotReload() {
+        return false;
+    }
+
+    @Override
+    public int getLoadPriority() {
+        // Sub-modules load after their phase coordinator
+        return 52;
+    }
+}
@@ -0,0 +1,394 @@
+package com.bvhfve.aethelon.phase5.placement;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.synchronization.IslandLightingService;
+import com.bvhfve.aethelon.phase5.synchronization.ChunkPrefetcher;
+import com.bvhfve.aethelon.phase5.synchronization.IslandShellUpdater;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * PlacementQueue - Tick-budgeted main-thread queue for island block writes
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ServerWorld player list (for priority), BlockPlacer
+ * - Hooks into: END_SERVER_TICK (drained by PlacementModule), SERVER_STOPPING (flushed)
+ * - Modifies: World blocks through BlockPlacer
+ *
+ * MODULE ROLE:
+ * - Purpose: Spread large island pastes over several ticks without exceeding the tick budget
+ * - Dependencies: BlockPlacer, AethelonConfig (maxIslandWorkNanosPerTick)
+ * - Provides: Budgeted and single-tick job submission, completion handles and pending
+ *   work counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * SCHEDULING:
+ * Each submitted batch is split into one work unit per chunk, which is the smallest
+ * unit BlockPlacer can finish cleanly (heightmaps, light and resync are per chunk).
+ * Units are ordered by squared horizontal distance from the chunk to the nearest
+ * player at submission time, then by submission order, so the blocks players can see
+ * are written first. Every tick at least one unit runs, then units keep running until
+ * PerformanceConfig.maxIslandWorkNanosPerTick is used up; whatever is left resumes on
+ * the next tick. Pending work is flushed without a budget when the server stops so no
+ * island is left half moved in the saved world. Lighting for a job is collected across
+ * its units and recomputed once, when the last unit has been written; the shell update
+ * pass (see IslandShellUpdater) runs at the same point. Block entity relocation state
+ * (see BlockEntityRelocator) is likewise shared by the units of a job, since a block
+ * entity may leave one chunk and arrive in another.
+ *
+ * A unit that throws while it is written still counts as run, so its job completes, but
+ * the job is marked failed (Job.isFailed): the batch is only partly in the world, and
+ * callers must not treat it as written.
+ *
+ * A unit whose chunk is not loaded is never written during a tick, since that would
+ * load or generate the chunk synchronously on the server thread. It is held back,
+ * a ChunkPrefetcher ticket is requested for the chunk, and it runs on a later tick
+ * once the chunk is available.
+ *
+ * Batches submitted with submitCommit are not budgeted: all of their units run at the
+ * start of the first tick in which every one of their chunks is loaded, so players never
+ * see them half written. They are meant for the small final part of a staged move step
+ * (see IslandTransform.stage), whose larger part went through the budgeted queue.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class PlacementQueue {
+
+    private static final PriorityQueue<WorkUnit> QUEUE = new PriorityQueue<>();
+    // Unbudgeted batches, each written within a single tick
+    private static final List<List<WorkUnit>> COMMITS = new ArrayList<>();
+
+    private static long sequence = 0L;
+    private static int pendingBlocks = 0;
+    private static int pendingCommitUnits = 0;
+
+    // Statistics (server thread only)
+    private static long totalUnitsProcessed = 0L;
+    private static long totalUnitsDeferred = 0L;
+    private static long totalUnitsFailed = 0L;
+    private static long lastTickNanos = 0L;
+    private static int lastTickUnits = 0;
+
+    private PlacementQueue() {
+    }
+
+    /**
+     * Queue a batch for budgeted placement
+     *
+     * @param world World to write into
+     * @param batch Block writes; must not be modified after submission
+     * @return Handle that reports when every part of the batch has been written
+     */
+    public static Job submit(ServerWorld world, PlacementBatch batch) {
+        List<PlacementBatch> units = batch.splitByChunk();
+        Job job = createJob(world, batch, units.size());
+        List<ServerPlayerEntity> players = world.getPlayers();
+
+        for (PlacementBatch unit : units) {
+            ChunkPos chunkPos = unit.getFirstChunkPos();
+            QUEUE.add(new WorkUnit(world, unit, job, nearestPlayerDistanceSq(players, chunkPos), sequence++));
+            pendingBlocks += unit.size();
+        }
+        return job;
+    }
+
+    /**
+     * Queue a batch that is written as a whole within one tick, outside the tick budget
+     *
+     * @param world World to write into
+     * @param batch Block writes; must not be modified after submission
+     * @return Handle that reports when the batch has been written
+     */
+    public static Job submitCommit(ServerWorld world, PlacementBatch batch) {
+        List<PlacementBatch> units = batch.splitByChunk();
+        Job job = createJob(world, batch, units.size());
+        List<WorkUnit> commit = new ArrayList<>(units.size());
+
+        for (PlacementBatch unit : units) {
+            commit.add(new WorkUnit(world, unit, job, 0.0, sequence++));
+            pendingBlocks += unit.size();
+        }
+        if (!commit.isEmpty()) {
+            COMMITS.add(commit);
+            pendingCommitUnits += commit.size();
+        }
+        return job;
+    }
+
+    private static Job createJob(ServerWorld world, PlacementBatch batch, int units) {
+        return new Job(world, units, batch.size(),
+            IslandShellUpdater.isEnabled() ? IslandShellUpdater.computeShell(batch) : null,
+            BlockEntityRelocator.create(batch));
+    }
+
+    private static double nearestPlayerDistanceSq(List<ServerPlayerEntity> players, ChunkPos chunkPos) {
+        double centerX = chunkPos.getCenterX();
+        double centerZ = chunkPos.getCenterZ();
+        double nearest = Double.MAX_VALUE;
+        for (ServerPlayerEntity player : players) {
+            double dx = player.getX() - centerX;
+            double dz = player.getZ() - centerZ;
+            nearest = Math.min(nearest, dx * dx + dz * dz);
+        }
+        return nearest;
+    }
+
+    /**
+     * Run queued work until this tick's budget is used up
+     * Always processes at least one unit so the queue keeps making progress
+     */
+    public static void tick() {
+        if (isEmpty()) {
+            lastTickNanos = 0L;
+            lastTickUnits = 0;
+            return;
+        }
+
+        long budget = AethelonConfig.INSTANCE.performance.maxIslandWorkNanosPerTick;
+        long startTime = System.nanoTime();
+        int units = runCommits();
+        List<WorkUnit> deferred = null;
+
+        while (!QUEUE.isEmpty() && (units == 0 || System.nanoTime() - startTime < budget)) {
+            WorkUnit unit = QUEUE.poll();
+            if (!isChunkReady(unit)) {
+                if (deferred == null) {
+                    deferred = new ArrayList<>();
+                }
+                deferred.add(unit);
+                continue;
+            }
+            runUnit(unit);
+            units++;
+        }
+        if (deferred != null) {
+            QUEUE.addAll(deferred);
+            totalUnitsDeferred += deferred.size();
+        }
+
+        lastTickNanos = System.nanoTime() - startTime;
+        lastTickUnits = units;
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Placement queue ran {} units in {} us, {} units ({} blocks) pending",
+                units, lastTickNanos / 1000L, getPendingUnits(), pendingBlocks);
+        }
+    }
+
+    /**
+     * Write all pending work immediately, ignoring the budget
+     * Chunks that are still unloaded are loaded synchronously here; this only runs on shutdown
+     */
+    public static void flush() {
+        if (isEmpty()) {
+            return;
+        }
+        AethelonCore.LOGGER.info("Flushing {} pending island placement units", getPendingUnits());
+        for (List<WorkUnit> commit : COMMITS) {
+            commit.forEach(PlacementQueue::runUnit);
+        }
+        COMMITS.clear();
+        pendingCommitUnits = 0;
+        while (!QUEUE.isEmpty()) {
+            runUnit(QUEUE.poll());
+        }
+    }
+
+    /**
+     * Write every commit whose chunks are all loaded
+     *
+     * @return Number of units written
+     */
+    private static int runCommits() {
+        int units = 0;
+        for (int i = 0; i < COMMITS.size(); i++) {
+            List<WorkUnit> commit = COMMITS.get(i);
+            boolean ready = true;
+            for (WorkUnit unit : commit) {
+                // Checks every unit so tickets for all missing chunks are requested at once
+                ready &= isChunkReady(unit);
+            }
+            if (!ready) {
+                totalUnitsDeferred += commit.size();
+                continue;
+            }
+
+            COMMITS.remove(i--);
+            pendingCommitUnits -= commit.size();
+            commit.forEach(PlacementQueue::runUnit);
+            units += commit.size();
+        }
+        return units;
+    }
+
+    /**
+     * Check whether a unit's chunk is loaded, requesting it if not
+     */
+    private static boolean isChunkReady(WorkUnit unit) {
+        ChunkPos chunkPos = unit.batch.getFirstChunkPos();
+        if (unit.world.getChunkManager().isChunkLoaded(chunkPos.x, chunkPos.z)) {
+            return true;
+        }
+        ChunkPrefetcher.request(unit.world, chunkPos);
+        return false;
+    }
+
+    private static void runUnit(WorkUnit unit) {
+        try {
+            BlockPlacer.place(unit.world, unit.batch, unit.job.light, unit.job.relocator);
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to place island blocks in chunk {}", unit.batch.getFirstChunkPos(), e);
+            unit.job.failed = true;
+            totalUnitsFailed++;
+        }
+        pendingBlocks -= unit.batch.size();
+        totalUnitsProcessed++;
+        unit.job.unitDone();
+    }
+
+    /**
+     * Number of queued work units (one per chunk)
+     */
+    public static int getPendingUnits() {
+        return QUEUE.size() + pendingCommitUnits;
+    }
+
+    /**
+     * Number of queued block writes
+     */
+    public static int getPendingBlocks() {
+        return pendingBlocks;
+    }
+
+    public static boolean isEmpty() {
+        return QUEUE.isEmpty() && COMMITS.isEmpty();
+    }
+
+    public static long getTotalUnitsProcessed() {
+        return totalUnitsProcessed;
+    }
+
+    /**
+     * Times a unit was held back because its chunk was not loaded yet
+     */
+    public static long getTotalUnitsDeferred() {
+        return totalUnitsDeferred;
+    }
+
+    /**
+     * Units that threw while being written, leaving their job failed
+     */
+    public static long getTotalUnitsFailed() {
+        return totalUnitsFailed;
+    }
+
+    /**
+     * Time spent draining the queue during the last tick
+     */
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public static int getLastTickUnits() {
+        return lastTickUnits;
+    }
+
+    /**
+     * Completion handle for one submitted batch
+     */
+    public static final class Job {
+        private final ServerWorld world;
+        private final int blockCount;
+        private final IslandLightingService.LightBatch light = new IslandLightingService.LightBatch();
+        private final IslandShellUpdater.Shell shell;
+        private final BlockEntityRelocator relocator;
+        private List<Runnable> callbacks;
+        private int remainingUnits;
+        private boolean failed;
+
+        private Job(ServerWorld world, int units, int blockCount, IslandShellUpdater.Shell shell,
+                    BlockEntityRelocator relocator) {
+            this.world = world;
+            this.remainingUnits = units;
+            this.blockCount = blockCount;
+            this.shell = shell;
+            this.relocator = relocator;
+        }
+
+        private void unitDone() {
+            remainingUnits--;
+            if (remainingUnits == 0) {
+                // The whole batch is written; relight each touched section column once
+                // and run the single update pass along the outside of the commit
+                if (relocator != null) {
+                    relocator.finish();
+                }
+                IslandLightingService.relight(world, light);
+                if (shell != null) {
+                    IslandShellUpdater.update(world, shell);
+                }
+                if (callbacks != null) {
+                    callbacks.forEach(Runnable::run);
+                    callbacks = null;
+                }
+            }
+        }
+
+        /**
+         * Run a callback on the server thread once the whole batch has been written
+         * Runs right away if the job is already done.
+         */
+        public void whenDone(Runnable callback) {
+            if (isDone()) {
+                callback.run();
+                return;
+            }
+            if (callbacks == null) {
+                callbacks = new ArrayList<>(1);
+            }
+            callbacks.add(callback);
+        }
+
+        public boolean isDone() {
+            return remainingUnits <= 0;
+        }
+
+        /**
+         * Check whether any unit of the batch failed to write
+         * A failed job still completes and runs its callbacks, but only part of the batch
+         * reached the world.
+         */
+        public boolean isFailed() {
+            return failed;
+        }
+
+        public int getRemainingUnits() {
+            return remainingUnits;
+        }
+
+        public int getBlockCount() {
+            return blockCount;
+        }
+    }
+
+    private record WorkUnit(ServerWorld world, PlacementBatch batch, Job job, double priority, long sequence)
+        implements Comparable<WorkUnit> {
+
+        @Override
+        public int compareTo(WorkUnit other) {
+            int result = Double.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
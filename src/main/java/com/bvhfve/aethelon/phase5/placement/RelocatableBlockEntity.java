@@ -0,0 +1,37 @@
+package com.bvhfve.aethelon.phase5.placement;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * RelocatableBlockEntity - Opt-in hook for block entities that move with an island
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: BlockEntity (implemented by block entity classes)
+ * - Hooks into: BlockEntityRelocator
+ * - Modifies: Whatever position-dependent state the implementing block entity keeps
+ *
+ * MODULE ROLE:
+ * - Purpose: Let modded block entities take the direct relocation path and fix up
+ *   anything they derived from their old position
+ * - Dependencies: None
+ * - Provides: Position rebase callback
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * Vanilla block entities are relocated directly without implementing this. Block entities
+ * of other mods are saved and reloaded through NBT unless they implement it, since they
+ * may cache their position (or positions derived from it) in ways a plain move would miss.
+ */
+public interface RelocatableBlockEntity {
+
+    /**
+     * Called after the block entity has been moved and added to its new chunk
+     *
+     * @param from Position before the move
+     * @param to Position after the move (already returned by getPos)
+     */
+    void onRelocated(BlockPos from, BlockPos to);
+}
@@ -0,0 +1,227 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandCarryPayload;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandSyncNetworking;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.packet.s2c.play.PositionFlag;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CarriedEntities - Moves the players and mobs standing on an island along with it
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: World.getOtherEntities, relative player teleports, IslandCarryPayload
+ * - Hooks into: MovementSync commit stage and PlacementQueue job completion
+ * - Modifies: Positions and yaw of entities on the island
+ *
+ * MODULE ROLE:
+ * - Purpose: Keep passengers on the island through every move step
+ * - Dependencies: IslandSnapshot (what counts as standing on the island),
+ *   IslandTransform (point rotation), IslandSyncNetworking
+ * - Provides: Per-step carried entity sets, carry counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Teleport API changes may require updates
+ *
+ * HOW IT WORKS:
+ * When a step is committed, one spatial query over the island's box (plus headroom
+ * for anything standing on top) collects the candidates; an entity is carried if an
+ * island block is at or just below its feet. Entities riding another entity move with
+ * their vehicle. Once the step's last block is written, every carried entity gets
+ * exactly one move: its position relative to the old island is rotated and
+ * translated to the new one. Players get a relative teleport, so their client keeps
+ * its velocity and turns with the island. Everything else is moved on the server, and
+ * one IslandCarryPayload per step moves the entities on tracking clients in the same
+ * frame as the blocks, without interpolating from the old position.
+ *
+ * While a step takes several ticks to write, carried mobs are held where they stood
+ * and no carried entity takes fall damage, so nothing drops through a gap between the
+ * old footprint being cleared and the new one being written. Players keep control of
+ * their own movement and are not held.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class CarriedEntities {
+
+    // Cells below the feet checked for an island block (jumping players, slabs, carpets)
+    private static final int SUPPORT_DEPTH = 3;
+    private static final double HEADROOM = 3.0;
+
+    private static final Set<PositionFlag> RELATIVE = EnumSet.of(
+        PositionFlag.X, PositionFlag.Y, PositionFlag.Z, PositionFlag.Y_ROT, PositionFlag.X_ROT,
+        PositionFlag.DELTA_X, PositionFlag.DELTA_Y, PositionFlag.DELTA_Z
+    );
+
+    // Statistics (server thread only)
+    private static long stepsWithPassengers = 0L;
+    private static long entitiesCarried = 0L;
+
+    private final List<Entity> entities;
+    private final List<Vec3d> held;
+    private final BlockPos from;
+    private final BlockPos to;
+    private final Vec3i size;
+    private final BlockRotation rotation;
+
+    private CarriedEntities(List<Entity> entities, BlockPos from, BlockPos to, Vec3i size, BlockRotation rotation) {
+        this.entities = entities;
+        this.held = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            held.add(entity.getPos());
+        }
+        this.from = from;
+        this.to = to;
+        this.size = size;
+        this.rotation = rotation;
+    }
+
+    /**
+     * Collect the entities standing on an island that is about to move
+     *
+     * @param world Server world
+     * @param turtle Turtle carrying the island (never carried itself)
+     * @param snapshot Island as placed at the old origin
+     * @param from Old island origin
+     * @param to New island origin
+     * @param rotation Rotation of the step
+     */
+    static CarriedEntities collect(ServerWorld world, AethelonEntity turtle, IslandSnapshot snapshot,
+                                   BlockPos from, BlockPos to, BlockRotation rotation) {
+        Vec3i size = snapshot.getSize();
+        Box box = new Box(from.getX(), from.getY(), from.getZ(),
+            from.getX() + size.getX(), from.getY() + size.getY() + HEADROOM, from.getZ() + size.getZ());
+
+        List<Entity> entities = world.getOtherEntities(turtle, box, entity ->
+            entity.isAlive() && !entity.hasVehicle() && !entity.isSpectator()
+                && !(entity instanceof AethelonEntity) && isOnIsland(entity, snapshot, from));
+        return new CarriedEntities(entities, from, to, size, rotation);
+    }
+
+    private static boolean isOnIsland(Entity entity, IslandSnapshot snapshot, BlockPos origin) {
+        int x = MathHelper.floor(entity.getX()) - origin.getX();
+        int y = MathHelper.floor(entity.getY()) - origin.getY();
+        int z = MathHelper.floor(entity.getZ()) - origin.getZ();
+        for (int dy = 0; dy <= SUPPORT_DEPTH; dy++) {
+            if (snapshot.contains(x, y - dy, z) && snapshot.isOccupied(x, y - dy, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    /**
+     * Keep carried entities in place while the step is still being written
+     */
+    void hold() {
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            if (entity.isRemoved()) {
+                continue;
+            }
+            entity.onLanding();
+            if (!(entity instanceof ServerPlayerEntity)) {
+                Vec3d pos = held.get(i);
+                entity.setPosition(pos.x, pos.y, pos.z);
+                entity.setVelocity(Vec3d.ZERO);
+            }
+        }
+    }
+
+    /**
+     * Move every carried entity onto the island at its new position
+     * Called once, after the last block of the step has been written.
+     */
+    void transport(ServerWorld world, AethelonEntity turtle) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        float yawDelta = getYawDelta(rotation);
+        List<IslandCarryPayload.Carried> moved = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            if (entity.isRemoved() || entity.getWorld() != world) {
+                continue;
+            }
+
+            Vec3d target = transform(entity.getPos());
+            entity.onLanding();
+            if (entity instanceof ServerPlayerEntity player) {
+                player.teleport(world, target.x - player.getX(), target.y - player.getY(), target.z - player.getZ(),
+                    RELATIVE, yawDelta, 0.0f, false);
+            } else {
+                float yaw = entity.getYaw() + yawDelta;
+                entity.refreshPositionAndAngles(target.x, target.y, target.z, yaw, entity.getPitch());
+                entity.setHeadYaw(entity.getHeadYaw() + yawDelta);
+                entity.setBodyYaw(yaw);
+                moved.add(new IslandCarryPayload.Carried(entity.getId(), target.x, target.y, target.z));
+            }
+        }
+
+        if (!moved.isEmpty()) {
+            IslandSyncNetworking.sendCarryToTracking(turtle, new IslandCarryPayload(yawDelta, moved));
+        }
+
+        stepsWithPassengers++;
+        entitiesCarried += entities.size();
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Carried {} entities from {} to {}", entities.size(),
+                from.toShortString(), to.toShortString());
+        }
+    }
+
+    /**
+     * Map a world position on the old island to the same spot on the moved island
+     */
+    Vec3d transform(Vec3d pos) {
+        double x = pos.x - from.getX();
+        double z = pos.z - from.getZ();
+        return new Vec3d(
+            to.getX() + IslandTransform.rotateX(x, z, size, rotation),
+            to.getY() + (pos.y - from.getY()),
+            to.getZ() + IslandTransform.rotateZ(x, z, size, rotation)
+        );
+    }
+
+    private static float getYawDelta(BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> 90.0f;
+            case CLOCKWISE_180 -> 180.0f;
+            case COUNTERCLOCKWISE_90 -> -90.0f;
+            default -> 0.0f;
+        };
+    }
+
+    /**
+     * Move steps that carried at least one entity
+     */
+    public static long getStepsWithPassengers() {
+        return stepsWithPassengers;
+    }
+
+    public static long getEntitiesCarried() {
+        return entitiesCarried;
+    }
+}
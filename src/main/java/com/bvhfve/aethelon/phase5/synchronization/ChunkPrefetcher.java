@@ -0,0 +1,250 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.capture.BlockCapture;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * ChunkPrefetcher - Keeps the chunks ahead of a moving turtle loaded
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkTicketType, ServerChunkManager.addTicket/removeTicket
+ * - Hooks into: MovementSync (AethelonEntity server tick)
+ * - Modifies: Chunk tickets around the island's path
+ *
+ * MODULE ROLE:
+ * - Purpose: Load and generate the chunks an island is about to move into before
+ *   the paste needs them, so no placement ever waits on a synchronous chunk load
+ * - Dependencies: BlockCapture (island footprint)
+ * - Provides: Path prefetch tickets, on-demand tickets for PlacementQueue, counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Chunk ticket API changes may require updates
+ *
+ * HOW IT WORKS:
+ * While a turtle is MOVING, the island footprint is swept along its heading
+ * (horizontal velocity, or its facing while it is nearly still) for
+ * Phase5Config.prefetchLookaheadChunks chunks, and every chunk under the swept
+ * footprint holds a ticket at Phase5Config.prefetchTicketLevel. Chunks that fall out
+ * of the swept area (behind the turtle) have their ticket removed right away; when
+ * the turtle stops moving all of its tickets are released. Tickets also expire on
+ * their own if they are not refreshed, so a turtle that is unloaded or removed
+ * mid-move cannot leak them.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class ChunkPrefetcher {
+
+    // Tickets expire unless refreshed; refreshed well within that window while moving
+    private static final int TICKET_EXPIRY_TICKS = 100;
+    private static final int REFRESH_INTERVAL_TICKS = 20;
+
+    private static final ChunkTicketType<ChunkPos> ISLAND_PREFETCH = ChunkTicketType.create(
+        AethelonCore.MOD_ID + ":island_prefetch", Comparator.comparingLong(ChunkPos::toLong), TICKET_EXPIRY_TICKS);
+
+    // Ticketed chunks per turtle; weak keys so removed turtles are dropped
+    private static final Map<AethelonEntity, Prefetch> ACTIVE = new WeakHashMap<>();
+
+    // Statistics (server thread only)
+    private static long ticketsAdded = 0L;
+    private static long ticketsReleased = 0L;
+    private static long onDemandTickets = 0L;
+
+    private ChunkPrefetcher() {
+    }
+
+    /**
+     * Update the prefetched chunks of a moving turtle
+     *
+     * @param world Server world the turtle is in
+     * @param entity Moving turtle
+     */
+    public static void update(ServerWorld world, AethelonEntity entity) {
+        int lookahead = AethelonConfig.INSTANCE.phases.phase5.prefetchLookaheadChunks;
+        if (lookahead <= 0) {
+            release(entity);
+            return;
+        }
+
+        Prefetch prefetch = ACTIVE.get(entity);
+        if (prefetch != null && prefetch.world != world) {
+            // Changed dimension mid-move
+            release(entity);
+            prefetch = null;
+        }
+        if (prefetch == null) {
+            prefetch = new Prefetch(world);
+            ACTIVE.put(entity, prefetch);
+        }
+
+        LongSet wanted = getPathChunks(entity, lookahead);
+        int radius = getTicketRadius();
+        long time = world.getTime();
+        boolean refresh = time - prefetch.lastRefresh >= REFRESH_INTERVAL_TICKS;
+
+        LongIterator held = prefetch.chunks.iterator();
+        while (held.hasNext()) {
+            long chunk = held.nextLong();
+            if (!wanted.contains(chunk)) {
+                removeTicket(world, chunk, radius);
+                held.remove();
+            }
+        }
+
+        LongIterator iterator = wanted.iterator();
+        while (iterator.hasNext()) {
+            long chunk = iterator.nextLong();
+            if (prefetch.chunks.add(chunk)) {
+                addTicket(world, chunk, radius);
+                ticketsAdded++;
+            } else if (refresh) {
+                // Re-adding an existing ticket resets its expiry
+                addTicket(world, chunk, radius);
+            }
+        }
+        if (refresh) {
+            prefetch.lastRefresh = time;
+        }
+    }
+
+    /**
+     * Release every ticket held for a turtle
+     */
+    public static void release(AethelonEntity entity) {
+        Prefetch prefetch = ACTIVE.remove(entity);
+        if (prefetch == null) {
+            return;
+        }
+
+        int radius = getTicketRadius();
+        LongIterator iterator = prefetch.chunks.iterator();
+        while (iterator.hasNext()) {
+            removeTicket(prefetch.world, iterator.nextLong(), radius);
+        }
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Released {} prefetch tickets for Aethelon {}",
+                prefetch.chunks.size(), entity.getId());
+        }
+    }
+
+    /**
+     * Ask for a chunk that queued placement work needs but that is not loaded yet
+     * The chunk loads asynchronously; the ticket expires on its own once it is no longer refreshed
+     */
+    public static void request(ServerWorld world, ChunkPos chunkPos) {
+        world.getChunkManager().addTicket(ISLAND_PREFETCH, chunkPos, getTicketRadius(), chunkPos);
+        onDemandTickets++;
+    }
+
+    /**
+     * Chunks under the island footprint swept along the turtle's heading
+     */
+    static LongSet getPathChunks(AethelonEntity entity, int lookahead) {
+        AethelonConfig.Phase5Config config = AethelonConfig.INSTANCE.phases.phase5;
+        // Square footprint so the prefetch covers the island in any facing
+        int span = Math.max(config.islandSizeX, config.islandSizeZ);
+        BlockPos origin = BlockCapture.getIslandOrigin(entity.getBlockPos(), new Vec3i(span, config.islandSizeY, span));
+
+        Vec3d velocity = entity.getVelocity();
+        double headingX = velocity.x;
+        double headingZ = velocity.z;
+        double length = Math.sqrt(headingX * headingX + headingZ * headingZ);
+        if (length < 1.0E-3) {
+            Direction facing = entity.getHorizontalFacing();
+            headingX = facing.getOffsetX();
+            headingZ = facing.getOffsetZ();
+            length = 1.0;
+        }
+        headingX /= length;
+        headingZ /= length;
+
+        LongSet chunks = new LongOpenHashSet();
+        for (int step = 0; step <= lookahead; step++) {
+            int offsetX = (int) Math.round(headingX * step * 16.0);
+            int offsetZ = (int) Math.round(headingZ * step * 16.0);
+            int minChunkX = (origin.getX() + offsetX) >> 4;
+            int minChunkZ = (origin.getZ() + offsetZ) >> 4;
+            int maxChunkX = (origin.getX() + offsetX + span - 1) >> 4;
+            int maxChunkZ = (origin.getZ() + offsetZ + span - 1) >> 4;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    chunks.add(ChunkPos.toLong(chunkX, chunkZ));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Ticket radius for the configured level (level 33 loads just the chunk itself)
+     */
+    private static int getTicketRadius() {
+        return 33 - AethelonConfig.INSTANCE.phases.phase5.prefetchTicketLevel;
+    }
+
+    private static void addTicket(ServerWorld world, long chunk, int radius) {
+        ChunkPos chunkPos = new ChunkPos(chunk);
+        world.getChunkManager().addTicket(ISLAND_PREFETCH, chunkPos, radius, chunkPos);
+    }
+
+    private static void removeTicket(ServerWorld world, long chunk, int radius) {
+        ChunkPos chunkPos = new ChunkPos(chunk);
+        world.getChunkManager().removeTicket(ISLAND_PREFETCH, chunkPos, radius, chunkPos);
+        ticketsReleased++;
+    }
+
+    public static long getTicketsAdded() {
+        return ticketsAdded;
+    }
+
+    public static long getTicketsReleased() {
+        return ticketsReleased;
+    }
+
+    /**
+     * Tickets added because placement reached a chunk the path prefetch had not covered
+     */
+    public static long getOnDemandTickets() {
+        return onDemandTickets;
+    }
+
+    /**
+     * Number of prefetch tickets currently held across all turtles
+     */
+    public static int getActiveTickets() {
+        int count = 0;
+        for (Prefetch prefetch : ACTIVE.values()) {
+            count += prefetch.chunks.size();
+        }
+        return count;
+    }
+
+    private static final class Prefetch {
+        private final ServerWorld world;
+        private final LongSet chunks = new LongOpenHashSet();
+        private long lastRefresh = Long.MIN_VALUE / 2;
+
+        private Prefetch(ServerWorld world) {
+            this.world = world;
+        }
+    }
+}
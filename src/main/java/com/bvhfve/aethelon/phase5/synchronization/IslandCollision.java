@@ -0,0 +1,237 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.EmptyBlockView;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * IslandCollision - Collision volume of islands traveling as proxies
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: VoxelShapes cuboids, BlockState collision shapes (only to tell solid cells apart)
+ * - Hooks into: Entity movement collision through EntityMixin, on server and client
+ * - Modifies: Collision shapes seen by moving entities
+ *
+ * MODULE ROLE:
+ * - Purpose: Give entities something to stand on while an island's blocks are not in the world
+ * - Dependencies: IslandProxy, IslandTransform (rotation to the turtle's facing)
+ * - Provides: Island collision shapes for Entity.move
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * HOW IT WORKS:
+ * Once per proxy, the island's solid cells (occupied cells whose block has any collision
+ * shape) are merged greedily into as few boxes as possible, each collidable cell counting
+ * as a full block. The boxes are cached on the proxy, with one rotated copy per turtle
+ * facing. An entity move first tests its swept box against the bounds of each traveling
+ * island, then against the boxes of the islands it touches; only boxes it touches become
+ * VoxelShapes, translated to the turtle's current position. Moves away from any island
+ * cost one bounds test per traveling island.
+ *
+ * The server tracks turtles carrying a proxy from IslandTravel, the client from the proxy
+ * payload, so a player's own movement prediction agrees with the server's checks. Entities
+ * standing on an island are not carried along with it.
+ *
+ * THREAD SAFETY:
+ * Each side keeps its own registry; the server one is only used on the server thread and
+ * the client one on the render thread.
+ */
+public final class IslandCollision {
+
+    private static final Reference2IntMap<AethelonEntity> SERVER_ISLANDS = new Reference2IntOpenHashMap<>();
+    private static final Reference2IntMap<AethelonEntity> CLIENT_ISLANDS = new Reference2IntOpenHashMap<>();
+
+    private IslandCollision() {
+    }
+
+    /**
+     * Make a turtle's proxy collide with entities
+     *
+     * @param turtle Turtle carrying a proxy
+     * @param offsetY Height of the island's bottom above the turtle
+     */
+    public static void track(AethelonEntity turtle, int offsetY) {
+        islands(turtle.getWorld().isClient).put(turtle, offsetY);
+    }
+
+    public static void untrack(AethelonEntity turtle) {
+        islands(turtle.getWorld().isClient).removeInt(turtle);
+    }
+
+    /**
+     * Forget every island of one side, e.g. when the client leaves a server
+     */
+    public static void clear(boolean client) {
+        islands(client).clear();
+    }
+
+    /**
+     * Add the collision shapes of traveling islands touched by an entity move
+     *
+     * @param entity Moving entity
+     * @param query Entity bounding box stretched by the movement
+     * @param collisions Entity collision shapes found so far (may be immutable)
+     * @return The given list, or a copy with island shapes added
+     */
+    public static List<VoxelShape> addCollisions(Entity entity, Box query, List<VoxelShape> collisions) {
+        Reference2IntMap<AethelonEntity> islands = islands(entity.getWorld().isClient);
+        if (islands.isEmpty() || entity instanceof AethelonEntity) {
+            return collisions;
+        }
+
+        List<VoxelShape> result = collisions;
+        ObjectIterator<Reference2IntMap.Entry<AethelonEntity>> iterator = islands.reference2IntEntrySet().iterator();
+        while (iterator.hasNext()) {
+            Reference2IntMap.Entry<AethelonEntity> entry = iterator.next();
+            AethelonEntity turtle = entry.getKey();
+            IslandProxy proxy = turtle.getIslandProxy();
+            if (turtle.isRemoved() || proxy == null) {
+                iterator.remove();
+                continue;
+            }
+            if (turtle.getWorld() != entity.getWorld()) {
+                continue;
+            }
+
+            BlockRotation rotation = MovementSync.getRotation(proxy.getFacing(), turtle.getHorizontalFacing());
+            Vec3i size = IslandTransform.rotateSize(proxy.getSnapshot().getSize(), rotation);
+            double originX = turtle.getX() - size.getX() / 2.0;
+            double originY = turtle.getY() + entry.getIntValue();
+            double originZ = turtle.getZ() - size.getZ() / 2.0;
+            if (!query.intersects(originX, originY, originZ,
+                    originX + size.getX(), originY + size.getY(), originZ + size.getZ())) {
+                continue;
+            }
+
+            for (Box box : getShape(proxy).getBoxes(rotation)) {
+                if (query.intersects(box.minX + originX, box.minY + originY, box.minZ + originZ,
+                        box.maxX + originX, box.maxY + originY, box.maxZ + originZ)) {
+                    if (result == collisions) {
+                        result = new ArrayList<>(collisions);
+                    }
+                    result.add(VoxelShapes.cuboid(box.offset(originX, originY, originZ)));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Reference2IntMap<AethelonEntity> islands(boolean client) {
+        return client ? CLIENT_ISLANDS : SERVER_ISLANDS;
+    }
+
+    private static Shape getShape(IslandProxy proxy) {
+        Shape shape = proxy.getCollisionShape();
+        if (shape == null) {
+            shape = new Shape(proxy.getSnapshot());
+            proxy.setCollisionShape(shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Merged collision boxes of one island, in island-local coordinates
+     */
+    static final class Shape {
+
+        private final Vec3i size;
+        // Indexed by BlockRotation ordinal; NONE is built eagerly, the rest on first use
+        private final Box[][] rotated = new Box[BlockRotation.values().length][];
+
+        Shape(IslandSnapshot snapshot) {
+            this.size = snapshot.getSize();
+            this.rotated[BlockRotation.NONE.ordinal()] = merge(snapshot);
+        }
+
+        Box[] getBoxes(BlockRotation rotation) {
+            Box[] boxes = rotated[rotation.ordinal()];
+            if (boxes == null) {
+                Box[] source = rotated[BlockRotation.NONE.ordinal()];
+                boxes = new Box[source.length];
+                for (int i = 0; i < source.length; i++) {
+                    Box box = source[i];
+                    boxes[i] = new Box(
+                        IslandTransform.rotateX(box.minX, box.minZ, size, rotation), box.minY,
+                        IslandTransform.rotateZ(box.minX, box.minZ, size, rotation),
+                        IslandTransform.rotateX(box.maxX, box.maxZ, size, rotation), box.maxY,
+                        IslandTransform.rotateZ(box.maxX, box.maxZ, size, rotation));
+                }
+                rotated[rotation.ordinal()] = boxes;
+            }
+            return boxes;
+        }
+
+        /**
+         * Greedily merge solid cells into boxes: grow along X, then Z, then Y
+         */
+        private static Box[] merge(IslandSnapshot snapshot) {
+            Vec3i size = snapshot.getSize();
+            int sizeX = size.getX();
+            int sizeZ = size.getZ();
+            BitSet open = new BitSet(sizeX * size.getY() * sizeZ);
+            snapshot.forEachBlock((x, y, z, state) -> {
+                if (!state.getCollisionShape(EmptyBlockView.INSTANCE, BlockPos.ORIGIN).isEmpty()) {
+                    open.set((y * sizeZ + z) * sizeX + x);
+                }
+            });
+
+            List<Box> boxes = new ArrayList<>();
+            for (int start = open.nextSetBit(0); start >= 0; start = open.nextSetBit(start + 1)) {
+                int x0 = start % sizeX;
+                int z0 = (start / sizeX) % sizeZ;
+                int y0 = start / (sizeX * sizeZ);
+
+                int x1 = x0;
+                while (x1 + 1 < sizeX && open.get(start + x1 + 1 - x0)) {
+                    x1++;
+                }
+                int z1 = z0;
+                while (z1 + 1 < sizeZ && isOpen(open, size, x0, x1, y0, y0, z1 + 1, z1 + 1)) {
+                    z1++;
+                }
+                int y1 = y0;
+                while (y1 + 1 < size.getY() && isOpen(open, size, x0, x1, y1 + 1, y1 + 1, z0, z1)) {
+                    y1++;
+                }
+
+                for (int y = y0; y <= y1; y++) {
+                    for (int z = z0; z <= z1; z++) {
+                        int row = (y * sizeZ + z) * sizeX;
+                        open.clear(row + x0, row + x1 + 1);
+                    }
+                }
+                boxes.add(new Box(x0, y0, z0, x1 + 1, y1 + 1, z1 + 1));
+            }
+            return boxes.toArray(new Box[0]);
+        }
+
+        private static boolean isOpen(BitSet open, Vec3i size, int x0, int x1, int y0, int y1, int z0, int z1) {
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    int row = (y * size.getZ() + z) * size.getX();
+                    if (open.nextClearBit(row + x0) <= row + x1) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerLightingProvider;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+
+/**
+ * IslandLightingService - Batched light recompute after island writes
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ServerLightingProvider.checkBlock, BlockState luminance/opacity
+ * - Hooks into: PlacementQueue job completion, BlockPlacer section writes
+ * - Modifies: Block and sky light of the touched section columns
+ *
+ * MODULE ROLE:
+ * - Purpose: Defer the light checks of island writes until a move commits, then issue
+ *   one check per changed position that light can reach and skip the enclosed rest
+ * - Dependencies: None
+ * - Provides: LightBatch collection, deferred culled light checks and relight metrics
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Light engine changes may require updates
+ *
+ * HOW IT WORKS:
+ * BlockPlacer records every written position whose luminance or opacity changed into
+ * the move's LightBatch instead of checking it right away; positions are grouped by
+ * chunk column as they arrive. Once every unit of the move has been written, relight()
+ * walks the positions column by column. A position is handed to the light engine (one
+ * checkBlock each) only if it emits light or borders at least one cell light can pass
+ * through; cells fully enclosed by opaque blocks (the bulk of a solid island) cannot
+ * change any visible light and are skipped. Because this runs after all writes, the enclosure test sees the final world
+ * and no check is issued for a block that a later unit overwrote. The section and column
+ * metrics count what the writes touched; the light engine still propagates per position.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class IslandLightingService {
+
+    // Metrics (server thread only)
+    private static long movesRelit = 0L;
+    private static long sectionsTouched = 0L;
+    private static long columnsTouched = 0L;
+    private static long checksIssued = 0L;
+    private static long checksCulled = 0L;
+    private static int lastMoveSections = 0;
+
+    private IslandLightingService() {
+    }
+
+    /**
+     * Check whether a block change can affect lighting at all
+     */
+    public static boolean affectsLight(BlockState oldState, BlockState newState) {
+        return oldState.getLuminance() != newState.getLuminance() ||
+               oldState.getOpacity() != newState.getOpacity() ||
+               oldState.hasSidedTransparency() != newState.hasSidedTransparency();
+    }
+
+    /**
+     * Check the light of every position collected in a batch
+     *
+     * @param world World the batch was written into
+     * @param batch Light-relevant positions of one move
+     */
+    public static void relight(ServerWorld world, LightBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        ServerLightingProvider lighting = world.getChunkManager().getLightingProvider();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        BlockPos.Mutable neighbor = new BlockPos.Mutable();
+        int issued = 0;
+        int culled = 0;
+
+        for (Long2ObjectMap.Entry<LongSet> column : batch.columns.long2ObjectEntrySet()) {
+            LongIterator iterator = column.getValue().iterator();
+            while (iterator.hasNext()) {
+                pos.set(iterator.nextLong());
+                if (needsCheck(world, pos, neighbor)) {
+                    lighting.checkBlock(pos.toImmutable());
+                    issued++;
+                } else {
+                    culled++;
+                }
+            }
+        }
+
+        movesRelit++;
+        columnsTouched += batch.columns.size();
+        sectionsTouched += batch.sections.size();
+        lastMoveSections = batch.sections.size();
+        checksIssued += issued;
+        checksCulled += culled;
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Relit {} touched sections in {} columns: {} checks, {} culled in {} us",
+                batch.sections.size(), batch.columns.size(), issued, culled, (System.nanoTime() - startTime) / 1000L);
+        }
+    }
+
+    private static boolean needsCheck(ServerWorld world, BlockPos pos, BlockPos.Mutable neighbor) {
+        BlockState state = world.getBlockState(pos);
+        if (state.getLuminance() > 0 || !state.isOpaqueFullCube()) {
+            return true;
+        }
+        for (Direction direction : Direction.values()) {
+            neighbor.set(pos, direction);
+            if (!world.getBlockState(neighbor).isOpaqueFullCube()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static long getMovesRelit() {
+        return movesRelit;
+    }
+
+    /**
+     * Sections that held at least one light-relevant write, over all moves
+     */
+    public static long getSectionsTouched() {
+        return sectionsTouched;
+    }
+
+    /**
+     * Chunk columns that held at least one light-relevant write, over all moves
+     */
+    public static long getColumnsTouched() {
+        return columnsTouched;
+    }
+
+    /**
+     * Sections touched by light-relevant writes of the most recently committed move
+     */
+    public static int getLastMoveSections() {
+        return lastMoveSections;
+    }
+
+    /**
+     * Average number of sections touched by light-relevant writes per committed move
+     */
+    public static double getAverageSectionsPerMove() {
+        return movesRelit == 0L ? 0.0 : (double) sectionsTouched / movesRelit;
+    }
+
+    public static long getChecksIssued() {
+        return checksIssued;
+    }
+
+    /**
+     * Light checks skipped because the block was fully enclosed by opaque blocks
+     */
+    public static long getChecksCulled() {
+        return checksCulled;
+    }
+
+    /**
+     * Light-relevant positions of one move, grouped by chunk column
+     */
+    public static final class LightBatch {
+        private final Long2ObjectOpenHashMap<LongSet> columns = new Long2ObjectOpenHashMap<>();
+        private final LongSet sections = new LongOpenHashSet();
+
+        /**
+         * Record a written position whose light may have changed
+         */
+        public void queue(BlockPos pos) {
+            long columnKey = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+            LongSet column = columns.get(columnKey);
+            if (column == null) {
+                column = new LongOpenHashSet();
+                columns.put(columnKey, column);
+            }
+            column.add(pos.asLong());
+            sections.add(ChunkSectionPos.toLong(pos));
+        }
+
+        public boolean isEmpty() {
+            return columns.isEmpty();
+        }
+
+        public int getColumnCount() {
+            return columns.size();
+        }
+
+        public int getSectionCount() {
+            return sections.size();
+        }
+    }
+}
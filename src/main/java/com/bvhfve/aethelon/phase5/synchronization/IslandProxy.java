@@ -0,0 +1,143 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.capture.SnapshotCodec;
+import com.bvhfve.aethelon.phase5.placement.PlacementQueue;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+/**
+ * IslandProxy - An island lifted out of the world and carried by its turtle
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: IslandSnapshot, SnapshotCodec (saved with the turtle)
+ * - Hooks into: None (held by AethelonEntity, driven by IslandTravel)
+ * - Modifies: None (data only)
+ *
+ * MODULE ROLE:
+ * - Purpose: Hold everything needed to put a traveling island back into the world
+ * - Dependencies: SnapshotCodec
+ * - Provides: Lifted island data and its save format
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * The snapshot carries its block entity data, since the block entities themselves were
+ * removed with their blocks when the island was lifted. It is saved with the turtle, so
+ * an island that is in the air when the turtle unloads or the server stops lands the
+ * next time the turtle ticks. A landing proxy is saved too, with the origin and facing
+ * it is landing at, until the landing has been written: the paste is spread over
+ * several ticks, and a save in between would otherwise keep only part of the island.
+ * Pasting again at the same origin is idempotent, so a reloaded landing simply restarts.
+ */
+public final class IslandProxy {
+
+    private final IslandSnapshot snapshot;
+    private final Direction facing;
+    private PlacementQueue.Job job;
+    private BlockPos landingOrigin;
+    private Direction landingFacing;
+    private IslandCollision.Shape collisionShape;
+
+    /**
+     * @param snapshot Island as it stood when lifted, including block entity data
+     * @param facing Horizontal facing of the island when lifted
+     */
+    public IslandProxy(IslandSnapshot snapshot, Direction facing) {
+        this.snapshot = snapshot;
+        this.facing = facing;
+    }
+
+    public IslandSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Facing the snapshot is stored in
+     */
+    public Direction getFacing() {
+        return facing;
+    }
+
+    /**
+     * Placement job of the lift (clear) or landing (paste), or null for a proxy loaded
+     * from disk
+     */
+    PlacementQueue.Job getJob() {
+        return job;
+    }
+
+    void setJob(PlacementQueue.Job job) {
+        this.job = job;
+    }
+
+    /**
+     * Check whether the island is being written back into the world
+     */
+    public boolean isLanding() {
+        return landingOrigin != null;
+    }
+
+    /**
+     * World position of the landing island's minimum corner, or null if not landing
+     */
+    BlockPos getLandingOrigin() {
+        return landingOrigin;
+    }
+
+    /**
+     * Facing the landing island is pasted in, or null if not landing
+     */
+    Direction getLandingFacing() {
+        return landingFacing;
+    }
+
+    void setLanding(BlockPos origin, Direction facing) {
+        this.landingOrigin = origin;
+        this.landingFacing = facing;
+    }
+
+    /**
+     * Merged collision boxes of the snapshot, or null until first needed
+     */
+    IslandCollision.Shape getCollisionShape() {
+        return collisionShape;
+    }
+
+    void setCollisionShape(IslandCollision.Shape collisionShape) {
+        this.collisionShape = collisionShape;
+    }
+
+    public NbtCompound writeNbt() {
+        NbtCompound nbt = SnapshotCodec.writeNbt(snapshot);
+        nbt.putByte("Facing", (byte) facing.getHorizontalQuarterTurns());
+        if (landingOrigin != null) {
+            nbt.putIntArray("LandingOrigin", new int[]{landingOrigin.getX(), landingOrigin.getY(), landingOrigin.getZ()});
+            nbt.putByte("LandingFacing", (byte) landingFacing.getHorizontalQuarterTurns());
+        }
+        return nbt;
+    }
+
+    /**
+     * Load a proxy saved by writeNbt
+     *
+     * @return Proxy, or null if the data is malformed
+     */
+    public static IslandProxy readNbt(NbtCompound nbt) {
+        IslandSnapshot snapshot = SnapshotCodec.readNbt(nbt);
+        if (snapshot == null) {
+            return null;
+        }
+        IslandProxy proxy = new IslandProxy(snapshot, Direction.fromHorizontalQuarterTurns(nbt.getByte("Facing")));
+        int[] landingOrigin = nbt.contains("LandingOrigin", NbtElement.INT_ARRAY_TYPE) ? nbt.getIntArray("LandingOrigin") : null;
+        if (landingOrigin != null && landingOrigin.length == 3) {
+            proxy.setLanding(new BlockPos(landingOrigin[0], landingOrigin[1], landingOrigin[2]),
+                Direction.fromHorizontalQuarterTurns(nbt.getByte("LandingFacing")));
+        }
+        return proxy;
+    }
+}
@@ -0,0 +1,192 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.placement.PlacementBatch;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+/**
+ * IslandShellUpdater - One neighbor/shape update pass along the outside of a commit
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: World.updateNeighbor, BlockState.updateNeighbors, World.updateComparators
+ * - Hooks into: PlacementQueue job completion (when Phase5Config.commitUpdateMode is "shell")
+ * - Modifies: Blocks bordering the written island volume
+ *
+ * MODULE ROLE:
+ * - Purpose: Replace per-block update cascades during an island commit with one pass
+ *   over the blocks that actually border the rest of the world
+ * - Dependencies: PlacementBatch
+ * - Provides: Shell computation and the post-commit update pass
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Neighbor update API changes may require updates
+ *
+ * HOW IT WORKS:
+ * While committing, blocks are written without neighbor updates, shape updates or
+ * comparator callbacks, so interior blocks never notify blocks that are about to be
+ * overwritten and machines built on the island do not see the move as a redstone
+ * event. The shell is every written position with at least one neighbor outside the
+ * batch; once the whole batch is in place each shell block sends shape updates and
+ * comparator updates once, and neighbor updates only toward the outside faces.
+ * Water sources refilled behind the island (Phase5Config.refillWater) are skipped when
+ * every neighbor is water as well: they change nothing for their neighbors, and updating
+ * them would only schedule a fluid tick on each water block along the crater's rim.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class IslandShellUpdater {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Statistics (server thread only)
+    private static long shellBlocksUpdated = 0L;
+    private static long interiorBlocksSkipped = 0L;
+    private static long waterBlocksSkipped = 0L;
+
+    private IslandShellUpdater() {
+    }
+
+    /**
+     * Check whether commits should suppress updates and finish with a shell pass
+     */
+    public static boolean isEnabled() {
+        return "shell".equals(AethelonConfig.INSTANCE.phases.phase5.commitUpdateMode);
+    }
+
+    /**
+     * Find the written positions that border blocks outside the batch
+     *
+     * @param batch Complete set of writes for one commit
+     * @return Shell positions and, for each, a bitmask of outward-facing directions
+     */
+    public static Shell computeShell(PlacementBatch batch) {
+        LongOpenHashSet written = new LongOpenHashSet(batch.size());
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            for (int i = 0; i < section.size(); i++) {
+                written.add(section.getWorldPos(i).asLong());
+            }
+        }
+
+        Shell shell = new Shell();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        BlockPos.Mutable neighbor = new BlockPos.Mutable();
+        for (long packed : written) {
+            pos.set(packed);
+            int outside = 0;
+            for (Direction direction : DIRECTIONS) {
+                neighbor.set(pos, direction);
+                if (!written.contains(neighbor.asLong())) {
+                    outside |= 1 << direction.ordinal();
+                }
+            }
+            if (outside != 0) {
+                shell.positions.add(packed);
+                shell.outsideFaces.add(outside);
+            }
+        }
+        shell.interiorCount = written.size() - shell.positions.size();
+        return shell;
+    }
+
+    /**
+     * Run the update pass for a committed batch
+     *
+     * @param world World the batch was written into
+     * @param shell Shell computed from the batch before it was committed
+     */
+    public static void update(ServerWorld world, Shell shell) {
+        long startTime = System.nanoTime();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        BlockPos.Mutable neighbor = new BlockPos.Mutable();
+        int waterSkipped = 0;
+
+        for (int i = 0; i < shell.positions.size(); i++) {
+            pos.set(shell.positions.getLong(i));
+            BlockState state = world.getBlockState(pos);
+            if (state == Blocks.WATER.getDefaultState() && isSurroundedByWater(world, pos, neighbor)) {
+                waterSkipped++;
+                continue;
+            }
+            BlockPos immutablePos = pos.toImmutable();
+            Block block = state.getBlock();
+            int outside = shell.outsideFaces.getInt(i);
+
+            state.updateNeighbors(world, immutablePos, Block.NOTIFY_LISTENERS);
+            for (Direction direction : DIRECTIONS) {
+                if ((outside & (1 << direction.ordinal())) != 0) {
+                    world.updateNeighbor(immutablePos.offset(direction), block, null);
+                }
+            }
+            if (state.hasComparatorOutput()) {
+                world.updateComparators(immutablePos, block);
+            }
+        }
+
+        shellBlocksUpdated += shell.positions.size() - waterSkipped;
+        interiorBlocksSkipped += shell.interiorCount;
+        waterBlocksSkipped += waterSkipped;
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Shell update pass: {} blocks updated, {} interior and {} water skipped in {} us",
+                shell.positions.size() - waterSkipped, shell.interiorCount, waterSkipped,
+                (System.nanoTime() - startTime) / 1000L);
+        }
+    }
+
+    private static boolean isSurroundedByWater(ServerWorld world, BlockPos pos, BlockPos.Mutable neighbor) {
+        for (Direction direction : DIRECTIONS) {
+            if (!world.getFluidState(neighbor.set(pos, direction)).isIn(FluidTags.WATER)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static long getShellBlocksUpdated() {
+        return shellBlocksUpdated;
+    }
+
+    /**
+     * Written blocks that received no updates because they only border other written blocks
+     */
+    public static long getInteriorBlocksSkipped() {
+        return interiorBlocksSkipped;
+    }
+
+    /**
+     * Shell water sources that received no updates because only water surrounds them
+     */
+    public static long getWaterBlocksSkipped() {
+        return waterBlocksSkipped;
+    }
+
+    /**
+     * Outer shell of one commit
+     */
+    public static final class Shell {
+        private final LongArrayList positions = new LongArrayList();
+        private final IntArrayList outsideFaces = new IntArrayList();
+        private int interiorCount = 0;
+
+        public int size() {
+            return positions.size();
+        }
+
+        public int getInteriorCount() {
+            return interiorCount;
+        }
+    }
+}
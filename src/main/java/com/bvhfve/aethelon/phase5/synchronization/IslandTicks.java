@@ -0,0 +1,228 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.tick.BasicTickScheduler;
+import net.minecraft.world.tick.ChunkTickScheduler;
+import net.minecraft.world.tick.OrderedTick;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * IslandTicks - Carries an island's scheduled block and fluid ticks through a move step
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkTickScheduler (block and fluid), OrderedTick, World time
+ * - Hooks into: MovementSync commit stage and PlacementQueue job completion
+ * - Modifies: The tick schedulers of the chunks under the old and new island
+ *
+ * MODULE ROLE:
+ * - Purpose: Keep redstone, farms and flowing fluids on an island ticking across moves
+ * - Dependencies: IslandSnapshot (which cells belong to the island), IslandTransform
+ * - Provides: Per-step tick transfer, transfer counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Tick scheduler changes may require updates
+ *
+ * HOW IT WORKS:
+ * When a step is committed, each chunk under the old island box is visited once and
+ * one removeTicksIf pass over its block and fluid schedulers pulls out every tick that
+ * sits on an island cell, so none of them fire at the old location while the step is
+ * written. Once the step's last block is written the ticks go back in at the moved and
+ * rotated positions, grouped by destination chunk so each chunk scheduler is looked up
+ * once. Trigger times are shifted by the ticks the step took, which keeps every delay
+ * relative to the move. Priority and sub-tick order are kept as they were, so ticks
+ * that were due together still run in the same order.
+ *
+ * This runs between world ticks, when the world schedulers hold no ticks of their own
+ * and everything pending is in the chunk schedulers. A tick for a position and type
+ * that is already queued at the destination (placement may schedule one) is dropped
+ * by the chunk scheduler like any duplicate.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+final class IslandTicks {
+
+    // Statistics (server thread only)
+    private static long totalTicksMoved = 0L;
+    private static long totalTicksDropped = 0L;
+
+    private final List<OrderedTick<Block>> blockTicks;
+    private final List<OrderedTick<Fluid>> fluidTicks;
+    private final long takenAt;
+    private final BlockPos from;
+    private final BlockPos to;
+    private final Vec3i size;
+    private final BlockRotation rotation;
+
+    private IslandTicks(List<OrderedTick<Block>> blockTicks, List<OrderedTick<Fluid>> fluidTicks, long takenAt,
+                        BlockPos from, BlockPos to, Vec3i size, BlockRotation rotation) {
+        this.blockTicks = blockTicks;
+        this.fluidTicks = fluidTicks;
+        this.takenAt = takenAt;
+        this.from = from;
+        this.to = to;
+        this.size = size;
+        this.rotation = rotation;
+    }
+
+    /**
+     * Take the pending ticks of an island that is about to move out of the world schedulers
+     *
+     * @param world Server world
+     * @param snapshot Island as placed at the old origin
+     * @param from Old island origin
+     * @param to New island origin
+     * @param rotation Rotation of the step
+     */
+    static IslandTicks take(ServerWorld world, IslandSnapshot snapshot, BlockPos from, BlockPos to,
+                            BlockRotation rotation) {
+        Vec3i size = snapshot.getSize();
+        List<OrderedTick<Block>> blockTicks = new ArrayList<>();
+        List<OrderedTick<Fluid>> fluidTicks = new ArrayList<>();
+
+        int minChunkX = ChunkSectionPos.getSectionCoord(from.getX());
+        int minChunkZ = ChunkSectionPos.getSectionCoord(from.getZ());
+        int maxChunkX = ChunkSectionPos.getSectionCoord(from.getX() + size.getX() - 1);
+        int maxChunkZ = ChunkSectionPos.getSectionCoord(from.getZ() + size.getZ() - 1);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                WorldChunk chunk = world.getChunk(chunkX, chunkZ);
+                takeFrom(chunk.getBlockTickScheduler(), snapshot, from, blockTicks);
+                takeFrom(chunk.getFluidTickScheduler(), snapshot, from, fluidTicks);
+            }
+        }
+        return new IslandTicks(blockTicks, fluidTicks, world.getTime(), from, to, size, rotation);
+    }
+
+    private static <T> void takeFrom(BasicTickScheduler<T> scheduler, IslandSnapshot snapshot, BlockPos origin,
+                                     List<OrderedTick<T>> taken) {
+        if (!(scheduler instanceof ChunkTickScheduler<T> chunkScheduler) || chunkScheduler.getTickCount() == 0) {
+            return;
+        }
+        chunkScheduler.removeTicksIf(tick -> {
+            BlockPos pos = tick.pos();
+            int x = pos.getX() - origin.getX();
+            int y = pos.getY() - origin.getY();
+            int z = pos.getZ() - origin.getZ();
+            if (snapshot.contains(x, y, z) && snapshot.isOccupied(x, y, z)) {
+                taken.add(tick);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public boolean isEmpty() {
+        return blockTicks.isEmpty() && fluidTicks.isEmpty();
+    }
+
+    /**
+     * Schedule the taken ticks at the island's new position
+     * Called once, after the last block of the step has been written.
+     */
+    void restore(ServerWorld world) {
+        if (isEmpty()) {
+            return;
+        }
+        long shift = world.getTime() - takenAt;
+        int moved = restoreInto(world, blockTicks, shift, WorldChunk::getBlockTickScheduler, true)
+            + restoreInto(world, fluidTicks, shift, WorldChunk::getFluidTickScheduler, true);
+
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Moved {} block and {} fluid ticks from {} to {}", blockTicks.size(),
+                fluidTicks.size(), from.toShortString(), to.toShortString());
+        }
+        totalTicksMoved += moved;
+        totalTicksDropped += blockTicks.size() + fluidTicks.size() - moved;
+    }
+
+    /**
+     * Schedule the taken ticks back where they were taken from
+     * Called instead of restore() when the step failed and the island stays at its old origin.
+     */
+    void putBack(ServerWorld world) {
+        if (isEmpty()) {
+            return;
+        }
+        long shift = world.getTime() - takenAt;
+        int kept = restoreInto(world, blockTicks, shift, WorldChunk::getBlockTickScheduler, false)
+            + restoreInto(world, fluidTicks, shift, WorldChunk::getFluidTickScheduler, false);
+        totalTicksDropped += blockTicks.size() + fluidTicks.size() - kept;
+    }
+
+    private <T> int restoreInto(ServerWorld world, List<OrderedTick<T>> ticks, long shift,
+                                Function<WorldChunk, BasicTickScheduler<T>> schedulerOf, boolean moved) {
+        if (ticks.isEmpty()) {
+            return 0;
+        }
+
+        // Group by destination chunk first so each chunk scheduler is fetched once
+        Long2ObjectMap<List<OrderedTick<T>>> byChunk = new Long2ObjectOpenHashMap<>();
+        for (OrderedTick<T> tick : ticks) {
+            BlockPos pos = moved ? transform(tick.pos()) : tick.pos();
+            OrderedTick<T> moved = new OrderedTick<>(tick.type(), pos, tick.triggerTick() + shift,
+                tick.priority(), tick.subTickOrder());
+            byChunk.computeIfAbsent(ChunkPos.toLong(pos), key -> new ArrayList<>()).add(moved);
+        }
+
+        int scheduled = 0;
+        for (Long2ObjectMap.Entry<List<OrderedTick<T>>> entry : byChunk.long2ObjectEntrySet()) {
+            int chunkX = ChunkPos.getPackedX(entry.getLongKey());
+            int chunkZ = ChunkPos.getPackedZ(entry.getLongKey());
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                continue;
+            }
+            BasicTickScheduler<T> scheduler = schedulerOf.apply(world.getChunk(chunkX, chunkZ));
+            for (OrderedTick<T> tick : entry.getValue()) {
+                scheduler.scheduleTick(tick);
+            }
+            scheduled += entry.getValue().size();
+        }
+        return scheduled;
+    }
+
+    private BlockPos transform(BlockPos pos) {
+        int x = pos.getX() - from.getX();
+        int z = pos.getZ() - from.getZ();
+        return new BlockPos(
+            to.getX() + IslandTransform.rotateX(x, z, size, rotation),
+            to.getY() + (pos.getY() - from.getY()),
+            to.getZ() + IslandTransform.rotateZ(x, z, size, rotation)
+        );
+    }
+
+    /**
+     * Scheduled ticks carried to a new island position
+     */
+    public static long getTotalTicksMoved() {
+        return totalTicksMoved;
+    }
+
+    /**
+     * Scheduled ticks lost because their destination chunk was no longer loaded
+     */
+    public static long getTotalTicksDropped() {
+        return totalTicksDropped;
+    }
+}
@@ -0,0 +1,323 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.capture.SectionSnapshot;
+import com.bvhfve.aethelon.phase5.placement.PlacementBatch;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Vec3i;
+
+/**
+ * IslandTransform - Pure island transforms used by the move pipeline
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: BlockRotation, StateTransformTable, block entity NBT position tags
+ * - Hooks into: None (pure functions over immutable snapshots)
+ * - Modifies: None (returns new snapshots and batches)
+ *
+ * MODULE ROLE:
+ * - Purpose: Rotate, translate and diff islands without touching the world
+ * - Dependencies: IslandSnapshot, PlacementBatch
+ * - Provides: Rotated snapshots, block entity rewriting and move diffs
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * THREAD SAFETY:
+ * Every method only reads immutable snapshots and NBT that no other thread modifies,
+ * so they may run on MovePipeline worker threads.
+ */
+public final class IslandTransform {
+
+    private IslandTransform() {
+    }
+
+    /**
+     * Size of an island after rotating it around the Y axis
+     */
+    public static Vec3i rotateSize(Vec3i size, BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90, COUNTERCLOCKWISE_90 -> new Vec3i(size.getZ(), size.getY(), size.getX());
+            default -> size;
+        };
+    }
+
+    /**
+     * Rotate an island-local X coordinate
+     *
+     * @param size Island size before rotation
+     */
+    public static int rotateX(int x, int z, Vec3i size, BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> size.getZ() - 1 - z;
+            case COUNTERCLOCKWISE_90 -> z;
+            case CLOCKWISE_180 -> size.getX() - 1 - x;
+            default -> x;
+        };
+    }
+
+    /**
+     * Rotate an island-local Z coordinate
+     *
+     * @param size Island size before rotation
+     */
+    public static int rotateZ(int x, int z, Vec3i size, BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> x;
+            case COUNTERCLOCKWISE_90 -> size.getX() - 1 - x;
+            case CLOCKWISE_180 -> size.getZ() - 1 - z;
+            default -> z;
+        };
+    }
+
+    /**
+     * Rotate an island-local point's X coordinate (continuous, cells span [x, x + 1))
+     *
+     * @param size Island size before rotation
+     */
+    public static double rotateX(double x, double z, Vec3i size, BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> size.getZ() - z;
+            case COUNTERCLOCKWISE_90 -> z;
+            case CLOCKWISE_180 -> size.getX() - x;
+            default -> x;
+        };
+    }
+
+    /**
+     * Rotate an island-local point's Z coordinate (continuous, cells span [z, z + 1))
+     *
+     * @param size Island size before rotation
+     */
+    public static double rotateZ(double x, double z, Vec3i size, BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> x;
+            case COUNTERCLOCKWISE_90 -> size.getX() - x;
+            case CLOCKWISE_180 -> size.getZ() - z;
+            default -> z;
+        };
+    }
+
+    /**
+     * Rotate an island around its own center
+     *
+     * @param snapshot Island to rotate
+     * @param blockEntities Block entity data keyed by packed local position (before rotation)
+     * @param rotation Rotation to apply
+     * @return Rotated island carrying the given block entity data at the rotated positions
+     */
+    public static IslandSnapshot rotate(IslandSnapshot snapshot, Int2ObjectMap<NbtCompound> blockEntities,
+                                        BlockRotation rotation) {
+        Vec3i size = snapshot.getSize();
+        IslandSnapshot.Builder builder = IslandSnapshot.builder(rotateSize(size, rotation));
+
+        // Rotate each section palette once through the shared table, never per block
+        for (int sy = 0; sy < snapshot.getSectionsY(); sy++) {
+            for (int sz = 0; sz < snapshot.getSectionsZ(); sz++) {
+                for (int sx = 0; sx < snapshot.getSectionsX(); sx++) {
+                    SectionSnapshot section = snapshot.getSection(sx, sy, sz);
+                    if (section == null) {
+                        continue;
+                    }
+                    BlockState[] palette = new BlockState[section.getPaletteSize()];
+                    for (int i = 0; i < palette.length; i++) {
+                        palette[i] = section.getPaletteEntry(i);
+                    }
+
+                    int baseX = sx << 4;
+                    int baseY = sy << 4;
+                    int baseZ = sz << 4;
+                    section.forEachOccupied((x, y, z, state) -> builder.setBlockState(
+                        rotateX(baseX + x, baseZ + z, size, rotation), baseY + y,
+                        rotateZ(baseX + x, baseZ + z, size, rotation), state
+                    ), StateTransformTable.rotatePalette(palette, rotation));
+                }
+            }
+        }
+
+        for (Int2ObjectMap.Entry<NbtCompound> entry : blockEntities.int2ObjectEntrySet()) {
+            int packed = entry.getIntKey();
+            int x = IslandSnapshot.unpackX(packed);
+            int z = IslandSnapshot.unpackZ(packed);
+            builder.setBlockEntityNbt(rotateX(x, z, size, rotation), IslandSnapshot.unpackY(packed),
+                rotateZ(x, z, size, rotation), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy block entity data and point its position tags at a new world position
+     */
+    public static NbtCompound rewriteBlockEntity(NbtCompound nbt, int x, int y, int z) {
+        NbtCompound copy = nbt.copy();
+        copy.putInt("x", x);
+        copy.putInt("y", y);
+        copy.putInt("z", z);
+        return copy;
+    }
+
+    /**
+     * Compute the writes that turn the island at one position into the island at another
+     *
+     * For every new island cell the block currently in the world is the old island cell at
+     * the same world position, so the cell is written only if the two differ (or if full is
+     * set, or it carries a block entity). Old cells that no new cell covers are cleared:
+     * to air, or to a water source below the refill level, so the hole an island leaves in
+     * the ocean is closed by the same section write that empties it instead of by fluid
+     * spread. Cells still inside the new island's box are the island's own air (rooms below
+     * the waterline) and stay air.
+     * Block entity writes also record the world position of the old cell they came from,
+     * so the live block entity can be moved instead of rebuilt from NBT.
+     *
+     * @param oldSnapshot Island as it currently stands in the world
+     * @param from World origin of the old island
+     * @param newSnapshot Island to place (may be rotated relative to the old one)
+     * @param to World origin of the new island
+     * @param blockEntities Block entity data keyed by packed new-island local position
+     * @param rotation Rotation that turned the old island into the new one
+     * @param full Write every new cell, not only the changed ones
+     * @param refillLevel World Y below which cleared cells become water (Integer.MIN_VALUE for none)
+     * @return Block writes for the move
+     */
+    public static PlacementBatch diff(IslandSnapshot oldSnapshot, BlockPos from,
+                                      IslandSnapshot newSnapshot, BlockPos to,
+                                      Int2ObjectMap<NbtCompound> blockEntities, BlockRotation rotation,
+                                      boolean full, int refillLevel) {
+        PlacementBatch batch = new PlacementBatch();
+        BlockState air = Blocks.AIR.getDefaultState();
+        BlockState water = Blocks.WATER.getDefaultState();
+        int dx = to.getX() - from.getX();
+        int dy = to.getY() - from.getY();
+        int dz = to.getZ() - from.getZ();
+        Vec3i newSize = newSnapshot.getSize();
+        BlockRotation back = invert(rotation);
+
+        newSnapshot.forEachBlock((x, y, z, state) -> {
+            NbtCompound nbt = blockEntities.get(IslandSnapshot.packLocal(x, y, z));
+            if (full || nbt != null || oldSnapshot.getBlockState(x + dx, y + dy, z + dz) != state) {
+                int worldX = to.getX() + x;
+                int worldY = to.getY() + y;
+                int worldZ = to.getZ() + z;
+                if (nbt == null) {
+                    batch.add(worldX, worldY, worldZ, state, null);
+                } else {
+                    long source = BlockPos.asLong(from.getX() + rotateX(x, z, newSize, back), from.getY() + y,
+                        from.getZ() + rotateZ(x, z, newSize, back));
+                    batch.add(worldX, worldY, worldZ, state, rewriteBlockEntity(nbt, worldX, worldY, worldZ), source);
+                }
+            }
+        });
+
+        oldSnapshot.forEachBlock((x, y, z, state) -> {
+            if (!newSnapshot.isOccupied(x - dx, y - dy, z - dz)) {
+                int worldY = from.getY() + y;
+                boolean refill = worldY < refillLevel && !newSnapshot.contains(x - dx, y - dy, z - dz);
+                batch.add(from.getX() + x, worldY, from.getZ() + z, refill ? water : air, null);
+            }
+        });
+
+        return batch;
+    }
+
+    /**
+     * Rotation that undoes the given one
+     */
+    static BlockRotation invert(BlockRotation rotation) {
+        return switch (rotation) {
+            case CLOCKWISE_90 -> BlockRotation.COUNTERCLOCKWISE_90;
+            case COUNTERCLOCKWISE_90 -> BlockRotation.CLOCKWISE_90;
+            default -> rotation;
+        };
+    }
+
+    /**
+     * Split move writes into the ones that leave the standing island intact and the rest
+     *
+     * The stage part holds plain block writes into cells the old island does not occupy:
+     * the new island growing next to the old one. Everything that removes or replaces an
+     * old island block, and every block entity write (whose live source must stay in place
+     * until it is moved), goes into the commit part.
+     *
+     * @param batch Writes computed by diff
+     * @param oldSnapshot Island as it currently stands in the world
+     * @param from World origin of the old island
+     * @return Batches {stage, commit}
+     */
+    public static PlacementBatch[] stage(PlacementBatch batch, IslandSnapshot oldSnapshot, BlockPos from) {
+        PlacementBatch stage = new PlacementBatch();
+        PlacementBatch commit = new PlacementBatch();
+
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            long sectionPos = section.getSectionPos();
+            int baseX = ChunkSectionPos.getBlockCoord(ChunkSectionPos.unpackX(sectionPos));
+            int baseY = ChunkSectionPos.getBlockCoord(ChunkSectionPos.unpackY(sectionPos));
+            int baseZ = ChunkSectionPos.getBlockCoord(ChunkSectionPos.unpackZ(sectionPos));
+            for (int i = 0; i < section.size(); i++) {
+                short localPos = section.getLocalPos(i);
+                int x = baseX + ChunkSectionPos.unpackLocalX(localPos);
+                int y = baseY + ChunkSectionPos.unpackLocalY(localPos);
+                int z = baseZ + ChunkSectionPos.unpackLocalZ(localPos);
+                BlockState state = section.getState(i);
+                NbtCompound nbt = section.getBlockEntityNbt(localPos);
+
+                if (nbt == null && !state.isAir()
+                        && !oldSnapshot.isOccupied(x - from.getX(), y - from.getY(), z - from.getZ())) {
+                    stage.add(x, y, z, state, null);
+                } else {
+                    commit.add(x, y, z, state, nbt, section.getBlockEntitySource(localPos));
+                }
+            }
+        }
+        return new PlacementBatch[]{stage, commit};
+    }
+
+    /**
+     * Result of the transform stage
+     *
+     * @param snapshot Island in its new orientation
+     * @param batch Writes that move the island into place
+     * @param stage Part of batch written before the commit, or null if the move is not staged
+     * @param commit Part of batch written in one tick once the stage is done, or null if
+     *               the move is not staged
+     */
+    public record Result(IslandSnapshot snapshot, PlacementBatch batch, PlacementBatch stage, PlacementBatch commit) {
+
+        Result(IslandSnapshot snapshot, PlacementBatch batch) {
+            this(snapshot, batch, null, null);
+        }
+
+        public boolean isStaged() {
+            return stage != null;
+        }
+    }
+
+    /**
+     * Run the full transform stage: rotate if needed, then diff against the old placement
+     *
+     * @param staged Also split the writes into stage and commit parts (see stage)
+     * @param refillLevel World Y below which vacated cells are refilled with water (see diff)
+     */
+    public static Result apply(IslandSnapshot oldSnapshot, Int2ObjectMap<NbtCompound> blockEntities,
+                               BlockPos from, BlockPos to, BlockRotation rotation, boolean full, boolean staged,
+                               int refillLevel) {
+        IslandSnapshot snapshot = rotation == BlockRotation.NONE
+            ? oldSnapshot
+            : rotate(oldSnapshot, blockEntities, rotation);
+        PlacementBatch batch = diff(oldSnapshot, from, snapshot, to,
+            rotation == BlockRotation.NONE ? blockEntities : snapshot.getBlockEntities(), rotation, full,
+            refillLevel);
+        if (!staged) {
+            return new Result(snapshot, batch);
+        }
+
+        PlacementBatch[] parts = stage(batch, oldSnapshot, from);
+        return new Result(snapshot, batch, parts[0], parts[1]);
+    }
+}
@@ -0,0 +1,202 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.capture.BlockCapture;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.placement.PlacementBatch;
+import com.bvhfve.aethelon.phase5.placement.PlacementQueue;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandProxyPayload;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandSyncNetworking;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+
+/**
+ * IslandTravel - Proxy travel mode: the island leaves the world for the journey
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: PlacementQueue (one clear, one paste), IslandProxyPayload
+ * - Hooks into: MovementSync (AethelonEntity server tick), entity tracking events,
+ *   IslandCollision (while the island is lifted)
+ * - Modifies: World blocks at the departure and arrival points only
+ *
+ * MODULE ROLE:
+ * - Purpose: Move an island over a long journey with O(blocks) world writes instead of
+ *   O(blocks x steps)
+ * - Dependencies: MovementSync (capture and dirty tracking), IslandTransform (rotation),
+ *   IslandSyncNetworking
+ * - Provides: Lift and landing of islands, proxy sync for tracking players
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * HOW IT WORKS (Phase5Config.travelMode = "proxy"):
+ * When the turtle enters MOVING, the island is captured once (block entities included)
+ * and cleared from the world in a single PlacementQueue job. The turtle then carries it
+ * as an IslandProxy: clients draw the proxy on the turtle instead of world blocks, and
+ * no island blocks are written while the turtle travels. As soon as the turtle leaves
+ * MOVING (TRANSITIONING at the destination, or any other state), the island is rotated
+ * to the turtle's facing and pasted once at the turtle's position. Clients keep drawing
+ * the proxy until that paste has been written, then switch to the real blocks.
+ *
+ * A landing waits for the lift's clear job to finish, so the two jobs never interleave.
+ * The proxy is saved with the turtle; a turtle that unloads or a server that stops mid
+ * journey lands the island the next time the turtle ticks. Until a landing has been
+ * written the proxy is saved with its landing origin and facing, and a turtle loaded
+ * mid-landing pastes the island there again. Travel steps are not written
+ * to the MoveJournal: replaying a lift or a landing against a turtle saved on the other
+ * side of it would lose or duplicate the island, so proxy travel relies on the turtle
+ * and its chunks being saved together.
+ *
+ * A landing writes the island's blocks and, when the turtle is in water, air into the
+ * island's empty cells below sea level, so rooms below the waterline do not arrive
+ * flooded (the lift refills them, see MovementSync.getRefillLevel). Other empty cells
+ * are not written: like a block-mode step, a landing overwrites whatever stands where
+ * the island has blocks and leaves terrain in the island's air cells above the water.
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public final class IslandTravel {
+
+    // Statistics (server thread only)
+    private static long islandsLifted = 0L;
+    private static long islandsLanded = 0L;
+
+    private IslandTravel() {
+    }
+
+    public static boolean isEnabled() {
+        return "proxy".equals(AethelonConfig.INSTANCE.phases.phase5.travelMode);
+    }
+
+    /**
+     * Drive a lifted island for one tick
+     *
+     * @return true if the turtle carries a proxy, so MovementSync must not move blocks
+     */
+    static boolean tick(ServerWorld world, AethelonEntity entity) {
+        IslandProxy proxy = entity.getIslandProxy();
+        if (proxy == null) {
+            return false;
+        }
+        // Cheap to repeat; also covers proxies loaded with the turtle
+        IslandCollision.track(entity, AethelonConfig.INSTANCE.phases.phase5.islandOffsetY);
+        if (proxy.getJob() != null && !proxy.getJob().isDone()) {
+            return true;
+        }
+        // A landing proxy without a job was loaded mid-landing and lands again at its origin
+        if (proxy.isLanding() ? proxy.getJob() == null : entity.getCurrentState() != AethelonEntity.AethelonState.MOVING) {
+            land(world, entity, proxy);
+        }
+        return true;
+    }
+
+    /**
+     * Take the island out of the world and hand it to the turtle
+     *
+     * @param world Server world
+     * @param entity Turtle entering MOVING
+     * @param snapshot Island at the turtle's island origin, with current block entity data
+     */
+    static void lift(ServerWorld world, AethelonEntity entity, IslandSnapshot snapshot) {
+        BlockPos origin = entity.getIslandOrigin();
+        IslandProxy proxy = new IslandProxy(snapshot, entity.getIslandFacing());
+        proxy.setJob(PlacementQueue.submit(world, PlacementBatch.clear(snapshot, origin, Blocks.AIR.getDefaultState(),
+            Blocks.WATER.getDefaultState(), MovementSync.getRefillLevel(world, entity))));
+
+        entity.setIslandProxy(proxy);
+        entity.setIslandSnapshot(null);
+        entity.setIslandOrigin(null);
+        IslandSyncNetworking.sendProxyToTracking(entity, createPayload(entity, proxy));
+
+        islandsLifted++;
+        if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+            AethelonCore.LOGGER.debug("Lifted island of turtle {} at {}: {}", entity.getUuid(),
+                origin.toShortString(), snapshot);
+        }
+    }
+
+    /**
+     * Paste a lifted island back at the turtle's position, or at the origin of a landing
+     * that was interrupted by a reload
+     */
+    private static void land(ServerWorld world, AethelonEntity entity, IslandProxy proxy) {
+        Direction facing = proxy.isLanding() ? proxy.getLandingFacing() : entity.getHorizontalFacing();
+        BlockRotation rotation = MovementSync.getRotation(proxy.getFacing(), facing);
+        IslandSnapshot snapshot = rotation == BlockRotation.NONE
+            ? proxy.getSnapshot()
+            : IslandTransform.rotate(proxy.getSnapshot(), proxy.getSnapshot().getBlockEntities(), rotation);
+        BlockPos origin = proxy.isLanding()
+            ? proxy.getLandingOrigin()
+            : BlockCapture.getIslandOrigin(entity.getBlockPos(), snapshot.getSize());
+
+        PlacementQueue.Job job = PlacementQueue.submit(world, PlacementBatch.paste(snapshot, origin,
+            Blocks.AIR.getDefaultState(), MovementSync.getRefillLevel(world, entity)));
+        proxy.setJob(job);
+        proxy.setLanding(origin, facing);
+        job.whenDone(() -> {
+            if (entity.getIslandProxy() != proxy) {
+                return;
+            }
+            entity.setIslandProxy(null);
+            IslandCollision.untrack(entity);
+            entity.setIslandSnapshot(snapshot);
+            entity.setIslandOrigin(origin);
+            entity.setIslandFacing(facing);
+            if (!entity.isRemoved()) {
+                Vec3i size = snapshot.getSize();
+                MovementSync.track(world, entity,
+                    BlockBox.create(origin, origin.add(size.getX() - 1, size.getY() - 1, size.getZ() - 1)));
+            }
+            IslandSyncNetworking.sendProxyToTracking(entity, IslandProxyPayload.cleared(entity.getId()));
+
+            islandsLanded++;
+            if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+                AethelonCore.LOGGER.debug("Landed island of turtle {} at {} facing {}", entity.getUuid(),
+                    origin.toShortString(), facing);
+            }
+        });
+    }
+
+    /**
+     * Send the proxy of a turtle to a player that just started tracking it
+     */
+    public static void onStartTracking(AethelonEntity entity, ServerPlayerEntity player) {
+        IslandProxy proxy = entity.getIslandProxy();
+        if (proxy != null) {
+            IslandSyncNetworking.sendProxyToPlayer(player, createPayload(entity, proxy));
+        }
+    }
+
+    /**
+     * Let a player that stopped tracking a turtle drop its proxy
+     */
+    public static void onStopTracking(AethelonEntity entity, ServerPlayerEntity player) {
+        if (entity.getIslandProxy() != null) {
+            IslandSyncNetworking.sendProxyToPlayer(player, IslandProxyPayload.cleared(entity.getId()));
+        }
+    }
+
+    private static IslandProxyPayload createPayload(AethelonEntity entity, IslandProxy proxy) {
+        return new IslandProxyPayload(entity.getId(), proxy.getFacing(),
+            AethelonConfig.INSTANCE.phases.phase5.islandOffsetY, proxy.getSnapshot());
+    }
+
+    public static long getIslandsLifted() {
+        return islandsLifted;
+    }
+
+    public static long getIslandsLanded() {
+        return islandsLanded;
+    }
+}
@@ -0,0 +1,987 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase5.placement.PlacementBatch;
+import com.bvhfve.aethelon.phase5.placement.PlacementModule;
+import com.bvhfve.aethelon.phase5.placement.PlacementQueue;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.dimension.DimensionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32C;
+
+/**
+ * MoveJournal - Crash-safe write-ahead journal of island moves
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: World save directory (per-dimension data folder), NbtIo, NbtHelper
+ * - Hooks into: MovementSync commit stage, ServerWorld.save (through ServerWorldMixin),
+ *   SERVER_STARTED (recovery) and SERVER_STOPPED (close) through SyncModule
+ * - Modifies: data/aethelon_moves/N.journal segments in each dimension's folder; on
+ *   recovery, world blocks through PlacementQueue and RecoveredPlacements
+ *
+ * MODULE ROLE:
+ * - Purpose: Make sure the world and the turtles agree on where each island stands
+ *   after a crash, instead of leaving an island half at its old and half at its new
+ *   position or at a position its turtle does not know about
+ * - Dependencies: PlacementQueue, RecoveredPlacements, AethelonConfig
+ *   (Phase5Config.moveJournal)
+ * - Provides: Move begin/end records, startup replay, journal counters
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * HOW IT WORKS:
+ * Every block write of a move step is absolute (position -> state and block entity
+ * data), so applying a step's batch twice gives the same world as applying it once.
+ * That makes the batch itself a redo log. Before a step's batch is handed to
+ * PlacementQueue, a BEGIN record (move id, turtle UUID, old and new origin, new facing
+ * and size, and the batch as section palettes) is appended and forced to disk; once the
+ * last unit is written, or the step is dropped, an END or CANCEL record is appended and
+ * forced. Those are the only two syncs per step. A step whose placement failed part way
+ * gets neither and stays open, so the next start finishes it from the journal.
+ * Block entities that placement moves as live objects are not serialized for the
+ * journal: their write records the source position and the island's last captured
+ * data. A replay moves the block entity the saved world holds at the source, and only
+ * loads the captured data where that source was already overwritten.
+ *
+ * A step written to the world is not safe yet: its chunks only reach disk with the
+ * next world save. Records are therefore kept until two saves after their END
+ * (the first save may still have skipped a chunk), and each save starts a new journal
+ * segment, so old records are dropped by deleting whole segment files from the oldest.
+ * A clean stop flushes every chunk, so the ended records are dropped right away then.
+ *
+ * The BEGIN record also stores a CRC32C per section over the world states the step is
+ * about to overwrite. On startup the steps of each island are checked against the
+ * saved world in order: every section either still holds its old states (checksum
+ * matches), already holds the step's states, or neither. The first step with at least
+ * one old section and no unknown one is where the saved world stopped; it and every
+ * later step are replayed, and the island's final placement goes to RecoveredPlacements
+ * for its turtle, which was saved with the placement of the last save. If no step
+ * matches, the world already holds the last step or was changed behind the journal's
+ * back (a restored backup, an external edit); either way nothing is replayed, and the
+ * second case is logged. Cancelled steps were reverted and are never replayed.
+ *
+ * RECORD FORMAT:
+ * [int payload length][int CRC32C of payload][payload]. A record with a bad length or
+ * checksum is a torn write from the crash: it and everything after it are discarded.
+ *
+ * THREAD SAFETY:
+ * All file access runs on one journal thread with positional FileChannel writes, so
+ * encoding and fsync never run on the server thread. Checksums of the world and replay
+ * state are server thread only.
+ */
+public final class MoveJournal {
+
+    private static final String DIRECTORY_NAME = AethelonCore.MOD_ID + "_moves";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final byte RECORD_BEGIN = 1;
+    private static final byte RECORD_END = 2;
+    private static final byte RECORD_CANCEL = 3;
+    private static final int MAX_RECORD_BYTES = 256 << 20;
+
+    private static ExecutorService executor;
+
+    // Open journals by directory; journal thread only
+    private static final Map<Path, Journal> JOURNALS = new HashMap<>();
+
+    private static final AtomicLong nextMoveId = new AtomicLong(System.currentTimeMillis() << 16);
+    private static int pendingReplays = 0;
+
+    // Statistics
+    private static final AtomicLong movesJournaled = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong syncs = new AtomicLong();
+    private static final AtomicLong writeErrors = new AtomicLong();
+    private static final AtomicLong segmentsDropped = new AtomicLong();
+    private static long movesReplayed = 0L;
+
+    private MoveJournal() {
+    }
+
+    /**
+     * Start the journal thread if the journal is enabled
+     */
+    public static synchronized void start() {
+        if (executor != null || !isEnabled()) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Aethelon-Move-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Close every journal file and stop the journal thread, waiting for queued records
+     */
+    public static synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.execute(() -> closeJournals(false));
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                AethelonCore.LOGGER.warn("Island move journal did not finish writing within 10 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    public static boolean isEnabled() {
+        return AethelonConfig.INSTANCE.phases.phase5.moveJournal;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Allocate the id of a new move step
+     */
+    public static long nextMoveId() {
+        return nextMoveId.incrementAndGet();
+    }
+
+    /**
+     * Append and sync the BEGIN record of a move step on the journal thread
+     * The batch must not be submitted for placement before the returned future completes.
+     * The states the batch overwrites are checksummed here, on the server thread.
+     *
+     * @param world World the island moves in
+     * @param moveId Id from nextMoveId()
+     * @param island UUID of the turtle carrying the island
+     * @param from Old island origin
+     * @param to New island origin
+     * @param facing Island facing after the step
+     * @param size Island size after the step
+     * @param batch Writes of the step; not modified while the record is encoded
+     * @return Future completed once the record is durable, or right away if the journal
+     *         is off. A failed write is logged and also completes it: the journal never
+     *         holds up a move.
+     */
+    public static CompletableFuture<Void> begin(ServerWorld world, long moveId, UUID island, BlockPos from,
+                                                BlockPos to, Direction facing, Vec3i size, PlacementBatch batch) {
+        ExecutorService journalExecutor = getExecutor();
+        if (journalExecutor == null || batch.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Path directory = getJournalDirectory(world);
+        Long2IntMap before = readChecksums(world, batch);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                open(directory).begin(moveId, encodeBegin(moveId, island, from, to, facing, size, batch, before));
+                movesJournaled.incrementAndGet();
+            } catch (IOException e) {
+                writeErrors.incrementAndGet();
+                AethelonCore.LOGGER.error("Failed to journal island move {} -> {}", from.toShortString(), to.toShortString(), e);
+            }
+        }, journalExecutor);
+    }
+
+    /**
+     * Append and sync the END record of a move step once every write of it is in the world
+     * The record is kept until the chunks it touched have been saved.
+     */
+    public static void finish(ServerWorld world, long moveId) {
+        end(world, moveId, RECORD_END);
+    }
+
+    /**
+     * Append and sync the CANCEL record of a move step that was dropped
+     * Called when the step never reached the world, or once its staged writes were reverted.
+     */
+    public static void cancel(ServerWorld world, long moveId) {
+        end(world, moveId, RECORD_CANCEL);
+    }
+
+    private static void end(ServerWorld world, long moveId, byte type) {
+        ExecutorService journalExecutor = getExecutor();
+        if (journalExecutor == null) {
+            return;
+        }
+
+        Path directory = getJournalDirectory(world);
+        journalExecutor.execute(() -> {
+            Journal journal = JOURNALS.get(directory);
+            if (journal == null) {
+                // Never journaled (empty batch or failed write), nothing to close
+                return;
+            }
+            try {
+                journal.end(moveId, type);
+            } catch (IOException e) {
+                writeErrors.incrementAndGet();
+                AethelonCore.LOGGER.error("Failed to close island move {} in journal {}", moveId, directory, e);
+            }
+        });
+    }
+
+    /**
+     * Start a new segment and drop the records every chunk of which is now saved
+     * Called after each save of a world (ServerWorldMixin).
+     */
+    public static void onWorldSaved(ServerWorld world) {
+        ExecutorService journalExecutor = getExecutor();
+        if (journalExecutor == null) {
+            return;
+        }
+
+        Path directory = getJournalDirectory(world);
+        journalExecutor.execute(() -> {
+            Journal journal = JOURNALS.get(directory);
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.onSaved();
+            } catch (IOException e) {
+                writeErrors.incrementAndGet();
+                AethelonCore.LOGGER.error("Failed to trim island move journal {}", directory, e);
+            }
+        });
+    }
+
+    /**
+     * Bring the islands of a world in line with the steps the last save did not include
+     * Runs once per world when the server has started, before turtles tick. The chunks
+     * of journaled steps are loaded to check them, which only happens after a crash: a
+     * clean stop leaves no ended records behind.
+     */
+    public static void recover(ServerWorld world) {
+        ExecutorService journalExecutor = getExecutor();
+        if (journalExecutor == null) {
+            return;
+        }
+
+        Path directory = getJournalDirectory(world);
+        List<JournaledStep> steps;
+        try {
+            steps = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return open(directory).takeLoadedSteps();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }, journalExecutor).join();
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to read island move journal {}", directory, e);
+            return;
+        }
+        if (steps.isEmpty()) {
+            return;
+        }
+
+        if (!PlacementModule.isActive()) {
+            AethelonCore.LOGGER.warn("{} journaled island moves in {} cannot be checked without the placement module",
+                steps.size(), world.getRegistryKey().getValue());
+            return;
+        }
+
+        Map<UUID, List<JournaledStep>> islands = new LinkedHashMap<>();
+        for (JournaledStep step : steps) {
+            if (step.end() != RECORD_CANCEL) {
+                islands.computeIfAbsent(step.island(), island -> new ArrayList<>()).add(step);
+            }
+        }
+        for (Map.Entry<UUID, List<JournaledStep>> entry : islands.entrySet()) {
+            recoverIsland(world, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Find where the saved world stopped in one island's steps and replay from there
+     */
+    private static void recoverIsland(ServerWorld world, UUID island, List<JournaledStep> steps) {
+        List<PlacementBatch> batches = new ArrayList<>(steps.size());
+        int start = -1;
+        Match last = Match.APPLIED;
+        for (int i = 0; i < steps.size(); i++) {
+            JournaledStep step = steps.get(i);
+            PlacementBatch batch;
+            try {
+                batch = decodeBatch(step.batch(), null);
+            } catch (Exception e) {
+                AethelonCore.LOGGER.error("Island moves of turtle {} have an unreadable journal entry, leaving the island as saved",
+                    island, e);
+                closeUnreplayed(world, steps, steps.size(), RECORD_CANCEL);
+                return;
+            }
+            batches.add(batch);
+            if (start < 0) {
+                last = match(world, batch, step.batch());
+                if (last == Match.RESUMABLE) {
+                    start = i;
+                }
+            }
+        }
+
+        if (start < 0) {
+            if (last == Match.APPLIED || steps.stream().allMatch(step -> step.end() != 0)) {
+                // The saved world already holds the last step; a finished step may also differ
+                // from its batch where neighbor updates reshaped blocks after it was written
+                closeUnreplayed(world, steps, steps.size(), RECORD_END);
+            } else {
+                AethelonCore.LOGGER.warn("Island of turtle {} does not match any journaled move step, leaving it as saved",
+                    island);
+                closeUnreplayed(world, steps, steps.size(), RECORD_CANCEL);
+            }
+            return;
+        }
+
+        JournaledStep first = steps.get(start);
+        JournaledStep target = steps.get(steps.size() - 1);
+        // A live block entity is only moved from a source the saved world still holds as
+        // before the step; in sections already written the source was overwritten, so
+        // those block entities are loaded from their journaled data
+        batches.set(start, decodeBatch(first.batch(), getUnwrittenSections(world, batches.get(start), first.batch())));
+        AethelonCore.LOGGER.warn("Replaying {} island move steps of turtle {} that were not saved: {} -> {}",
+            steps.size() - start, island, first.from().toShortString(), target.to().toShortString());
+        // Earlier steps are in the saved world already
+        closeUnreplayed(world, steps, start, RECORD_END);
+        for (int i = start; i < steps.size(); i++) {
+            JournaledStep step = steps.get(i);
+            pendingReplays++;
+            movesReplayed++;
+            PlacementQueue.Job job = PlacementQueue.submit(world, batches.get(i));
+            job.whenDone(() -> {
+                pendingReplays--;
+                if (step.end() == 0 && !job.isFailed()) {
+                    finish(world, step.moveId());
+                }
+            });
+        }
+        RecoveredPlacements.get(world).put(island,
+            new RecoveredPlacements.Placement(target.to(), target.size(), target.facing()));
+    }
+
+    private static void closeUnreplayed(ServerWorld world, List<JournaledStep> steps, int count, byte type) {
+        for (int i = 0; i < count; i++) {
+            JournaledStep step = steps.get(i);
+            if (step.end() == 0) {
+                end(world, step.moveId(), type);
+            }
+        }
+    }
+
+    /**
+     * Compare the world against a step's old and new states, section by section
+     */
+    private static Match match(ServerWorld world, PlacementBatch batch, NbtCompound batchNbt) {
+        Long2IntMap before = readSavedChecksums(batchNbt);
+        boolean resumable = false;
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            int current = checksum(section, i -> world.getBlockState(section.getWorldPos(i)));
+            if (current == checksumAfter(section)) {
+                continue;
+            }
+            if (!before.containsKey(section.getSectionPos()) || before.get(section.getSectionPos()) != current) {
+                return Match.STALE;
+            }
+            resumable = true;
+        }
+        return resumable ? Match.RESUMABLE : Match.APPLIED;
+    }
+
+    /**
+     * Sections of a step that still hold the states the step overwrites
+     */
+    private static LongSet getUnwrittenSections(ServerWorld world, PlacementBatch batch, NbtCompound batchNbt) {
+        Long2IntMap before = readSavedChecksums(batchNbt);
+        LongSet unwritten = new LongOpenHashSet();
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            long sectionPos = section.getSectionPos();
+            if (before.containsKey(sectionPos)
+                    && before.get(sectionPos) == checksum(section, i -> world.getBlockState(section.getWorldPos(i)))) {
+                unwritten.add(sectionPos);
+            }
+        }
+        return unwritten;
+    }
+
+    private static Long2IntMap readChecksums(ServerWorld world, PlacementBatch batch) {
+        Long2IntMap checksums = new Long2IntOpenHashMap(batch.getSectionCount());
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            checksums.put(section.getSectionPos(), checksum(section, i -> world.getBlockState(section.getWorldPos(i))));
+        }
+        return checksums;
+    }
+
+    /**
+     * Checksum of a section once the step is written; a cell written twice ends with its last state
+     */
+    private static int checksumAfter(PlacementBatch.SectionBatch section) {
+        Short2ObjectOpenHashMap<BlockState> written = new Short2ObjectOpenHashMap<>(section.size());
+        for (int i = 0; i < section.size(); i++) {
+            written.put(section.getLocalPos(i), section.getState(i));
+        }
+        return checksum(section, i -> written.get(section.getLocalPos(i)));
+    }
+
+    /**
+     * CRC32C over (local position, raw state id) of every cell of a section batch, in batch order
+     */
+    private static int checksum(PlacementBatch.SectionBatch section, IntFunction<BlockState> states) {
+        CRC32C crc = new CRC32C();
+        byte[] cell = new byte[6];
+        ByteBuffer buffer = ByteBuffer.wrap(cell);
+        for (int i = 0; i < section.size(); i++) {
+            buffer.clear();
+            buffer.putShort(section.getLocalPos(i)).putInt(Block.getRawIdFromState(states.apply(i)));
+            crc.update(cell);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Check whether replayed moves are still being written
+     * Turtles wait with their first capture until they are, so they never capture a
+     * half-restored island.
+     */
+    public static boolean hasPendingReplays() {
+        return pendingReplays > 0;
+    }
+
+    /**
+     * Close the journals of a stopped server; the thread keeps running for the next one
+     * The final save flushed every chunk, so all ended records are dropped first.
+     */
+    public static void closeAll() {
+        ExecutorService journalExecutor = getExecutor();
+        if (journalExecutor != null) {
+            journalExecutor.execute(() -> closeJournals(true));
+        }
+    }
+
+    private static void closeJournals(boolean saved) {
+        for (Map.Entry<Path, Journal> entry : JOURNALS.entrySet()) {
+            try {
+                entry.getValue().close(saved);
+            } catch (IOException e) {
+                AethelonCore.LOGGER.warn("Failed to close island move journal {}", entry.getKey(), e);
+            }
+        }
+        JOURNALS.clear();
+    }
+
+    private static Path getJournalDirectory(ServerWorld world) {
+        Path root = world.getServer().getSavePath(WorldSavePath.ROOT);
+        return DimensionType.getSaveDirectory(world.getRegistryKey(), root).resolve("data").resolve(DIRECTORY_NAME);
+    }
+
+    private static Journal open(Path directory) throws IOException {
+        Journal journal = JOURNALS.get(directory);
+        if (journal == null) {
+            journal = new Journal(directory);
+            journal.load();
+            JOURNALS.put(directory, journal);
+        }
+        return journal;
+    }
+
+    private static ByteBuffer encodeBegin(long moveId, UUID island, BlockPos from, BlockPos to, Direction facing,
+                                          Vec3i size, PlacementBatch batch, Long2IntMap before) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_BEGIN);
+        out.writeLong(moveId);
+        out.writeLong(island.getMostSignificantBits());
+        out.writeLong(island.getLeastSignificantBits());
+        out.writeLong(from.asLong());
+        out.writeLong(to.asLong());
+        out.writeByte(facing.getHorizontalQuarterTurns());
+        out.writeInt(size.getX());
+        out.writeInt(size.getY());
+        out.writeInt(size.getZ());
+        NbtIo.writeCompound(encodeBatch(batch, before), out);
+        return frame(bytes.toByteArray());
+    }
+
+    private static ByteBuffer encodeEnd(byte type, long moveId) {
+        byte[] payload = new byte[9];
+        ByteBuffer.wrap(payload).put(type).putLong(moveId);
+        return frame(payload);
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        return record;
+    }
+
+    /**
+     * Encode a batch as one compound per section: a palette plus (local position, palette
+     * index) pairs, so states survive registry id changes between versions, and the
+     * checksum of the world states the section overwrites
+     */
+    private static NbtCompound encodeBatch(PlacementBatch batch, Long2IntMap before) {
+        NbtList sections = new NbtList();
+        for (PlacementBatch.SectionBatch section : batch.getSections()) {
+            Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+            NbtList palette = new NbtList();
+            NbtList blockEntities = new NbtList();
+            int[] blocks = new int[section.size()];
+
+            for (int i = 0; i < section.size(); i++) {
+                BlockState state = section.getState(i);
+                int index = paletteLookup.getOrDefault(state, -1);
+                if (index < 0) {
+                    index = palette.size();
+                    palette.add(NbtHelper.fromBlockState(state));
+                    paletteLookup.put(state, index);
+                }
+                short localPos = section.getLocalPos(i);
+                blocks[i] = (localPos & 0xFFFF) << 16 | index;
+
+                NbtCompound nbt = section.getBlockEntityNbt(localPos);
+                if (nbt != null) {
+                    NbtCompound blockEntity = new NbtCompound();
+                    blockEntity.putShort("Pos", localPos);
+                    blockEntity.put("Nbt", nbt);
+                    long source = section.getBlockEntitySource(localPos);
+                    if (source != PlacementBatch.NO_SOURCE) {
+                        blockEntity.putLong("Source", source);
+                    }
+                    blockEntities.add(blockEntity);
+                }
+            }
+
+            NbtCompound sectionNbt = new NbtCompound();
+            sectionNbt.putLong("Pos", section.getSectionPos());
+            sectionNbt.putInt("Checksum", before.get(section.getSectionPos()));
+            sectionNbt.put("Palette", palette);
+            sectionNbt.putIntArray("Blocks", blocks);
+            sectionNbt.put("BlockEntities", blockEntities);
+            sections.add(sectionNbt);
+        }
+
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("Sections", sections);
+        return nbt;
+    }
+
+    /**
+     * Decode a journaled batch
+     *
+     * @param trustedSections Sections whose block entity sources may be moved from; sources
+     *                        elsewhere are dropped so their NBT is loaded. Null keeps all.
+     */
+    private static PlacementBatch decodeBatch(NbtCompound nbt, LongSet trustedSections) {
+        PlacementBatch batch = new PlacementBatch();
+        NbtList sections = nbt.getList("Sections", NbtElement.COMPOUND_TYPE);
+        for (int s = 0; s < sections.size(); s++) {
+            NbtCompound sectionNbt = sections.getCompound(s);
+            ChunkSectionPos sectionPos = ChunkSectionPos.from(sectionNbt.getLong("Pos"));
+
+            NbtList paletteList = sectionNbt.getList("Palette", NbtElement.COMPOUND_TYPE);
+            BlockState[] palette = new BlockState[paletteList.size()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = NbtHelper.toBlockState(Registries.BLOCK, paletteList.getCompound(i));
+            }
+
+            Map<Short, NbtCompound> blockEntities = new HashMap<>();
+            Short2LongOpenHashMap sources = new Short2LongOpenHashMap();
+            sources.defaultReturnValue(PlacementBatch.NO_SOURCE);
+            NbtList blockEntityList = sectionNbt.getList("BlockEntities", NbtElement.COMPOUND_TYPE);
+            for (int i = 0; i < blockEntityList.size(); i++) {
+                NbtCompound blockEntity = blockEntityList.getCompound(i);
+                blockEntities.put(blockEntity.getShort("Pos"), blockEntity.getCompound("Nbt"));
+                if (blockEntity.contains("Source", NbtElement.LONG_TYPE)) {
+                    long source = blockEntity.getLong("Source");
+                    if (trustedSections == null || trustedSections.contains(ChunkSectionPos.fromBlockPos(source))) {
+                        sources.put(blockEntity.getShort("Pos"), source);
+                    }
+                }
+            }
+
+            for (int entry : sectionNbt.getIntArray("Blocks")) {
+                short localPos = (short) (entry >>> 16);
+                int index = entry & 0xFFFF;
+                if (index >= palette.length) {
+                    continue;
+                }
+                BlockPos pos = sectionPos.unpackBlockPos(localPos);
+                batch.add(pos.getX(), pos.getY(), pos.getZ(), palette[index], blockEntities.get(localPos),
+                    sources.get(localPos));
+            }
+        }
+        return batch;
+    }
+
+    private static Long2IntMap readSavedChecksums(NbtCompound nbt) {
+        NbtList sections = nbt.getList("Sections", NbtElement.COMPOUND_TYPE);
+        Long2IntMap checksums = new Long2IntOpenHashMap(sections.size());
+        for (int s = 0; s < sections.size(); s++) {
+            NbtCompound sectionNbt = sections.getCompound(s);
+            if (sectionNbt.contains("Checksum", NbtElement.INT_TYPE)) {
+                checksums.put(sectionNbt.getLong("Pos"), sectionNbt.getInt("Checksum"));
+            }
+        }
+        return checksums;
+    }
+
+    public static long getMovesJournaled() {
+        return movesJournaled.get();
+    }
+
+    /**
+     * Move steps replayed on startup because the last save did not include them
+     */
+    public static long getMovesReplayed() {
+        return movesReplayed;
+    }
+
+    public static long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Number of FileChannel.force calls (two per journaled move step)
+     */
+    public static long getSyncs() {
+        return syncs.get();
+    }
+
+    /**
+     * Segment files deleted once all their steps were saved with the world
+     */
+    public static long getSegmentsDropped() {
+        return segmentsDropped.get();
+    }
+
+    public static long getWriteErrors() {
+        return writeErrors.get();
+    }
+
+    /**
+     * How the world compares to one journaled step
+     * APPLIED: every section holds the step's states
+     * RESUMABLE: every section holds the old or the step's states, at least one the old
+     * STALE: some section holds neither
+     */
+    private enum Match {
+        APPLIED,
+        RESUMABLE,
+        STALE
+    }
+
+    /**
+     * A move step read back from the journal; end is 0 while the step is open
+     */
+    private record JournaledStep(long moveId, UUID island, BlockPos from, BlockPos to, Direction facing,
+                                 Vec3i size, NbtCompound batch, byte end) {
+    }
+
+    /**
+     * Journal state of one step; journal thread only
+     */
+    private static final class Entry {
+        private final long moveId;
+        private byte end;
+        // Saves completed when the step ended
+        private int endSave;
+
+        private Entry(long moveId) {
+            this.moveId = moveId;
+        }
+    }
+
+    /**
+     * The journal of one dimension, as a run of segment files; journal thread only
+     * Records go to the newest segment, and each world save seals it, so a segment only
+     * holds the steps that began between two saves.
+     */
+    private static final class Journal {
+        private final Path directory;
+        private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private List<JournaledStep> loadedSteps = new ArrayList<>();
+        private long nextSegment = 0L;
+        private int saves = 0;
+
+        private Journal(Path directory) {
+            this.directory = directory;
+        }
+
+        void begin(long moveId, ByteBuffer record) throws IOException {
+            Segment segment = current();
+            segment.append(record);
+            Entry entry = new Entry(moveId);
+            segment.entries.add(entry);
+            entries.put(moveId, entry);
+        }
+
+        void end(long moveId, byte type) throws IOException {
+            Entry entry = entries.get(moveId);
+            if (entry == null || entry.end != 0) {
+                return;
+            }
+            current().append(encodeEnd(type, moveId));
+            entry.end = type;
+            entry.endSave = saves;
+        }
+
+        void onSaved() throws IOException {
+            saves++;
+            Segment last = segments.peekLast();
+            if (last != null) {
+                last.seal();
+            }
+            drop(false);
+        }
+
+        void close(boolean saved) throws IOException {
+            if (saved) {
+                drop(true);
+            }
+            for (Segment segment : segments) {
+                segment.seal();
+            }
+        }
+
+        /**
+         * Delete segments from the oldest while every step in them ended at least two
+         * saves ago (or at all, after a flushing save), so an END record is never lost
+         * while its BEGIN is kept
+         */
+        private void drop(boolean saved) throws IOException {
+            Iterator<Segment> iterator = segments.iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                for (Entry entry : segment.entries) {
+                    if (entry.end == 0 || (!saved && entry.endSave >= saves - 1)) {
+                        return;
+                    }
+                }
+                if (!saved && segment.channel != null) {
+                    // Still taking records until the next save
+                    return;
+                }
+                segment.seal();
+                Files.deleteIfExists(segment.path);
+                for (Entry entry : segment.entries) {
+                    entries.remove(entry.moveId);
+                }
+                iterator.remove();
+                segmentsDropped.incrementAndGet();
+            }
+        }
+
+        private Segment current() throws IOException {
+            Segment last = segments.peekLast();
+            if (last == null || last.channel == null) {
+                Files.createDirectories(directory);
+                last = new Segment(directory.resolve(nextSegment++ + SEGMENT_SUFFIX));
+                last.channel = FileChannel.open(last.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                segments.addLast(last);
+            }
+            return last;
+        }
+
+        List<JournaledStep> takeLoadedSteps() {
+            List<JournaledStep> steps = loadedSteps;
+            loadedSteps = new ArrayList<>();
+            return steps;
+        }
+
+        /**
+         * Read every segment left from the last run, oldest first
+         * Loaded segments stay sealed; new records start a new segment.
+         */
+        void load() throws IOException {
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+            TreeMap<Long, Path> files = new TreeMap<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+                for (Path path : stream) {
+                    String name = path.getFileName().toString();
+                    try {
+                        files.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), path);
+                    } catch (NumberFormatException e) {
+                        AethelonCore.LOGGER.warn("Ignoring unknown file {} in the island move journal", path);
+                    }
+                }
+            }
+
+            Map<Long, JournaledStep> steps = new LinkedHashMap<>();
+            for (Map.Entry<Long, Path> file : files.entrySet()) {
+                Segment segment = new Segment(file.getValue());
+                segment.read(steps, entries);
+                segments.addLast(segment);
+                nextSegment = file.getKey() + 1;
+            }
+            loadedSteps = new ArrayList<>(steps.values());
+        }
+    }
+
+    /**
+     * One segment file; the channel is null once the segment is sealed
+     */
+    private static final class Segment {
+        private final Path path;
+        private final List<Entry> entries = new ArrayList<>();
+        private FileChannel channel;
+        private long position = 0L;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Write a framed record at the end of the segment and force it to disk
+         */
+        void append(ByteBuffer record) throws IOException {
+            int length = record.remaining();
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            channel.force(false);
+            bytesWritten.addAndGet(length);
+            syncs.incrementAndGet();
+        }
+
+        void seal() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+
+        /**
+         * Read all intact records and cut off a torn tail
+         * BEGIN records add a step and an entry; END and CANCEL records close them.
+         */
+        void read(Map<Long, JournaledStep> steps, Map<Long, Entry> journalEntries) throws IOException {
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = file.size();
+                ByteBuffer header = ByteBuffer.allocate(8);
+                long offset = 0L;
+
+                while (offset + 8 <= size) {
+                    header.clear();
+                    if (readFully(file, header, offset) < 8) {
+                        break;
+                    }
+                    header.flip();
+                    int length = header.getInt();
+                    int checksum = header.getInt();
+                    if (length < 9 || length > MAX_RECORD_BYTES || offset + 8 + length > size) {
+                        break;
+                    }
+
+                    ByteBuffer payload = ByteBuffer.allocate(length);
+                    if (readFully(file, payload, offset + 8) < length) {
+                        break;
+                    }
+                    CRC32C crc = new CRC32C();
+                    crc.update(payload.array(), 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+
+                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+                    byte type = in.readByte();
+                    long moveId = in.readLong();
+                    if (type == RECORD_BEGIN) {
+                        UUID island = new UUID(in.readLong(), in.readLong());
+                        BlockPos from = BlockPos.fromLong(in.readLong());
+                        BlockPos to = BlockPos.fromLong(in.readLong());
+                        Direction facing = Direction.fromHorizontalQuarterTurns(in.readByte());
+                        Vec3i islandSize = new Vec3i(in.readInt(), in.readInt(), in.readInt());
+                        NbtCompound batch = NbtIo.readCompound(in, NbtSizeTracker.ofUnlimitedBytes());
+                        steps.put(moveId, new JournaledStep(moveId, island, from, to, facing, islandSize, batch, (byte) 0));
+                        Entry entry = new Entry(moveId);
+                        entries.add(entry);
+                        journalEntries.put(moveId, entry);
+                    } else {
+                        JournaledStep step = steps.get(moveId);
+                        Entry entry = journalEntries.get(moveId);
+                        if (step != null && entry != null) {
+                            steps.put(moveId, new JournaledStep(step.moveId(), step.island(), step.from(), step.to(),
+                                step.facing(), step.size(), step.batch(), type));
+                            entry.end = type;
+                        }
+                    }
+                    offset += 8 + length;
+                }
+
+                if (offset < size) {
+                    AethelonCore.LOGGER.warn("Discarding {} bytes of torn records at the end of island move journal {}",
+                        size - offset, path);
+                    file.truncate(offset);
+                    file.force(false);
+                }
+            }
+        }
+
+        private static int readFully(FileChannel file, ByteBuffer buffer, long offset) throws IOException {
+            int total = 0;
+            while (buffer.hasRemaining()) {
+                int read = file.read(buffer, offset + total);
+                if (read < 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * MovePipeline - Worker pool for the CPU-heavy stages of an island move
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: None (plain Java executors)
+ * - Hooks into: SyncModule lifecycle (started on initialize, stopped on shutdown)
+ * - Modifies: None
+ *
+ * MODULE ROLE:
+ * - Purpose: Run island transforms off the server thread
+ * - Dependencies: AethelonConfig (PerformanceConfig.enableAsyncProcessing)
+ * - Provides: Transform stage execution with a synchronous fallback
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * MOVE STAGES:
+ * 1. Capture (server thread): read the world - snapshot sections and live block entity data
+ * 2. Transform (worker): rotate, translate, rewrite block entity data and diff against
+ *    the old placement; only immutable snapshots and private NBT copies are touched
+ * 3. Journal (journal thread): make the batch durable in MoveJournal
+ * 4. Commit (server thread): hand the resulting batch to PlacementQueue
+ *
+ * With enableAsyncProcessing off, or before the pool is started, stage 2 runs inline on
+ * the calling thread and the returned future is already complete.
+ */
+public final class MovePipeline {
+
+    private static ExecutorService executor;
+
+    // Statistics (updated from worker threads)
+    private static final AtomicLong transformsCompleted = new AtomicLong();
+    private static final AtomicLong transformNanos = new AtomicLong();
+
+    private MovePipeline() {
+    }
+
+    /**
+     * Start the worker pool if async processing is enabled
+     */
+    public static synchronized void start() {
+        if (executor != null || !AethelonConfig.INSTANCE.performance.enableAsyncProcessing) {
+            return;
+        }
+
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        executor = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+        AethelonCore.LOGGER.info("Started island move pipeline with {} worker threads", threads);
+    }
+
+    /**
+     * Stop the worker pool; transforms still running are abandoned
+     */
+    public static synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                AethelonCore.LOGGER.warn("Island move pipeline workers did not stop within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    /**
+     * Run a transform stage, on a worker when the pool is running
+     *
+     * @param transform Work that only reads immutable data
+     * @return Future completed with the transform result
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> transform) {
+        return submit(transform, false);
+    }
+
+    /**
+     * Run a transform stage, on a worker when the pool is running unless inline is set
+     *
+     * @param transform Work that only reads immutable data
+     * @param inline Run on the calling thread even if the pool is running
+     * @return Future completed with the transform result
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> transform, boolean inline) {
+        ExecutorService pool;
+        synchronized (MovePipeline.class) {
+            pool = inline ? null : executor;
+        }
+
+        Supplier<T> timed = () -> {
+            long startTime = System.nanoTime();
+            T result = transform.get();
+            transformNanos.addAndGet(System.nanoTime() - startTime);
+            transformsCompleted.incrementAndGet();
+            return result;
+        };
+
+        if (pool == null) {
+            try {
+                return CompletableFuture.completedFuture(timed.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(timed, pool);
+    }
+
+    public static synchronized boolean isAsync() {
+        return executor != null;
+    }
+
+    public static long getTransformsCompleted() {
+        return transformsCompleted.get();
+    }
+
+    /**
+     * Total time spent in transform stages, on any thread
+     */
+    public static long getTransformNanos() {
+        return transformNanos.get();
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Aethelon-Island-Worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,799 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase4.structure.IslandInstance;
+import com.bvhfve.aethelon.phase5.capture.BlockCapture;
+import com.bvhfve.aethelon.phase5.capture.CaptureModule;
+import com.bvhfve.aethelon.phase5.capture.ChunkCapture;
+import com.bvhfve.aethelon.phase5.capture.IslandDirtyTracker;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.placement.BlockEntityRelocator;
+import com.bvhfve.aethelon.phase5.placement.PlacementBatch;
+import com.bvhfve.aethelon.phase5.placement.PlacementModule;
+import com.bvhfve.aethelon.phase5.placement.PlacementQueue;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MovementSync - Keeps the island aligned with the turtle while it moves
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: ChunkCapture, PlacementQueue, BlockEntity NBT
+ * - Hooks into: AethelonEntity tick (server side only)
+ * - Modifies: World blocks at the island's old and new positions
+ *
+ * MODULE ROLE:
+ * - Purpose: Move and turn the island whenever the turtle's footprint or facing changes
+ * - Dependencies: CaptureModule, PlacementModule, MovePipeline
+ * - Provides: Full and delta island move modes, move statistics
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * MOVE MODES (Phase5Config.movementMode):
+ * - "full": Recapture the island, clear the whole old footprint, paste the whole island
+ *   at the new origin. Simple and always correct, but rewrites every block.
+ * - "delta": Reuse the snapshot and write only the set difference between the old and
+ *   new footprint. For an offset d, island cell p is written at the new origin only if
+ *   the block already there (old cell p + d) differs from it, and the old position of p
+ *   is cleared only if no island cell lands on it (cell p - d is empty). Interior blocks
+ *   that map onto an identical block are skipped, which removes most writes for the
+ *   typical one-to-few block step.
+ *
+ * Each step runs through the MovePipeline stages: capture on the server thread,
+ * transform and diff on a worker, journal the resulting writes (MoveJournal), then
+ * commit to the tick-budgeted PlacementQueue. The step's journal entry is closed once
+ * the queue has written it and kept until the world save after that, so after a crash
+ * every step the save missed is replayed on the next start and the turtle picks up the
+ * replayed placement (RecoveredPlacements) before it recaptures its island.
+ * With Phase5Config.stagedArrival the commit is double buffered: the writes that only
+ * add blocks next to the standing island are staged through the budgeted queue first,
+ * and the writes that remove or replace old island blocks follow as one single-tick
+ * commit (IslandTransform.stage), so nobody sees the island half gone or falls through.
+ * A step's writes are computed from the snapshot taken when it started, so the step is
+ * dropped if the island changed in the world before its commit (IslandDirtyTracker):
+ * its journal entry is cancelled, any staged blocks are reverted to what stood there, and
+ * the next step starts from a refresh of the changed sections. Otherwise a block placed
+ * meanwhile would be left behind and a mined one would come back. Only the changed
+ * sections are re-read for that check, and only a cell that now holds another block
+ * than the step's snapshot counts: sections marked by a neighbour update that changed
+ * nothing, water moving through air cells, and the step's own staged blocks do not.
+ * After MAX_RESTARTS dropped steps in a row, the turtle's next step is transformed,
+ * journaled and committed in the tick it is captured in, so a farm or redstone clock on
+ * the island cannot hold the turtle in place.
+ * A step whose placement fails part way (PlacementQueue.Job.isFailed) is not committed:
+ * its journal entry stays open and the island is recaptured at its old placement.
+ * Players and mobs standing on the island are collected once per step and moved with
+ * it when the step's last block is written (CarriedEntities). The island's scheduled
+ * block and fluid ticks are lifted out at commit and rescheduled at the new position
+ * at the same point (IslandTicks).
+ * With Phase5Config.refillWater, vacated cells below sea level are written as water
+ * sources in the same batch as the rest of the step instead of air, so the ocean closes
+ * behind the island without a fluid tick per block (see IslandTransform.diff).
+ * A turtle does not start its next step until the previous one has been fully written,
+ * because every diff is computed against the island as it stands after the previous step.
+ * While the turtle moves, ChunkPrefetcher keeps the chunks ahead of it ticketed.
+ * In the "proxy" travel mode the island instead leaves the world when the turtle starts
+ * moving and is pasted once when it stops (IslandTravel); no steps run in between.
+ *
+ * The snapshot is kept after a move ends and follows the island from move to move.
+ * The island's origin, size and facing are saved with the turtle; a reloaded turtle
+ * recaptures the island at that placement rather than around its own position.
+ * IslandDirtyTracker records which island sections changed in the world since; before
+ * a delta step, only those sections are re-read (ChunkCapture.refresh) and the rest
+ * of the snapshot is reused, so an untouched island is never captured twice.
+ *
+ * A turtle spawned with an island template gets the template pasted around it, turned
+ * from the templates' facing (south) to its own, and its first move waits until that
+ * paste is written. Whenever the island is captured or its changed sections are
+ * re-read, the capture is reconciled into the turtle's IslandInstance, so edits made in
+ * the world reach the copy-on-write overlay and IslandStorage. A fresh capture is turned
+ * back to the template's facing as a whole; a refresh only reconciles the sections it
+ * re-read, looking each of their cells up through the rotation, and leaves the rest of
+ * the overlay alone.
+ *
+ * THREAD SAFETY:
+ * Server thread only; worker threads only see immutable snapshots and private NBT copies.
+ */
+public class MovementSync {
+
+    // Statistics (server thread only)
+    private static long totalMoves = 0L;
+    private static long totalBlocksWritten = 0L;
+    private static long totalBlocksSkipped = 0L;
+    private static long stepsRestarted = 0L;
+    private static long stepsFailed = 0L;
+    private static long stepsForced = 0L;
+    private static long islandsReconciled = 0L;
+
+    // Facing of an island template as saved in its structure file
+    private static final Direction TEMPLATE_FACING = Direction.SOUTH;
+    // Dropped steps in a row before a turtle's next step is run within one tick
+    private static final int MAX_RESTARTS = 3;
+
+    // Step still in progress per turtle; weak keys so removed turtles are dropped
+    private static final Map<AethelonEntity, MoveStep> PENDING = new WeakHashMap<>();
+    // Dirty-section tracking of each turtle's island box
+    private static final Map<AethelonEntity, IslandDirtyTracker.Region> TRACKED = new WeakHashMap<>();
+    // Paste of a newly spawned turtle's island, until it is written
+    private static final Map<AethelonEntity, PlacementQueue.Job> SPAWNING = new WeakHashMap<>();
+    // Steps dropped in a row per turtle, since its last commit
+    private static final Map<AethelonEntity, Integer> RESTARTS = new WeakHashMap<>();
+
+    /**
+     * Update the island of one turtle; called every server tick from AethelonEntity
+     *
+     * @param entity Turtle whose island should follow it
+     */
+    public static void tick(AethelonEntity entity) {
+        if (!(entity.getWorld() instanceof ServerWorld world)) {
+            return;
+        }
+        if (!CaptureModule.isActive() || !PlacementModule.isActive()) {
+            return;
+        }
+
+        // Keep the chunks ahead loaded so placement never waits on a chunk load
+        if (entity.getCurrentState() == AethelonEntity.AethelonState.MOVING) {
+            ChunkPrefetcher.update(world, entity);
+        } else {
+            ChunkPrefetcher.release(entity);
+        }
+
+        PlacementQueue.Job spawning = SPAWNING.get(entity);
+        if (spawning != null) {
+            if (!spawning.isDone()) {
+                return;
+            }
+            SPAWNING.remove(entity);
+        }
+
+        MoveStep pending = PENDING.get(entity);
+        if (pending != null) {
+            if (!pending.advance(world, entity)) {
+                return;
+            }
+            PENDING.remove(entity);
+        }
+
+        // A lifted island travels as a proxy and only comes back when the turtle stops
+        if (IslandTravel.tick(world, entity)) {
+            return;
+        }
+
+        if (entity.getCurrentState() != AethelonEntity.AethelonState.MOVING) {
+            // Move finished - keep the snapshot; edits made while idle are tracked per section
+            return;
+        }
+
+        if (entity.getIslandSnapshot() == null || entity.getIslandOrigin() == null) {
+            if (MoveJournal.hasPendingReplays()) {
+                // Interrupted moves from before a crash are still being restored
+                return;
+            }
+            RecoveredPlacements.Placement recovered = RecoveredPlacements.get(world).take(entity.getUuid());
+            if (recovered != null) {
+                // The journal replayed steps this turtle's save did not include
+                entity.setIslandOrigin(recovered.origin());
+                entity.setIslandSize(recovered.size());
+                entity.setIslandFacing(recovered.facing());
+            }
+            BlockBox box;
+            if (entity.getIslandOrigin() != null && entity.getIslandSize() != null && entity.getIslandFacing() != null) {
+                // Reloaded turtle: recapture the island at its saved placement, which may lag
+                // behind the turtle or face another way
+                BlockPos origin = entity.getIslandOrigin();
+                Vec3i saved = entity.getIslandSize();
+                box = BlockBox.create(origin, origin.add(saved.getX() - 1, saved.getY() - 1, saved.getZ() - 1));
+            } else {
+                // First move of this turtle: capture the island where it currently stands
+                box = BlockCapture.getIslandBox(entity.getBlockPos());
+                entity.setIslandOrigin(new BlockPos(box.getMinX(), box.getMinY(), box.getMinZ()));
+                entity.setIslandFacing(entity.getHorizontalFacing());
+            }
+            entity.setIslandSnapshot(ChunkCapture.capture(world, box));
+            track(world, entity, box);
+            // Edits made while the turtle was away are only in the world so far
+            reconcile(entity, entity.getIslandSnapshot(), null);
+            return;
+        }
+
+        if (IslandTravel.isEnabled()) {
+            IslandSnapshot snapshot = refreshDirtySections(world, entity);
+            Int2ObjectMap<NbtCompound> blockEntities = readLiveBlockEntities(world, snapshot, entity.getIslandOrigin(), true);
+            untrack(entity);
+            IslandTravel.lift(world, entity, snapshot.withChanges(Int2ObjectMaps.emptyMap(), blockEntities));
+            return;
+        }
+
+        Direction facing = entity.getHorizontalFacing();
+        BlockRotation rotation = getRotation(entity.getIslandFacing(), facing);
+        Vec3i size = IslandTransform.rotateSize(entity.getIslandSnapshot().getSize(), rotation);
+        BlockPos target = BlockCapture.getIslandOrigin(entity.getBlockPos(), size);
+
+        if (rotation != BlockRotation.NONE || !entity.getIslandOrigin().equals(target)) {
+            MoveStep step = startMove(world, entity, target, facing, rotation);
+            // A forced step commits right away, before anything can change the island again
+            if (!step.isForced() || !step.advance(world, entity)) {
+                PENDING.put(entity, step);
+            }
+        }
+    }
+
+    /**
+     * Find the rotation that turns one horizontal facing into another
+     */
+    public static BlockRotation getRotation(Direction from, Direction to) {
+        if (from == null || from == to) {
+            return BlockRotation.NONE;
+        }
+        for (BlockRotation rotation : BlockRotation.values()) {
+            if (rotation.rotate(from) == to) {
+                return rotation;
+            }
+        }
+        return BlockRotation.NONE;
+    }
+
+    /**
+     * Capture stage of a move step: read everything the transform needs from the world,
+     * then hand the transform to the pipeline
+     * A turtle whose last MAX_RESTARTS steps were dropped gets a forced step instead: it
+     * is transformed on the server thread and never staged, so it can commit in this tick.
+     *
+     * @param world Server world
+     * @param entity Turtle carrying the island
+     * @param to New island origin
+     * @param facing Facing the island should have after the step
+     * @param rotation Rotation relative to the island's current facing
+     */
+    static MoveStep startMove(ServerWorld world, AethelonEntity entity, BlockPos to,
+                              Direction facing, BlockRotation rotation) {
+        BlockPos from = entity.getIslandOrigin();
+        boolean full = "full".equals(AethelonConfig.INSTANCE.phases.phase5.movementMode);
+
+        IslandSnapshot snapshot;
+        Int2ObjectMap<NbtCompound> blockEntities;
+        if (full) {
+            Vec3i size = entity.getIslandSnapshot().getSize();
+            BlockBox box = BlockBox.create(from, from.add(size.getX() - 1, size.getY() - 1, size.getZ() - 1));
+            snapshot = ChunkCapture.capture(world, box);
+            blockEntities = new Int2ObjectOpenHashMap<>(snapshot.getBlockEntities());
+            // Everything changed so far is in the fresh capture
+            IslandDirtyTracker.Region region = TRACKED.get(entity);
+            if (region != null && region.isDirty()) {
+                reconcile(entity, snapshot, region.getDirtySections());
+                region.clear();
+            }
+        } else {
+            snapshot = refreshDirtySections(world, entity);
+            blockEntities = readLiveBlockEntities(world, snapshot, from, !BlockEntityRelocator.isEnabled());
+        }
+
+        boolean forced = RESTARTS.getOrDefault(entity, 0) >= MAX_RESTARTS;
+        boolean staged = AethelonConfig.INSTANCE.phases.phase5.stagedArrival && !forced;
+        int refillLevel = getRefillLevel(world, entity);
+        CompletableFuture<IslandTransform.Result> transform = MovePipeline.submit(
+            () -> IslandTransform.apply(snapshot, blockEntities, from, to, rotation, full, staged, refillLevel), forced);
+        return new MoveStep(transform, to, facing, forced);
+    }
+
+    /**
+     * Height below which cells an island leaves are refilled with water
+     * Only a turtle swimming in water refills, so an island moved over land keeps its air.
+     *
+     * @return The world's sea level, or Integer.MIN_VALUE if vacated cells should become air
+     */
+    static int getRefillLevel(ServerWorld world, AethelonEntity entity) {
+        if (!AethelonConfig.INSTANCE.phases.phase5.refillWater || !entity.isTouchingWater()) {
+            return Integer.MIN_VALUE;
+        }
+        return world.getSeaLevel();
+    }
+
+    /**
+     * Re-read the island sections that changed since the last capture
+     *
+     * @return The turtle's snapshot, updated in place on the entity if anything was dirty
+     */
+    private static IslandSnapshot refreshDirtySections(ServerWorld world, AethelonEntity entity) {
+        IslandSnapshot snapshot = entity.getIslandSnapshot();
+        IslandDirtyTracker.Region region = TRACKED.get(entity);
+        if (region == null || !region.isDirty()) {
+            return snapshot;
+        }
+        snapshot = ChunkCapture.refresh(world, region.getBox(), snapshot, region.getDirtySections());
+        entity.setIslandSnapshot(snapshot);
+        reconcile(entity, snapshot, region.getDirtySections());
+        region.clear();
+        return snapshot;
+    }
+
+    /**
+     * Paste the island of a newly spawned turtle around it, turned to the turtle's facing
+     * The placement is recorded on the turtle, so its first capture covers exactly the
+     * template and can be reconciled into the instance.
+     */
+    public static void placeSpawnedIsland(ServerWorld world, AethelonEntity entity, IslandInstance instance) {
+        if (!CaptureModule.isActive() || !PlacementModule.isActive()) {
+            return;
+        }
+        Direction facing = entity.getHorizontalFacing();
+        BlockRotation rotation = getRotation(TEMPLATE_FACING, facing);
+        IslandSnapshot snapshot = instance.toSnapshot();
+        if (rotation != BlockRotation.NONE) {
+            snapshot = IslandTransform.rotate(snapshot, snapshot.getBlockEntities(), rotation);
+        }
+        BlockPos origin = BlockCapture.getIslandOrigin(entity.getBlockPos(), snapshot.getSize());
+        SPAWNING.put(entity, PlacementQueue.submit(world, PlacementBatch.paste(snapshot, origin)));
+        entity.setIslandOrigin(origin);
+        entity.setIslandFacing(facing);
+        entity.setIslandSize(snapshot.getSize());
+    }
+
+    /**
+     * Fold a capture of the island into the turtle's IslandInstance
+     * A capture that does not cover exactly the template (an island captured around the
+     * turtle before it had an instance) is left alone.
+     *
+     * @param sections Capture sections to reconcile (IslandSnapshot section index), or
+     *                 null to turn the whole capture back to the template's facing and
+     *                 rebuild the overlay from it
+     */
+    private static void reconcile(AethelonEntity entity, IslandSnapshot captured, BitSet sections) {
+        IslandInstance instance = entity.getIslandInstance();
+        if (instance == null || captured == null) {
+            return;
+        }
+        BlockRotation rotation = getRotation(entity.getIslandFacing(), TEMPLATE_FACING);
+        Vec3i templateSize = instance.getTemplate().getSnapshot().getSize();
+        if (!IslandTransform.rotateSize(captured.getSize(), rotation).equals(templateSize)) {
+            return;
+        }
+
+        if (sections == null) {
+            IslandSnapshot local = rotation == BlockRotation.NONE
+                ? captured
+                : IslandTransform.rotate(captured, captured.getBlockEntities(), rotation);
+            instance.reconcile(local);
+        } else {
+            // Template cells are looked up in the capture through the opposite rotation
+            BlockRotation toCaptured = IslandTransform.invert(rotation);
+            IslandInstance.CapturedCells cells = new IslandInstance.CapturedCells() {
+                @Override
+                public BlockState getBlockState(int x, int y, int z) {
+                    BlockState state = captured.getBlockState(IslandTransform.rotateX(x, z, templateSize, toCaptured), y,
+                        IslandTransform.rotateZ(x, z, templateSize, toCaptured));
+                    return StateTransformTable.rotate(state, rotation);
+                }
+
+                @Override
+                public NbtCompound getBlockEntityNbt(int x, int y, int z) {
+                    return captured.getBlockEntityNbt(IslandTransform.rotateX(x, z, templateSize, toCaptured), y,
+                        IslandTransform.rotateZ(x, z, templateSize, toCaptured));
+                }
+            };
+
+            Vec3i size = captured.getSize();
+            int sectionsX = captured.getSectionsX();
+            int sectionsZ = captured.getSectionsZ();
+            for (int index = sections.nextSetBit(0); index >= 0; index = sections.nextSetBit(index + 1)) {
+                int minX = (index % sectionsX) << 4;
+                int minZ = ((index / sectionsX) % sectionsZ) << 4;
+                int minY = (index / (sectionsX * sectionsZ)) << 4;
+                int maxX = Math.min(minX + 15, size.getX() - 1);
+                int maxY = Math.min(minY + 15, size.getY() - 1);
+                int maxZ = Math.min(minZ + 15, size.getZ() - 1);
+                instance.reconcile(BlockBox.create(
+                    new Vec3i(IslandTransform.rotateX(minX, minZ, size, rotation), minY,
+                        IslandTransform.rotateZ(minX, minZ, size, rotation)),
+                    new Vec3i(IslandTransform.rotateX(maxX, maxZ, size, rotation), maxY,
+                        IslandTransform.rotateZ(maxX, maxZ, size, rotation))), cells);
+            }
+        }
+        entity.markIslandChanged();
+        islandsReconciled++;
+    }
+
+    /**
+     * Release everything held for a turtle that left the world
+     * Called when the entity is removed (killed, unloaded or changed dimension)
+     */
+    public static void onRemoved(AethelonEntity entity) {
+        ChunkPrefetcher.release(entity);
+        untrack(entity);
+        IslandCollision.untrack(entity);
+        SPAWNING.remove(entity);
+        RESTARTS.remove(entity);
+        MoveStep pending = PENDING.remove(entity);
+        if (pending != null && entity.getWorld() instanceof ServerWorld world) {
+            pending.abandon(world);
+        }
+    }
+
+    /**
+     * Start dirty-section tracking of a turtle's island box, replacing any previous region
+     */
+    static void track(ServerWorld world, AethelonEntity entity, BlockBox box) {
+        untrack(entity);
+        TRACKED.put(entity, IslandDirtyTracker.track(world, box));
+    }
+
+    private static void untrack(AethelonEntity entity) {
+        IslandDirtyTracker.Region region = TRACKED.remove(entity);
+        if (region != null) {
+            IslandDirtyTracker.untrack(region);
+        }
+    }
+
+    /**
+     * Serialize the current block entities of the island at its current origin
+     *
+     * Unless serializeAll is set, block entities that placement moves as live objects are
+     * not serialized; the snapshot's last captured copy is carried instead, and is only
+     * loaded if the live object cannot be moved. The move journal records their source
+     * position too, so a replay moves the object that the saved world holds there. A
+     * lifted island carries its block entities only as NBT and serializes all of them.
+     */
+    private static Int2ObjectMap<NbtCompound> readLiveBlockEntities(ServerWorld world, IslandSnapshot snapshot,
+                                                                    BlockPos origin, boolean serializeAll) {
+        Int2ObjectMap<NbtCompound> result = new Int2ObjectOpenHashMap<>();
+        for (Int2ObjectMap.Entry<NbtCompound> entry : snapshot.getBlockEntities().int2ObjectEntrySet()) {
+            int packed = entry.getIntKey();
+            BlockPos pos = origin.add(IslandSnapshot.unpackX(packed), IslandSnapshot.unpackY(packed), IslandSnapshot.unpackZ(packed));
+            BlockEntity blockEntity = world.getBlockEntity(pos);
+            if (blockEntity == null) {
+                result.put(packed, entry.getValue().copy());
+            } else if (!serializeAll && BlockEntityRelocator.canRelocate(blockEntity)) {
+                result.put(packed, entry.getValue());
+            } else {
+                result.put(packed, BlockCapture.captureBlockEntity(blockEntity, world.getRegistryManager()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether a turtle's last move step is still being transformed or written
+     */
+    public static boolean isMovePending(AethelonEntity entity) {
+        return PENDING.containsKey(entity);
+    }
+
+    public static long getTotalMoves() {
+        return totalMoves;
+    }
+
+    public static long getTotalBlocksWritten() {
+        return totalBlocksWritten;
+    }
+
+    /**
+     * Number of block writes avoided compared to a full clear-and-paste
+     */
+    public static long getTotalBlocksSkipped() {
+        return totalBlocksSkipped;
+    }
+
+    /**
+     * Steps dropped before their commit because the island changed in the world
+     */
+    public static long getStepsRestarted() {
+        return stepsRestarted;
+    }
+
+    /**
+     * Steps run within one tick because the turtle's previous MAX_RESTARTS steps were dropped
+     */
+    public static long getStepsForced() {
+        return stepsForced;
+    }
+
+    /**
+     * Steps whose placement threw part way; the island was recaptured instead of committed
+     */
+    public static long getStepsFailed() {
+        return stepsFailed;
+    }
+
+    /**
+     * Captures folded back into a turtle's IslandInstance
+     */
+    public static long getIslandsReconciled() {
+        return islandsReconciled;
+    }
+
+    /**
+     * One move step travelling through the transform and commit stages
+     */
+    static final class MoveStep {
+        private final CompletableFuture<IslandTransform.Result> transform;
+        private final BlockPos target;
+        private final Direction facing;
+        // Run within one tick: journal waited for, never staged, never dropped
+        private final boolean forced;
+        private final long startTime = System.nanoTime();
+        private final long moveId = MoveJournal.nextMoveId();
+        private IslandTransform.Result result;
+        private CompletableFuture<Void> journaled;
+        private PlacementQueue.Job staging;
+        // What stood at each staged cell before the stage, to revert a dropped step
+        private PlacementBatch unstage;
+        private PlacementQueue.Job placement;
+        private CarriedEntities carried;
+        private IslandTicks ticks;
+
+        MoveStep(CompletableFuture<IslandTransform.Result> transform, BlockPos target, Direction facing,
+                 boolean forced) {
+            this.transform = transform;
+            this.target = target;
+            this.facing = facing;
+            this.forced = forced;
+        }
+
+        boolean isForced() {
+            return forced;
+        }
+
+        /**
+         * Advance the step on the server thread
+         *
+         * @return true once the step is finished (written or failed)
+         */
+        boolean advance(ServerWorld world, AethelonEntity entity) {
+            if (placement != null) {
+                if (!placement.isDone()) {
+                    if (carried != null) {
+                        carried.hold();
+                    }
+                    return false;
+                }
+                return true;
+            }
+            if (journaled == null) {
+                if (!transform.isDone()) {
+                    return false;
+                }
+                try {
+                    result = transform.join();
+                } catch (Exception e) {
+                    // Nothing has been written, so the island is still intact at its old origin
+                    // and the next tick simply retries the step
+                    AethelonCore.LOGGER.error("Island transform failed for move to {}", target.toShortString(), e);
+                    return true;
+                }
+
+                // Journal stage: the writes must be durable before any of them reach the world
+                journaled = MoveJournal.begin(world, moveId, entity.getUuid(), entity.getIslandOrigin(),
+                    target, facing, result.snapshot().getSize(), result.batch());
+            }
+            if (!journaled.isDone()) {
+                if (!forced) {
+                    return false;
+                }
+                // Completes normally even if the write failed (see MoveJournal.begin)
+                journaled.join();
+            }
+
+            // The writes only hold for the island as it was captured
+            if (!forced && isIslandChanged(world, entity)) {
+                return discard(world, entity);
+            }
+
+            // Staging: grow the new island next to the old one while the old one still stands
+            if (result.isStaged()) {
+                if (staging == null) {
+                    unstage = readCurrentStates(world, result.stage());
+                    staging = PlacementQueue.submit(world, result.stage());
+                }
+                if (!staging.isDone()) {
+                    return false;
+                }
+                if (staging.isFailed() || isIslandChanged(world, entity)) {
+                    return discard(world, entity);
+                }
+            }
+
+            // Commit stage
+            BlockPos from = entity.getIslandOrigin();
+            Direction fromFacing = entity.getIslandFacing();
+            Vec3i fromSize = entity.getIslandSnapshot().getSize();
+            BlockRotation rotation = getRotation(fromFacing, facing);
+            carried = CarriedEntities.collect(world, entity, entity.getIslandSnapshot(), from, target, rotation);
+            ticks = IslandTicks.take(world, entity.getIslandSnapshot(), from, target, rotation);
+            placement = result.isStaged()
+                ? PlacementQueue.submitCommit(world, result.commit())
+                : PlacementQueue.submit(world, result.batch());
+            entity.setIslandSnapshot(result.snapshot());
+            entity.setIslandOrigin(target);
+            entity.setIslandFacing(facing);
+            RESTARTS.remove(entity);
+            if (forced) {
+                stepsForced++;
+            }
+            placement.whenDone(() -> {
+                if (placement.isFailed()) {
+                    ticks.putBack(world);
+                    recapture(entity, from, fromFacing, fromSize);
+                    return;
+                }
+                ticks.restore(world);
+                carried.transport(world, entity);
+                MoveJournal.finish(world, moveId);
+            });
+
+            // Track changes at the new location from here on
+            IslandDirtyTracker.Region region = TRACKED.get(entity);
+            if (region != null) {
+                Vec3i size = result.snapshot().getSize();
+                region.moveTo(BlockBox.create(target, target.add(size.getX() - 1, size.getY() - 1, size.getZ() - 1)));
+            }
+
+            totalMoves++;
+            totalBlocksWritten += result.batch().size();
+            totalBlocksSkipped += Math.max(0, result.snapshot().getBlockCount() * 2L - result.batch().size());
+
+            if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+                AethelonCore.LOGGER.debug("Committed island move {} -> {} facing {}: {} writes for {} blocks after {} us",
+                    from.toShortString(), target.toShortString(), facing, result.batch().size(),
+                    result.snapshot().getBlockCount(), (System.nanoTime() - startTime) / 1000L);
+            }
+            return placement.isDone();
+        }
+
+        /**
+         * Give up on a step whose writes failed part way
+         * Nobody knows which of the writes reached the world, so the snapshot is dropped and
+         * the island is recaptured at its old placement on the next tick. The journal entry
+         * stays open, so if the server stops before the island moves on, the next start
+         * checks the saved world against the step and finishes it from the journal.
+         */
+        private void recapture(AethelonEntity entity, BlockPos from, Direction fromFacing, Vec3i fromSize) {
+            stepsFailed++;
+            AethelonCore.LOGGER.warn("Island move of turtle {} to {} was only partly written, recapturing the island",
+                entity.getUuid(), target.toShortString());
+            untrack(entity);
+            entity.setIslandOrigin(from);
+            entity.setIslandFacing(fromFacing);
+            entity.setIslandSize(fromSize);
+            entity.setIslandSnapshot(null);
+        }
+
+        /**
+         * Check whether the island changed in the world in a way the step's writes miss
+         * The step moves every cell of the old island box, so a dirty section is re-read
+         * and compared cell by cell with the snapshot the step was computed from. Cells
+         * that only went between air and water (the sea around and under the island) and
+         * cells holding what this step staged there do not count.
+         */
+        private boolean isIslandChanged(ServerWorld world, AethelonEntity entity) {
+            IslandDirtyTracker.Region region = TRACKED.get(entity);
+            if (region == null || !region.isDirty()) {
+                return false;
+            }
+            IslandSnapshot captured = entity.getIslandSnapshot();
+            BlockBox box = region.getBox();
+            BitSet dirty = region.getDirtySections();
+            IslandSnapshot current = ChunkCapture.refresh(world, box, captured, dirty);
+            Long2ObjectMap<BlockState> staged = staging != null ? getStates(result.stage()) : Long2ObjectMaps.emptyMap();
+
+            Vec3i size = captured.getSize();
+            int sectionsX = captured.getSectionsX();
+            int sectionsZ = captured.getSectionsZ();
+            for (int index = dirty.nextSetBit(0); index >= 0; index = dirty.nextSetBit(index + 1)) {
+                int minX = (index % sectionsX) << 4;
+                int minZ = ((index / sectionsX) % sectionsZ) << 4;
+                int minY = (index / (sectionsX * sectionsZ)) << 4;
+                for (int y = minY; y < Math.min(minY + 16, size.getY()); y++) {
+                    for (int z = minZ; z < Math.min(minZ + 16, size.getZ()); z++) {
+                        for (int x = minX; x < Math.min(minX + 16, size.getX()); x++) {
+                            BlockState before = captured.getBlockState(x, y, z);
+                            BlockState now = current.getBlockState(x, y, z);
+                            if (before == now || (isAirOrWater(before) && isAirOrWater(now))) {
+                                continue;
+                            }
+                            if (now == staged.get(BlockPos.asLong(box.getMinX() + x, box.getMinY() + y, box.getMinZ() + z))) {
+                                continue;
+                            }
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static boolean isAirOrWater(BlockState state) {
+            return state.isAir() || state.isOf(Blocks.WATER);
+        }
+
+        /**
+         * States a batch writes, keyed by packed world position
+         */
+        private static Long2ObjectMap<BlockState> getStates(PlacementBatch batch) {
+            Long2ObjectMap<BlockState> states = new Long2ObjectOpenHashMap<>(batch.size());
+            for (PlacementBatch.SectionBatch section : batch.getSections()) {
+                for (int i = 0; i < section.size(); i++) {
+                    states.put(section.getWorldPos(i).asLong(), section.getState(i));
+                }
+            }
+            return states;
+        }
+
+        /**
+         * Drop the step because the island changed after it was captured
+         * Staged blocks are reverted in one commit and the step only finishes once they
+         * are, so the next step (diffed from a refresh) never races the revert.
+         *
+         * @return true if the step is finished right away
+         */
+        private boolean discard(ServerWorld world, AethelonEntity entity) {
+            stepsRestarted++;
+            RESTARTS.merge(entity, 1, Integer::sum);
+            if (AethelonConfig.INSTANCE.debug.verboseLogging) {
+                AethelonCore.LOGGER.debug("Island of turtle {} changed during its move to {}, restarting the step",
+                    entity.getUuid(), target.toShortString());
+            }
+            if (staging == null) {
+                MoveJournal.cancel(world, moveId);
+                return true;
+            }
+            placement = PlacementQueue.submitCommit(world, unstage);
+            placement.whenDone(() -> MoveJournal.cancel(world, moveId));
+            return placement.isDone();
+        }
+
+        /**
+         * Record what currently stands at each cell of a batch, as a batch that restores it
+         */
+        private static PlacementBatch readCurrentStates(ServerWorld world, PlacementBatch batch) {
+            PlacementBatch current = new PlacementBatch();
+            for (PlacementBatch.SectionBatch section : batch.getSections()) {
+                for (int i = 0; i < section.size(); i++) {
+                    BlockPos pos = section.getWorldPos(i);
+                    current.add(pos.getX(), pos.getY(), pos.getZ(), world.getBlockState(pos), null);
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Drop a step whose turtle left the world
+         * A step that was not committed or staged yet never will be, so its journal entry
+         * is closed too. A committed step keeps writing and closes its entry when done. A
+         * staged one is reverted once its stage is written: the turtle was saved with the
+         * island at its old origin, and a second, partial island must not stay next to it.
+         */
+        void abandon(ServerWorld world) {
+            if (placement == null && staging != null) {
+                staging.whenDone(() -> PlacementQueue.submitCommit(world, unstage)
+                    .whenDone(() -> MoveJournal.cancel(world, moveId)));
+            } else if (journaled != null && placement == null) {
+                MoveJournal.cancel(world, moveId);
+            }
+        }
+    }
+}
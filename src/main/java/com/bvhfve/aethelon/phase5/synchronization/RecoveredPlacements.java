@@ -0,0 +1,123 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.PersistentState;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RecoveredPlacements - Island placements left behind by a journal replay
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: PersistentState (per-dimension data folder)
+ * - Hooks into: World saves (written together with the chunks the replay changed)
+ * - Modifies: data/aethelon_recovered_placements.dat
+ *
+ * MODULE ROLE:
+ * - Purpose: Hand a turtle the island placement a crash replay moved its island to.
+ *   The turtle itself was saved with an older placement and may not be loaded when the
+ *   replay runs, so the placement waits here until the turtle next ticks.
+ * - Dependencies: None
+ * - Provides: Placement put/take by turtle UUID
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: PersistentState API changes may require updates
+ *
+ * THREAD SAFETY:
+ * Server thread only.
+ */
+public class RecoveredPlacements extends PersistentState {
+
+    private static final String ID = AethelonCore.MOD_ID + "_recovered_placements";
+
+    private final Map<UUID, Placement> placements = new HashMap<>();
+
+    /**
+     * Get the recovered placements of a world
+     */
+    public static RecoveredPlacements get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(new PersistentState.Type<>(
+            RecoveredPlacements::new,
+            (nbt, registries) -> fromNbt(nbt),
+            null
+        ), ID);
+    }
+
+    /**
+     * Record where a replay left a turtle's island, replacing an older record
+     */
+    public void put(UUID island, Placement placement) {
+        placements.put(island, placement);
+        markDirty();
+    }
+
+    /**
+     * Remove and return the placement recorded for a turtle
+     *
+     * @return Placement, or null if no replay moved the turtle's island
+     */
+    public Placement take(UUID island) {
+        if (placements.isEmpty()) {
+            return null;
+        }
+        Placement placement = placements.remove(island);
+        if (placement != null) {
+            markDirty();
+        }
+        return placement;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        NbtList list = new NbtList();
+        for (Map.Entry<UUID, Placement> entry : placements.entrySet()) {
+            Placement placement = entry.getValue();
+            NbtCompound placementNbt = new NbtCompound();
+            placementNbt.putUuid("Id", entry.getKey());
+            placementNbt.putIntArray("Origin", new int[]{
+                placement.origin().getX(), placement.origin().getY(), placement.origin().getZ()});
+            placementNbt.putIntArray("Size", new int[]{
+                placement.size().getX(), placement.size().getY(), placement.size().getZ()});
+            placementNbt.putByte("Facing", (byte) placement.facing().getHorizontalQuarterTurns());
+            list.add(placementNbt);
+        }
+        nbt.put("Placements", list);
+        return nbt;
+    }
+
+    private static RecoveredPlacements fromNbt(NbtCompound nbt) {
+        RecoveredPlacements state = new RecoveredPlacements();
+        NbtList list = nbt.getList("Placements", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < list.size(); i++) {
+            NbtCompound placementNbt = list.getCompound(i);
+            int[] origin = placementNbt.getIntArray("Origin");
+            int[] size = placementNbt.getIntArray("Size");
+            if (origin.length != 3 || size.length != 3) {
+                continue;
+            }
+            state.placements.put(placementNbt.getUuid("Id"), new Placement(
+                new BlockPos(origin[0], origin[1], origin[2]),
+                new Vec3i(size[0], size[1], size[2]),
+                Direction.fromHorizontalQuarterTurns(placementNbt.getByte("Facing"))));
+        }
+        return state;
+    }
+
+    /**
+     * Where an island stands: minimum corner, size and facing
+     */
+    public record Placement(BlockPos origin, Vec3i size, Direction facing) {
+    }
+}
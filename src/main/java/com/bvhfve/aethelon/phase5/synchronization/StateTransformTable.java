@@ -0,0 +1,141 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.BlockMirror;
+import net.minecraft.util.BlockRotation;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * StateTransformTable - Shared rotate/mirror lookup tables indexed by BlockState raw id
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Block.STATE_IDS raw ids, BlockState.rotate, BlockState.mirror
+ * - Hooks into: None
+ * - Modifies: None
+ *
+ * MODULE ROLE:
+ * - Purpose: Avoid BlockState.rotate/mirror property lookups when transforming islands
+ * - Dependencies: Frozen block registry
+ * - Provides: rotate(state, rotation) and mirror(state, mirror) backed by cached results
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * DESIGN NOTES:
+ * One BlockState[] per rotation and per mirror, sized to the number of registered states
+ * and allocated on first use of that transform. Entries are filled in on first lookup of
+ * a state, so only the states islands actually contain are ever computed. The tables are
+ * static and shared by every island.
+ *
+ * THREAD SAFETY:
+ * Safe to use from MovePipeline workers. Each table is published through an
+ * AtomicReferenceArray, so a worker never sees a table before it is allocated. Entries
+ * are written without locking, but every writer stores the same registry BlockState
+ * (created and published when the block registry was built) for a given slot, so a
+ * racing reader sees either null (and computes the value itself) or the correct state.
+ */
+public final class StateTransformTable {
+
+    private static final AtomicReferenceArray<BlockState[]> ROTATIONS =
+        new AtomicReferenceArray<>(BlockRotation.values().length);
+    private static final AtomicReferenceArray<BlockState[]> MIRRORS =
+        new AtomicReferenceArray<>(BlockMirror.values().length);
+
+    private StateTransformTable() {
+    }
+
+    /**
+     * Rotate a block state using the shared table
+     */
+    public static BlockState rotate(BlockState state, BlockRotation rotation) {
+        if (rotation == BlockRotation.NONE) {
+            return state;
+        }
+
+        BlockState[] table = getTable(ROTATIONS, rotation.ordinal());
+        int id = Block.getRawIdFromState(state);
+        if (id < 0 || id >= table.length) {
+            return state.rotate(rotation);
+        }
+
+        BlockState result = table[id];
+        if (result == null) {
+            result = state.rotate(rotation);
+            table[id] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Mirror a block state using the shared table
+     */
+    public static BlockState mirror(BlockState state, BlockMirror mirror) {
+        if (mirror == BlockMirror.NONE) {
+            return state;
+        }
+
+        BlockState[] table = getTable(MIRRORS, mirror.ordinal());
+        int id = Block.getRawIdFromState(state);
+        if (id < 0 || id >= table.length) {
+            return state.mirror(mirror);
+        }
+
+        BlockState result = table[id];
+        if (result == null) {
+            result = state.mirror(mirror);
+            table[id] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Transform a whole palette at once
+     *
+     * @param palette States to rotate (not modified)
+     * @return New array with the rotated state at each palette index
+     */
+    public static BlockState[] rotatePalette(BlockState[] palette, BlockRotation rotation) {
+        BlockState[] result = new BlockState[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            result[i] = rotate(palette[i], rotation);
+        }
+        return result;
+    }
+
+    private static BlockState[] getTable(AtomicReferenceArray<BlockState[]> tables, int index) {
+        BlockState[] table = tables.get(index);
+        if (table == null) {
+            // Losing the race only drops an empty table
+            tables.compareAndSet(index, null, new BlockState[Block.STATE_IDS.size()]);
+            table = tables.get(index);
+        }
+        return table;
+    }
+
+    /**
+     * Number of cached rotation and mirror results, for diagnostics
+     */
+    public static int getCachedEntryCount() {
+        return countEntries(ROTATIONS) + countEntries(MIRRORS);
+    }
+
+    private static int countEntries(AtomicReferenceArray<BlockState[]> tables) {
+        int count = 0;
+        for (int i = 0; i < tables.length(); i++) {
+            BlockState[] table = tables.get(i);
+            if (table == null) {
+                continue;
+            }
+            for (BlockState state : table) {
+                if (state != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
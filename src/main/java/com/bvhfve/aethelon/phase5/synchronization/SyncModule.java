@@ -0,0 +1,192 @@
+package com.bvhfve.aethelon.phase5.synchronization;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import com.bvhfve.aethelon.core.util.InjectableAethelonModule;
+import com.bvhfve.aethelon.phase1.entity.AethelonEntity;
+import com.bvhfve.aethelon.phase5.client.IslandSyncClient;
+import com.bvhfve.aethelon.phase5.synchronization.network.IslandSyncNetworking;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.List;
+
+/**
+ * SyncModule - Coordinates island movement with the turtle
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: CaptureModule and PlacementModule through MovementSync
+ * - Hooks into: AethelonEntity server tick, SERVER_STARTED and SERVER_STOPPED events,
+ *   entity tracking events
+ * - Modifies: World blocks along the turtle's path
+ *
+ * MODULE ROLE:
+ * - Purpose: Enable island movement that keeps the island on the turtle's back
+ * - Dependencies: phase5 (main phase coordinator)
+ * - Provides: Movement availability flag checked by AethelonEntity, island sync channel
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: None expected
+ *
+ * IMPLEMENTATION DETAILS:
+ * The move mode is selected by Phase5Config.movementMode. The default "delta" mode
+ * reuses the snapshot taken at the start of a move and only writes the blocks that
+ * differ between the old and new footprint; "full" recaptures and repastes the
+ * whole island on every step. Phase5Config.travelMode = "proxy" instead lifts the
+ * island out of the world for the whole journey (see IslandTravel). Movement also needs
+ * the capture and placement modules; without them MovementSync does nothing. The module
+ * owns the MovePipeline worker pool, which only runs when
+ * PerformanceConfig.enableAsyncProcessing is set, and the MoveJournal thread
+ * (Phase5Config.moveJournal). On server start it replays the moves the last save did
+ * not include. It also registers the island sync channel (plus its client receiver on
+ * the client).
+ */
+public class SyncModule implements InjectableAethelonModule {
+
+    private static boolean active = false;
+    private static boolean eventsRegistered = false;
+
+    private boolean initialized = false;
+
+    @Override
+    public String getModuleName() {
+        return "phase5.synchronization";
+    }
+
+    @Override
+    public String getPhase() {
+        return "phase5";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return AethelonConfig.INSTANCE != null && AethelonConfig.INSTANCE.phases.phase5.isModuleEnabled("synchronization");
+    }
+
+    @Override
+    public void initialize() throws Exception {
+        if (!isEnabled()) {
+            AethelonCore.LOGGER.info("Phase 5 synchronization module is disabled, skipping initialization");
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Initializing Phase 5 synchronization module");
+
+        try {
+            MovePipeline.start();
+            MoveJournal.start();
+            registerEvents();
+            IslandSyncNetworking.registerPackets();
+            if (FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT) {
+                IslandSyncClient.register();
+            }
+            active = true;
+            AethelonCore.LOGGER.info("Island movement mode: {}, async transforms: {}",
+                AethelonConfig.INSTANCE.phases.phase5.movementMode, MovePipeline.isAsync());
+
+            initialized = true;
+            AethelonCore.LOGGER.info("Phase 5 synchronization module initialization complete");
+
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to initialize Phase 5 synchronization module", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        if (!initialized) {
+            return;
+        }
+
+        AethelonCore.LOGGER.info("Shutting down Phase 5 synchronization module");
+
+        active = false;
+        MovePipeline.stop();
+        MoveJournal.stop();
+
+        initialized = false;
+        AethelonCore.LOGGER.info("Phase 5 synchronization module shutdown complete");
+    }
+
+    /**
+     * Replay interrupted moves once worlds are loaded, close the journals on stop and
+     * send traveling islands to players that start or stop tracking their turtle
+     * Fabric events cannot be unregistered, so the handlers check the active flag
+     */
+    private static void registerEvents() {
+        if (eventsRegistered) {
+            return;
+        }
+        eventsRegistered = true;
+
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            if (active) {
+                for (ServerWorld world : server.getWorlds()) {
+                    MoveJournal.recover(world);
+                }
+            }
+        });
+        // Runs after PlacementQueue was flushed on SERVER_STOPPING and the final save, so finished
+        // moves are closed first and their records can go
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> MoveJournal.closeAll());
+
+        EntityTrackingEvents.START_TRACKING.register((entity, player) -> {
+            if (active && entity instanceof AethelonEntity turtle) {
+                IslandTravel.onStartTracking(turtle, player);
+            }
+        });
+        EntityTrackingEvents.STOP_TRACKING.register((entity, player) -> {
+            if (active && entity instanceof AethelonEntity turtle) {
+                IslandTravel.onStopTracking(turtle, player);
+            }
+        });
+    }
+
+    /**
+     * Check whether island movement is available
+     *
+     * @return true once the synchronization module has been initialized
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public List<String> getDependencies() {
+        return List.of("phase5");
+    }
+
+    @Override
+    public boolean isCompatibleWith(String minecraftVersion) {
+        return minecraftVersion.startsWith("1.21.4") ||
+               minecraftVersion.startsWith("1.21.5") ||
+               minecraftVersion.startsWith("1.22");
+    }
+
+    @Override
+    public String getRequiredFabricApiVersion() {
+        return "0.119.2";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Island Synchronization - Moves the island with the turtle using full or delta moves";
+    }
+
+    @Override
+    public boolean supportsHotReload() {
+        return false;
+    }
+
+    @Override
+    public int getLoadPriority() {
+        // Sub-modules load after their phase coordinator
+        return 53;
+    }
+}
@@ -0,0 +1,86 @@
+package com.bvhfve.aethelon.phase5.synchronization.network;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IslandCarryPayload - New positions of every entity carried by one island move
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: CustomPayload, PacketCodec, entity network ids
+ * - Hooks into: Fabric play payload registry (S2C)
+ * - Modifies: None (data only)
+ *
+ * NETWORKING ROLE:
+ * - Purpose: Move carried entities on the client in the same frame as the island, instead
+ *   of letting the client interpolate them from the old position over several ticks
+ * - Packets: island_carry
+ * - Direction: S2C
+ * - Frequency: Once per island move step that carries entities, per tracking player
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Packet format changes break client-server compatibility
+ *
+ * WIRE FORMAT:
+ * float yaw delta, varint count, then per entity: varint network id and three doubles
+ * (new position). The vanilla position update the entity tracker sends afterwards then
+ * finds the client already in place.
+ */
+public record IslandCarryPayload(float yawDelta, List<Carried> entities) implements CustomPayload {
+
+    public static final CustomPayload.Id<IslandCarryPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(AethelonCore.MOD_ID, "island_carry"));
+
+    public static final PacketCodec<PacketByteBuf, IslandCarryPayload> CODEC =
+        CustomPayload.codecOf(IslandCarryPayload::write, IslandCarryPayload::read);
+
+    private static final int MAX_ENTITIES = 4096;
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeFloat(yawDelta);
+        buf.writeVarInt(entities.size());
+        for (Carried carried : entities) {
+            buf.writeVarInt(carried.entityId());
+            buf.writeDouble(carried.x());
+            buf.writeDouble(carried.y());
+            buf.writeDouble(carried.z());
+        }
+    }
+
+    private static IslandCarryPayload read(PacketByteBuf buf) {
+        float yawDelta = buf.readFloat();
+        int count = buf.readVarInt();
+        if (count < 0 || count > MAX_ENTITIES) {
+            throw new IllegalArgumentException("Invalid island carry entity count: " + count);
+        }
+        List<Carried> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(new Carried(buf.readVarInt(), buf.readDouble(), buf.readDouble(), buf.readDouble()));
+        }
+        return new IslandCarryPayload(yawDelta, entities);
+    }
+
+    /**
+     * One carried entity
+     *
+     * @param entityId Network id of the entity
+     * @param x New X
+     * @param y New Y
+     * @param z New Z
+     */
+    public record Carried(int entityId, double x, double y, double z) {
+    }
+}
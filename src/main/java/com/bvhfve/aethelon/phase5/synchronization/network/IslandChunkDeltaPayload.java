@@ -0,0 +1,203 @@
+package com.bvhfve.aethelon.phase5.synchronization.network;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IslandChunkDeltaPayload - All island block changes of one chunk in a single packet
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: CustomPayload, PacketCodec, Block.STATE_IDS raw ids
+ * - Hooks into: Fabric play payload registry (S2C)
+ * - Modifies: None (data only)
+ *
+ * NETWORKING ROLE:
+ * - Purpose: Replace per-block and per-section vanilla updates after an island write
+ * - Packets: island_chunk_delta
+ * - Direction: S2C
+ * - Frequency: Once per touched chunk per island move step, per tracking player
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Packet format changes break client-server compatibility
+ *
+ * WIRE FORMAT (per section):
+ * varint sectionY, varint paletteSize, paletteSize x varint raw state id,
+ * varint count, count x short local position (ChunkSectionPos.packLocal layout),
+ * then the palette index of every entry bit-packed into a long array using the
+ * smallest width that fits the palette (0 bits for a single-state palette).
+ * A typical island step uses a handful of states per section, so each change costs
+ * about two bytes plus a few bits instead of a full varint state id per block.
+ */
+public record IslandChunkDeltaPayload(int chunkX, int chunkZ, List<SectionDelta> sections) implements CustomPayload {
+
+    public static final CustomPayload.Id<IslandChunkDeltaPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(AethelonCore.MOD_ID, "island_chunk_delta"));
+
+    public static final PacketCodec<PacketByteBuf, IslandChunkDeltaPayload> CODEC =
+        CustomPayload.codecOf(IslandChunkDeltaPayload::write, IslandChunkDeltaPayload::read);
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    /**
+     * Number of block changes carried by this payload
+     */
+    public int getChangeCount() {
+        int count = 0;
+        for (SectionDelta section : sections) {
+            count += section.positions().length;
+        }
+        return count;
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeVarInt(chunkX);
+        buf.writeVarInt(chunkZ);
+        buf.writeVarInt(sections.size());
+        for (SectionDelta section : sections) {
+            section.write(buf);
+        }
+    }
+
+    private static IslandChunkDeltaPayload read(PacketByteBuf buf) {
+        int chunkX = buf.readVarInt();
+        int chunkZ = buf.readVarInt();
+        int count = buf.readVarInt();
+        List<SectionDelta> sections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sections.add(SectionDelta.read(buf));
+        }
+        return new IslandChunkDeltaPayload(chunkX, chunkZ, sections);
+    }
+
+    /**
+     * Changed cells of one chunk section
+     *
+     * @param sectionY Section Y coordinate
+     * @param positions Section-local packed positions
+     * @param states New state for each position
+     */
+    public record SectionDelta(int sectionY, short[] positions, BlockState[] states) {
+
+        /**
+         * Collect the current states of the changed cells of a section
+         */
+        public static SectionDelta of(int sectionY, ShortSet changed, ChunkSection section) {
+            short[] positions = new short[changed.size()];
+            BlockState[] states = new BlockState[positions.length];
+            int i = 0;
+            for (ShortIterator iterator = changed.iterator(); iterator.hasNext(); i++) {
+                short localPos = iterator.nextShort();
+                positions[i] = localPos;
+                states[i] = section.getBlockState(
+                    ChunkSectionPos.unpackLocalX(localPos),
+                    ChunkSectionPos.unpackLocalY(localPos),
+                    ChunkSectionPos.unpackLocalZ(localPos));
+            }
+            return new SectionDelta(sectionY, positions, states);
+        }
+
+        private void write(PacketByteBuf buf) {
+            Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+            List<BlockState> palette = new ArrayList<>();
+            int[] indices = new int[states.length];
+            for (int i = 0; i < states.length; i++) {
+                int index = paletteLookup.getOrDefault(states[i], -1);
+                if (index < 0) {
+                    index = palette.size();
+                    palette.add(states[i]);
+                    paletteLookup.put(states[i], index);
+                }
+                indices[i] = index;
+            }
+
+            buf.writeVarInt(sectionY);
+            buf.writeVarInt(palette.size());
+            for (BlockState state : palette) {
+                buf.writeVarInt(Block.getRawIdFromState(state));
+            }
+            buf.writeVarInt(positions.length);
+            for (short position : positions) {
+                buf.writeShort(position);
+            }
+            buf.writeLongArray(pack(indices, bitsFor(palette.size())));
+        }
+
+        private static SectionDelta read(PacketByteBuf buf) {
+            int sectionY = buf.readVarInt();
+            int paletteSize = buf.readVarInt();
+            if (paletteSize < 1 || paletteSize > 4096) {
+                throw new IllegalArgumentException("Invalid island delta palette size: " + paletteSize);
+            }
+            BlockState[] palette = new BlockState[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                BlockState state = Block.getStateFromRawId(buf.readVarInt());
+                palette[i] = state != null ? state : Blocks.AIR.getDefaultState();
+            }
+
+            int count = buf.readVarInt();
+            if (count < 0 || count > 4096) {
+                throw new IllegalArgumentException("Invalid island delta entry count: " + count);
+            }
+            short[] positions = new short[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = buf.readShort();
+            }
+
+            int bits = bitsFor(paletteSize);
+            long[] packed = buf.readLongArray();
+            BlockState[] states = new BlockState[count];
+            for (int i = 0; i < count; i++) {
+                int index = unpack(packed, bits, i);
+                states[i] = palette[index < paletteSize ? index : 0];
+            }
+            return new SectionDelta(sectionY, positions, states);
+        }
+
+        private static int bitsFor(int paletteSize) {
+            return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+        }
+
+        private static long[] pack(int[] values, int bits) {
+            if (bits == 0) {
+                return new long[0];
+            }
+            int perLong = 64 / bits;
+            long[] packed = new long[(values.length + perLong - 1) / perLong];
+            for (int i = 0; i < values.length; i++) {
+                packed[i / perLong] |= (long) values[i] << ((i % perLong) * bits);
+            }
+            return packed;
+        }
+
+        private static int unpack(long[] packed, int bits, int i) {
+            if (bits == 0) {
+                return 0;
+            }
+            int perLong = 64 / bits;
+            int word = i / perLong;
+            if (word >= packed.length) {
+                return 0;
+            }
+            return (int) ((packed[word] >>> ((i % perLong) * bits)) & ((1L << bits) - 1L));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bvhfve.aethelon.phase5.synchronization.network;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.phase5.capture.IslandSnapshot;
+import com.bvhfve.aethelon.phase5.capture.SnapshotCodec;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Direction;
+
+/**
+ * IslandProxyPayload - The island a turtle carries in proxy form, or the end of it
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: CustomPayload, PacketCodec, SnapshotCodec network form
+ * - Hooks into: Fabric play payload registry (S2C)
+ * - Modifies: None (data only)
+ *
+ * NETWORKING ROLE:
+ * - Purpose: Let clients draw a traveling island on its turtle while its blocks are
+ *   not in the world
+ * - Packets: island_proxy
+ * - Direction: S2C
+ * - Frequency: When an island is lifted or lands, and when a player starts tracking a
+ *   turtle whose island is lifted
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Packet format changes break client-server compatibility
+ *
+ * WIRE FORMAT:
+ * varint entity network id, boolean present; if present: horizontal facing id, varint
+ * island Y offset above the turtle, then the island blocks in the SnapshotCodec network
+ * form. An absent island tells the client to stop drawing the proxy.
+ */
+public record IslandProxyPayload(int entityId, Direction facing, int offsetY, IslandSnapshot snapshot)
+    implements CustomPayload {
+
+    public static final CustomPayload.Id<IslandProxyPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(AethelonCore.MOD_ID, "island_proxy"));
+
+    public static final PacketCodec<PacketByteBuf, IslandProxyPayload> CODEC =
+        CustomPayload.codecOf(IslandProxyPayload::write, IslandProxyPayload::read);
+
+    /**
+     * Tell clients a turtle no longer carries a proxy
+     */
+    public static IslandProxyPayload cleared(int entityId) {
+        return new IslandProxyPayload(entityId, Direction.NORTH, 0, null);
+    }
+
+    public boolean isCleared() {
+        return snapshot == null;
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeVarInt(entityId);
+        buf.writeBoolean(snapshot != null);
+        if (snapshot != null) {
+            buf.writeVarInt(facing.getHorizontalQuarterTurns());
+            buf.writeVarInt(offsetY);
+            SnapshotCodec.write(buf, snapshot);
+        }
+    }
+
+    private static IslandProxyPayload read(PacketByteBuf buf) {
+        int entityId = buf.readVarInt();
+        if (!buf.readBoolean()) {
+            return cleared(entityId);
+        }
+        Direction facing = Direction.fromHorizontalQuarterTurns(buf.readVarInt());
+        int offsetY = buf.readVarInt();
+        return new IslandProxyPayload(entityId, facing, offsetY, SnapshotCodec.read(buf));
+    }
+}
@@ -0,0 +1,204 @@
+package com.bvhfve.aethelon.phase5.synchronization.network;
+
+import com.bvhfve.aethelon.core.AethelonCore;
+import com.bvhfve.aethelon.core.config.AethelonConfig;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * IslandSyncNetworking - Island block change channel between server and clients
+ *
+ * MINECRAFT INTEGRATION:
+ * - Uses: Fabric Networking API (PayloadTypeRegistry, ServerPlayNetworking, PlayerLookup)
+ * - Hooks into: Client-server communication system
+ * - Modifies: Client copies of chunks touched by island moves
+ *
+ * NETWORKING ROLE:
+ * - Purpose: Send island block changes as one compact payload per chunk, and the new
+ *   positions of the entities an island move carried, and islands traveling as proxies
+ * - Packets: IslandChunkDeltaPayload, IslandCarryPayload, IslandProxyPayload
+ * - Direction: S2C
+ * - Frequency: Once per touched chunk per island move step, plus one carry payload per
+ *   step with passengers, per tracking player; proxies when lifted, landed or first tracked
+ *
+ * VERSION COMPATIBILITY:
+ * - Minecraft: 1.21.4+
+ * - Fabric API: 0.119.2+
+ * - Breaking changes: Packet format changes may break client-server compatibility
+ *
+ * IMPLEMENTATION NOTES:
+ * Players whose client did not register the channel (vanilla clients, or clients
+ * without the synchronization module) cannot receive the payload; canSend() lets
+ * callers fall back to vanilla chunk delta packets for them.
+ */
+public class IslandSyncNetworking {
+
+    private static final String MODULE_NAME = "synchronization";
+
+    private static boolean registered = false;
+
+    // Statistics (server thread only)
+    private static long payloadsSent = 0L;
+    private static long changesSent = 0L;
+
+    /**
+     * Register the island payload types
+     * Called during module initialization on both sides
+     */
+    public static void registerPackets() {
+        if (registered) {
+            return;
+        }
+        AethelonCore.LOGGER.debug("Registering IslandSyncNetworking packets");
+
+        try {
+            PayloadTypeRegistry.playS2C().register(IslandChunkDeltaPayload.ID, IslandChunkDeltaPayload.CODEC);
+            PayloadTypeRegistry.playS2C().register(IslandCarryPayload.ID, IslandCarryPayload.CODEC);
+            PayloadTypeRegistry.playS2C().register(IslandProxyPayload.ID, IslandProxyPayload.CODEC);
+            registered = true;
+
+            AethelonCore.LOGGER.debug("IslandSyncNetworking packet registration complete");
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to register IslandSyncNetworking packets", e);
+            throw new RuntimeException("Packet registration failed", e);
+        }
+    }
+
+    private static boolean isEnabled() {
+        return AethelonConfig.INSTANCE.phases.phase5.isModuleEnabled(MODULE_NAME);
+    }
+
+    /**
+     * Check whether a player can receive island payloads
+     */
+    public static boolean canSend(ServerPlayerEntity player) {
+        return registered && isEnabled() && ServerPlayNetworking.canSend(player, IslandChunkDeltaPayload.ID);
+    }
+
+    /**
+     * Send a chunk delta to a specific player
+     *
+     * @param player Target player
+     * @param payload Chunk delta
+     */
+    public static void sendChunkDeltaToPlayer(ServerPlayerEntity player, IslandChunkDeltaPayload payload) {
+        if (!canSend(player)) {
+            return;
+        }
+
+        try {
+            ServerPlayNetworking.send(player, payload);
+            payloadsSent++;
+            changesSent += payload.getChangeCount();
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to send island chunk delta to player: {}", player.getName().getString(), e);
+        }
+    }
+
+    /**
+     * Send a chunk delta to every player tracking the chunk
+     * The payload is only built if at least one tracking player can receive it.
+     *
+     * @param world Server world
+     * @param chunkPos Chunk the delta belongs to
+     * @param payload Builds the chunk delta
+     * @return Tracking players that cannot receive the payload and need vanilla packets
+     */
+    public static List<ServerPlayerEntity> sendChunkDeltaToTracking(ServerWorld world, ChunkPos chunkPos,
+                                                                     Supplier<IslandChunkDeltaPayload> payload) {
+        List<ServerPlayerEntity> others = new ArrayList<>();
+        IslandChunkDeltaPayload built = null;
+        for (ServerPlayerEntity player : PlayerLookup.tracking(world, chunkPos)) {
+            if (!canSend(player)) {
+                others.add(player);
+                continue;
+            }
+            if (built == null) {
+                built = payload.get();
+            }
+            sendChunkDeltaToPlayer(player, built);
+        }
+        return others;
+    }
+
+    /**
+     * Send carried entity positions to every player tracking the turtle
+     * Players without the channel still get the vanilla position updates
+     *
+     * @param turtle Turtle whose island moved
+     * @param payload Carried entities
+     */
+    public static void sendCarryToTracking(Entity turtle, IslandCarryPayload payload) {
+        if (!registered || !isEnabled()) {
+            return;
+        }
+
+        for (ServerPlayerEntity player : PlayerLookup.tracking(turtle)) {
+            if (!ServerPlayNetworking.canSend(player, IslandCarryPayload.ID)) {
+                continue;
+            }
+            try {
+                ServerPlayNetworking.send(player, payload);
+                payloadsSent++;
+            } catch (Exception e) {
+                AethelonCore.LOGGER.error("Failed to send island carry to player: {}", player.getName().getString(), e);
+            }
+        }
+    }
+
+    /**
+     * Send a traveling island (or its removal) to one player
+     * Players without the channel see nothing while the island travels
+     *
+     * @param player Target player
+     * @param payload Proxy island
+     */
+    public static void sendProxyToPlayer(ServerPlayerEntity player, IslandProxyPayload payload) {
+        if (!registered || !isEnabled() || !ServerPlayNetworking.canSend(player, IslandProxyPayload.ID)) {
+            return;
+        }
+
+        try {
+            ServerPlayNetworking.send(player, payload);
+            payloadsSent++;
+        } catch (Exception e) {
+            AethelonCore.LOGGER.error("Failed to send island proxy to player: {}", player.getName().getString(), e);
+        }
+    }
+
+    /**
+     * Send a traveling island (or its removal) to every player tracking the turtle
+     *
+     * @param turtle Turtle carrying the island
+     * @param payload Proxy island
+     */
+    public static void sendProxyToTracking(Entity turtle, IslandProxyPayload payload) {
+        if (!registered || !isEnabled()) {
+            return;
+        }
+
+        for (ServerPlayerEntity player : PlayerLookup.tracking(turtle)) {
+            sendProxyToPlayer(player, payload);
+        }
+    }
+
+    public static long getPayloadsSent() {
+        return payloadsSent;
+    }
+
+    /**
+     * Total block changes delivered through island payloads
+     */
+    public static long getChangesSent() {
+        return changesSent;
+    }
+}